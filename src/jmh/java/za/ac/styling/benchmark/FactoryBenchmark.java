@@ -0,0 +1,88 @@
+package za.ac.styling.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import za.ac.styling.domain.*;
+import za.ac.styling.factory.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FactoryBenchmark {
+
+    private User user;
+    private Project project;
+    private Task task;
+    private Deliverable deliverable;
+    private Notification notification;
+
+    @Setup
+    public void setUp() {
+        user = UserFactory.createUser("Benchmark User", "bench@example.com", "password123", UserRole.CLIENT);
+        project = ProjectFactory.createProject(1, "Benchmark Project", "Project used by FactoryBenchmark",
+                LocalDate.now(), LocalDate.now().plusDays(30));
+        task = TaskFactory.createTask("Benchmark Task", "Task used by FactoryBenchmark", project, 1,
+                LocalDate.now().plusDays(7));
+        deliverable = DeliverableFactory.createDeliverable("report.pdf", "application/pdf",
+                "http://example.com/report.pdf", project);
+        notification = NotificationFactory.createNotification("Benchmark message", NotificationType.TASK_UPDATE, user);
+    }
+
+    @Benchmark
+    public User createUser() {
+        return UserFactory.createUser("Benchmark User", "bench@example.com", "password123", UserRole.CLIENT);
+    }
+
+    @Benchmark
+    public Project createProject() {
+        return ProjectFactory.createProject(1, "Benchmark Project", "Project used by FactoryBenchmark",
+                LocalDate.now(), LocalDate.now().plusDays(30));
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return TaskFactory.createTask("Benchmark Task", "Task used by FactoryBenchmark", project, 1,
+                LocalDate.now().plusDays(7));
+    }
+
+    @Benchmark
+    public Deliverable createDeliverable() {
+        return DeliverableFactory.createDeliverable("report.pdf", "application/pdf",
+                "http://example.com/report.pdf", project);
+    }
+
+    @Benchmark
+    public Notification createNotification() {
+        return NotificationFactory.createNotification("Benchmark message", NotificationType.TASK_UPDATE, user);
+    }
+
+    @Benchmark
+    public ProjectUser createProjectUser() {
+        return ProjectUserFactory.createProjectUser(project, user, ProjectAccessRole.VIEWER);
+    }
+
+    @Benchmark
+    public boolean validateProject() {
+        return ProjectFactory.validateProject(project);
+    }
+
+    @Benchmark
+    public boolean validateTask() {
+        return TaskFactory.validateTask(task);
+    }
+
+    @Benchmark
+    public boolean validateDeliverable() {
+        return DeliverableFactory.validateDeliverable(deliverable);
+    }
+
+    @Benchmark
+    public boolean validateNotification() {
+        return NotificationFactory.validateNotification(notification);
+    }
+}
@@ -0,0 +1,82 @@
+package za.ac.styling.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import za.ac.styling.domain.*;
+import za.ac.styling.factory.NotificationFactory;
+import za.ac.styling.factory.ProjectFactory;
+import za.ac.styling.factory.TaskFactory;
+import za.ac.styling.factory.UserFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of entity lists as the controllers return them. The mapper is built the
+ * way Spring Boot builds its own (Java time module, ISO dates).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private List<Project> projects;
+    private List<Notification> notifications;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        User user = UserFactory.createUser("Benchmark User", "bench@example.com", "password123", UserRole.CLIENT);
+        user.setUserId(1);
+
+        tasks = new ArrayList<>(size);
+        projects = new ArrayList<>(size);
+        notifications = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Project project = ProjectFactory.createProject(1, "Project " + i, "Description for project " + i,
+                    LocalDate.now(), LocalDate.now().plusDays(30));
+            project.setProjectId(i + 1);
+            projects.add(project);
+
+            Task task = TaskFactory.createTask("Task " + i, "Description for task " + i, project, 1,
+                    LocalDate.now().plusDays(7));
+            task.setTaskId(i + 1);
+            task.setNotes("Notes for task " + i);
+            tasks.add(task);
+
+            Notification notification = NotificationFactory.createNotification("Notification " + i,
+                    NotificationType.TASK_UPDATE, user);
+            notification.setNotificationId(i + 1);
+            notification.setSentAt(LocalDateTime.now());
+            notifications.add(notification);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTasks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeProjects() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projects);
+    }
+
+    @Benchmark
+    public byte[] serializeNotifications() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(notifications);
+    }
+}
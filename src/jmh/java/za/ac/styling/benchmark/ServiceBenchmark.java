@@ -0,0 +1,135 @@
+package za.ac.styling.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import za.ac.styling.Main;
+import za.ac.styling.domain.*;
+import za.ac.styling.dto.CursorPageDto;
+import za.ac.styling.dto.NotificationCreateDto;
+import za.ac.styling.dto.SearchHitDto;
+import za.ac.styling.dto.TaskCreateDto;
+import za.ac.styling.factory.ProjectFactory;
+import za.ac.styling.factory.UserFactory;
+import za.ac.styling.service.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service calls against the full application context on an in-memory H2 database, seeded with
+ * one project of {@code tasks} tasks and a user with 500 notifications.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+    @Param({"1000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private ITaskService taskService;
+    private INotificationService notificationService;
+    private IProjectUserService projectUserService;
+    private ISearchService searchService;
+    private Integer projectId;
+    private Integer userId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Main.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        taskService = context.getBean(ITaskService.class);
+        notificationService = context.getBean(INotificationService.class);
+        projectUserService = context.getBean(IProjectUserService.class);
+        searchService = context.getBean(ISearchService.class);
+
+        User user = context.getBean(IUserService.class).save(
+                UserFactory.createUser("Benchmark User", "bench@example.com", "password123", UserRole.CLIENT));
+        userId = user.getUserId();
+        Project project = context.getBean(IProjectService.class).save(
+                ProjectFactory.createProject(user.getUserId(), "Benchmark Project"));
+        projectId = project.getProjectId();
+        projectUserService.addUserToProject(projectId, userId, ProjectAccessRole.OWNER);
+
+        List<TaskCreateDto> taskDtos = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            taskDtos.add(task("Benchmark task " + i));
+        }
+        taskService.createTasks(taskDtos);
+
+        List<NotificationCreateDto> notificationDtos = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            notificationDtos.add(NotificationCreateDto.builder()
+                    .message("Benchmark notification " + i)
+                    .type(NotificationType.TASK_UPDATE)
+                    .userId(userId)
+                    .build());
+        }
+        notificationService.createNotifications(notificationDtos);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPageDto<Task> findTaskPage() {
+        return taskService.findPage(null, 20);
+    }
+
+    @Benchmark
+    public List<Task> findTasksByProject() {
+        return taskService.findByProjectId(projectId);
+    }
+
+    @Benchmark
+    public List<Task> searchTasksByTitle() {
+        return taskService.searchByTitle("task 42");
+    }
+
+    @Benchmark
+    public List<SearchHitDto> searchAcrossTypes() {
+        return searchService.search("bench", null, 20);
+    }
+
+    @Benchmark
+    public long countUnreadNotifications() {
+        return notificationService.countUnreadNotifications(userId);
+    }
+
+    @Benchmark
+    public boolean checkProjectMembership() {
+        return projectUserService.existsByProjectIdAndUserId(projectId, userId);
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return taskService.createTask("Created by benchmark", "Write path", projectId, 1,
+                LocalDate.now().plusDays(7), null, null);
+    }
+
+    private TaskCreateDto task(String title) {
+        return TaskCreateDto.builder()
+                .title(title)
+                .description("Seeded by ServiceBenchmark")
+                .projectId(projectId)
+                .assignedToId(1)
+                .dueDate(LocalDate.now().plusDays(30))
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package za.ac.styling.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import za.ac.styling.Main;
+import za.ac.styling.domain.Project;
+import za.ac.styling.domain.ProjectAccessRole;
+import za.ac.styling.domain.User;
+import za.ac.styling.domain.UserRole;
+import za.ac.styling.dto.CursorPageDto;
+import za.ac.styling.dto.TaskCreateDto;
+import za.ac.styling.dto.TaskSummary;
+import za.ac.styling.factory.ProjectFactory;
+import za.ac.styling.factory.UserFactory;
+import za.ac.styling.service.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service calls with {@code app.metrics.services.enabled} on and off, so the advisor's overhead
+ * can be read against cached lookups and a database-backed page query. See
+ * {@link ServiceMetricsInterceptorBenchmark} for the interceptor cost on its own.
+ * <pre>
+ * mvn -Pbenchmark verify -Djmh.args="ServiceMetricsBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceMetricsBenchmark {
+
+    @Param({"false", "true"})
+    private boolean metrics;
+
+    private ConfigurableApplicationContext context;
+    private ITaskService taskService;
+    private INotificationService notificationService;
+    private IProjectUserService projectUserService;
+    private Integer projectId;
+    private Integer userId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Main.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:jmh-metrics;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--app.metrics.services.enabled=" + metrics);
+        taskService = context.getBean(ITaskService.class);
+        notificationService = context.getBean(INotificationService.class);
+        projectUserService = context.getBean(IProjectUserService.class);
+
+        User user = context.getBean(IUserService.class).save(
+                UserFactory.createUser("Metrics User", "metrics@example.com", "password123", UserRole.CLIENT));
+        userId = user.getUserId();
+        Project project = context.getBean(IProjectService.class).save(
+                ProjectFactory.createProject(userId, "Metrics Project"));
+        projectId = project.getProjectId();
+        projectUserService.addUserToProject(projectId, userId, ProjectAccessRole.OWNER);
+
+        List<TaskCreateDto> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(TaskCreateDto.builder()
+                    .title("Metrics task " + i)
+                    .description("Seeded by ServiceMetricsBenchmark")
+                    .projectId(projectId)
+                    .assignedToId(1)
+                    .dueDate(LocalDate.now().plusDays(30))
+                    .build());
+        }
+        taskService.createTasks(tasks);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long countUnreadNotifications() {
+        return notificationService.countUnreadNotifications(userId);
+    }
+
+    @Benchmark
+    public boolean checkProjectMembership() {
+        return projectUserService.existsByProjectIdAndUserId(projectId, userId);
+    }
+
+    @Benchmark
+    public CursorPageDto<TaskSummary> findTaskSummaryPage() {
+        return taskService.findSummaryPage(null, 20);
+    }
+}
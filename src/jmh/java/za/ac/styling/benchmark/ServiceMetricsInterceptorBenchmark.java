@@ -0,0 +1,81 @@
+package za.ac.styling.benchmark;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.framework.ProxyFactory;
+import za.ac.styling.util.ServiceMetricsInterceptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of {@link ServiceMetricsInterceptor} around a method that does no work, recording
+ * into a Prometheus registry with the histogram and percentile settings from
+ * application.properties. Both proxies carry one interceptor, so the difference is the metrics
+ * work alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceMetricsInterceptorBenchmark {
+
+    private final List<Integer> rows = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    private ListService passThrough;
+    private ListService instrumented;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().equals(ServiceMetricsInterceptor.CALLS)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(0.5, 0.95, 0.99)
+                        .minimumExpectedValue((double) Duration.ofNanos(100_000).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        });
+
+        ListService target = size -> rows.subList(0, size);
+        passThrough = proxy(target, MethodInvocation::proceed);
+        instrumented = proxy(target, new ServiceMetricsInterceptor(() -> registry));
+    }
+
+    @Benchmark
+    public List<Integer> passThrough() {
+        return passThrough.list(10);
+    }
+
+    @Benchmark
+    public List<Integer> instrumented() {
+        return instrumented.list(10);
+    }
+
+    private static ListService proxy(ListService target, MethodInterceptor interceptor) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addInterface(ListService.class);
+        factory.addAdvice(interceptor);
+        return (ListService) factory.getProxy();
+    }
+
+    public interface ListService {
+
+        List<Integer> list(int size);
+    }
+}
@@ -0,0 +1,49 @@
+package za.ac.styling.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import za.ac.styling.util.ValidationHelper;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private final String[] emails = {
+            "jane.doe@example.com",
+            "ops+alerts@styling.co.za",
+            "not-an-email",
+            "trailing.dot@example."
+    };
+
+    private final String[] phones = {
+            "+27 82 555 0199",
+            "(021) 555-0199",
+            "0825550199",
+            "phone: none"
+    };
+
+    @Benchmark
+    public void validateEmail(Blackhole blackhole) {
+        for (String email : emails) {
+            blackhole.consume(ValidationHelper.validateEmail(email));
+        }
+    }
+
+    @Benchmark
+    public void validatePhone(Blackhole blackhole) {
+        for (String phone : phones) {
+            blackhole.consume(ValidationHelper.validatePhone(phone));
+        }
+    }
+
+    @Benchmark
+    public boolean validateName() {
+        return ValidationHelper.validateName("Thandiwe Mokoena");
+    }
+}
@@ -0,0 +1,83 @@
+package za.ac.styling.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.TableStructure;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Refuses to start when a pooled id generator would hand out ids that already exist. That happens
+ * when ddl-auto creates a missing {@code *_seq} table or sequence at 1 on a database whose ids came
+ * from AUTO_INCREMENT/identity columns, i.e. before
+ * {@code db/manual/<database>/003_pooled_id_sequences.sql} has been run. Runs while the context
+ * starts, before {@link DataInitializer} inserts anything.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.db.id-sequence-check.enabled", havingValue = "true", matchIfMissing = true)
+public class IdSequenceChecker implements InitializingBean {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()).toLowerCase(Locale.ROOT);
+        List<String> behind = new ArrayList<>();
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .forEachEntityDescriptor(persister -> {
+                    if (!(persister.getGenerator() instanceof SequenceStyleGenerator generator)
+                            || !(persister instanceof AbstractEntityPersister entityPersister)) {
+                        return;
+                    }
+                    DatabaseStructure structure = generator.getDatabaseStructure();
+                    Long nextValue = nextValue(product, structure);
+                    if (nextValue == null) {
+                        return;
+                    }
+                    Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + entityPersister.getIdentifierColumnNames()[0]
+                            + ") FROM " + entityPersister.getTableName(), Long.class);
+                    // The pooled optimizer hands out the block ending at the next value it reads
+                    if (maxId != null && nextValue - structure.getIncrementSize() < maxId) {
+                        behind.add(structure.getPhysicalName().render() + " (next " + nextValue + ", max id " + maxId + ")");
+                    }
+                });
+        if (!behind.isEmpty()) {
+            throw new IllegalStateException("Id sequences are behind existing rows: " + String.join(", ", behind)
+                    + ". Run db/manual/<database>/003_pooled_id_sequences.sql before starting the application.");
+        }
+    }
+
+    // Reads without advancing; null when the database is not one this check knows how to read
+    private Long nextValue(String product, DatabaseStructure structure) {
+        String name = structure.getPhysicalName().render();
+        if (structure instanceof TableStructure) {
+            return jdbcTemplate.queryForObject("SELECT MAX(next_val) FROM " + name, Long.class);
+        }
+        if (product.contains("postgresql")) {
+            return jdbcTemplate.queryForObject("SELECT CASE WHEN is_called THEN last_value + ? ELSE last_value END FROM "
+                    + name, Long.class, structure.getIncrementSize());
+        }
+        if (product.contains("h2")) {
+            return jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES"
+                    + " WHERE UPPER(SEQUENCE_NAME) = UPPER(?)", Long.class, name);
+        }
+        log.warn("Cannot read id sequence {} on {}; skipping the check", name, product);
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package za.ac.styling.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import za.ac.styling.domain.NotificationType;
+import za.ac.styling.util.NotificationCoalescingPolicy;
+import za.ac.styling.util.NotificationCoalescingPolicy.Scope;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Reads {@code app.notifications.coalescing.<type>.window} and {@code .key} ({@code project} or
+ * {@code type}) for every notification type, e.g. {@code task-update.window}; types without their
+ * own settings use {@code app.notifications.coalescing.default.*}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class NotificationCoalescingConfig {
+
+    private static final String PREFIX = "app.notifications.coalescing.";
+
+    @Bean
+    public NotificationCoalescingPolicy notificationCoalescingPolicy(Environment environment) {
+        Duration defaultWindow = environment.getProperty(PREFIX + "default.window", Duration.class, Duration.ofMinutes(15));
+        Scope defaultScope = environment.getProperty(PREFIX + "default.key", Scope.class, Scope.PROJECT);
+        Map<NotificationType, Duration> windows = new EnumMap<>(NotificationType.class);
+        Map<NotificationType, Scope> scopes = new EnumMap<>(NotificationType.class);
+        for (NotificationType type : NotificationType.values()) {
+            String prefix = PREFIX + type.name().toLowerCase().replace('_', '-');
+            windows.put(type, environment.getProperty(prefix + ".window", Duration.class, defaultWindow));
+            scopes.put(type, environment.getProperty(prefix + ".key", Scope.class, defaultScope));
+        }
+        return new NotificationCoalescingPolicy(windows, scopes);
+    }
+}
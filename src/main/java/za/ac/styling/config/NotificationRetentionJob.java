@@ -0,0 +1,27 @@
+package za.ac.styling.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import za.ac.styling.service.INotificationRetentionService;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.notifications.retention.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationRetentionJob {
+
+    private final INotificationRetentionService notificationRetentionService;
+
+    @Scheduled(fixedDelayString = "${app.notifications.retention.interval:PT10M}",
+            initialDelayString = "${app.notifications.retention.initial-delay:PT1M}")
+    public void run() {
+        notificationRetentionService.maintainPartitions();
+        int deleted = notificationRetentionService.purgeExpiredNotifications();
+        if (deleted > 0) {
+            log.info("Deleted {} expired notifications", deleted);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package za.ac.styling.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import za.ac.styling.service.IOutboxService;
+
+/** Set {@code app.notifications.outbox.enabled=false} on instances that should not relay events */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.notifications.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final IOutboxService outboxService;
+
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.poll-interval:PT1S}")
+    public void relay() {
+        // Drain the backlog before waiting for the next poll
+        int relayed;
+        do {
+            relayed = outboxService.relayPendingEvents();
+        } while (relayed > 0);
+    }
+}
@@ -0,0 +1,31 @@
+package za.ac.styling.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import za.ac.styling.service.IPreviewService;
+
+/** Set {@code app.deliverables.previews.enabled=false} on instances that should not render previews */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.deliverables.previews.enabled", havingValue = "true", matchIfMissing = true)
+public class PreviewJobDispatcher {
+
+    private final IPreviewService previewService;
+
+    @Scheduled(fixedDelayString = "${app.deliverables.previews.poll-interval:PT2S}")
+    public void dispatch() {
+        previewService.dispatchPendingJobs();
+    }
+
+    @Scheduled(fixedDelayString = "${app.deliverables.previews.purge-interval:PT1H}")
+    public void purge() {
+        int purged = previewService.purgeOrphanedPreviews();
+        if (purged > 0) {
+            log.info("Removed {} preview jobs of deleted deliverables", purged);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package za.ac.styling.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import za.ac.styling.service.IProjectProgressService;
+
+/**
+ * One-off backfill of the per-project task counters for data written before they existed.
+ * Enable with {@code app.progress.rebuild-on-startup=true} for a single start, then switch it off.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.progress.rebuild-on-startup", havingValue = "true")
+public class ProjectProgressRebuildRunner implements CommandLineRunner {
+
+    private final IProjectProgressService projectProgressService;
+
+    @Override
+    public void run(String... args) {
+        long started = System.currentTimeMillis();
+        int projects = projectProgressService.rebuildAll();
+        log.info("Rebuilt task counters and progress for {} projects in {} ms",
+                projects, System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,105 @@
+package za.ac.styling.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.filter.OncePerRequestFilter;
+import za.ac.styling.util.ReadWriteRoutingDataSource;
+import za.ac.styling.util.ReadYourWritesTracker;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Active when {@code app.db.replicas.urls} lists at least one replica. Replaces the auto-configured
+ * pool with a {@link ReadWriteRoutingDataSource} over a primary pool and one pool per replica;
+ * all pools share the {@code spring.datasource.hikari.*} settings. With virtual threads, each pool
+ * gets its own {@code app.db.max-concurrency} limit (see {@link VirtualThreadConfig}).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnExpression("!'${app.db.replicas.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${app.db.replicas.read-your-writes:5s}") Duration window,
+            @Value("${app.db.replicas.read-your-writes-max-clients:100000}") long maxClients) {
+        return new ReadYourWritesTracker(window, maxClients);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                                 ReadYourWritesTracker tracker,
+                                                 @Value("${app.db.replicas.urls}") List<String> urls,
+                                                 @Value("${app.db.replicas.strategy:round-robin}") String strategy,
+                                                 @Value("${app.db.replicas.retry-after:30s}") Duration retryAfter) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        String username = environment.getProperty("app.db.replicas.username", properties.determineUsername());
+        String password = environment.getProperty("app.db.replicas.password", properties.determinePassword());
+        boolean limited = Threading.VIRTUAL.isActive(environment);
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replicas.add(limited ? VirtualThreadConfig.limit(replica, replica.getPoolName(), environment) : replica);
+        }
+
+        ReadWriteRoutingDataSource.Strategy routing =
+                ReadWriteRoutingDataSource.Strategy.valueOf(strategy.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        log.info("Routing read-only transactions to {} replica(s) ({})", replicas.size(), routing);
+        return new ReadWriteRoutingDataSource(limited ? VirtualThreadConfig.limit(primary, "primary", environment) : primary,
+                replicas, routing, retryAfter, tracker);
+    }
+
+    /**
+     * Binds the requesting client for read-your-writes. Clients identify themselves with the
+     * configured header (the signed-in user's id); anonymous callers are keyed by address.
+     */
+    @Bean
+    public OncePerRequestFilter readYourWritesFilter(ReadYourWritesTracker tracker,
+                                                     @Value("${app.db.replicas.client-header:X-User-Id}") String header) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                String client = request.getHeader(header);
+                tracker.bind(client == null || client.isBlank() ? "addr:" + request.getRemoteAddr() : "user:" + client);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    tracker.clear();
+                }
+            }
+        };
+    }
+}
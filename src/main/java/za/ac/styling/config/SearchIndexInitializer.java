@@ -0,0 +1,29 @@
+package za.ac.styling.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import za.ac.styling.service.ISearchService;
+
+/**
+ * Loads the in-memory search index from the database once the application is up, after
+ * {@link DataInitializer} and any other runners have written their rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.rebuild-on-startup", havingValue = "true", matchIfMissing = true)
+public class SearchIndexInitializer {
+
+    private final ISearchService searchService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long started = System.currentTimeMillis();
+        int documents = searchService.rebuild();
+        log.info("Indexed {} documents for search in {} ms", documents, System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,105 @@
+package za.ac.styling.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import za.ac.styling.util.CacheRegionMetrics;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for {@code User} and {@code Project} rows and the
+ * {@code findByEmail} query, kept in process by Caffeine. Each region is bounded by
+ * {@code app.cache.regions.<region>.max-size} and expires {@code .ttl} after it was written, which
+ * also bounds how long another instance's writes can go unseen.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SecondLevelCacheConfig {
+
+    public static final String USERS = "users";
+    public static final String PROJECTS = "projects";
+    public static final String USER_BY_EMAIL = "user-by-email";
+
+    private static final List<String> REGIONS =
+            List.of(USERS, PROJECTS, USER_BY_EMAIL, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "app.cache.second-level.enabled", havingValue = "true", matchIfMissing = true)
+    static class Enabled {
+
+        @Bean
+        public CacheManager hibernateCacheManager(Environment environment) {
+            // A manager per context, so test contexts sharing a JVM do not share regions
+            CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                    .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+            for (String region : REGIONS) {
+                String prefix = "app.cache.regions." + region;
+                CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+                configuration.setMaximumSize(OptionalLong.of(
+                        environment.getProperty(prefix + ".max-size", Long.class, 10_000L)));
+                configuration.setExpireAfterWrite(OptionalLong.of(
+                        environment.getProperty(prefix + ".ttl", Duration.class, Duration.ofMinutes(30)).toNanos()));
+                configuration.setStatisticsEnabled(true);
+                cacheManager.createCache(region, configuration);
+            }
+            // Evicting an update timestamp would let the query cache serve results from before a write
+            cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                    new CaffeineConfiguration<>().setStatisticsEnabled(true));
+            return cacheManager;
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager hibernateCacheManager) {
+            return properties -> {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+                properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            };
+        }
+
+        @Bean
+        public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+            return registry -> {
+                for (String region : hibernateCacheManager.getCacheNames()) {
+                    new CacheRegionMetrics<>(hibernateCacheManager.getCache(region), Tags.of("cache.manager", "hibernate"))
+                            .bindTo(registry);
+                }
+            };
+        }
+
+        /** Closes the entity manager factory, and with it the regions, before the cache manager */
+        @Bean
+        static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependsOnHibernateCacheManager() {
+            return new EntityManagerFactoryDependsOnPostProcessor("hibernateCacheManager");
+        }
+    }
+
+    /** hibernate-jcache is on the classpath, so Hibernate would otherwise turn the cache on by itself */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "app.cache.second-level.enabled", havingValue = "false")
+    static class Disabled {
+
+        @Bean
+        public HibernatePropertiesCustomizer secondLevelCacheProperties() {
+            return properties -> properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+        }
+    }
+}
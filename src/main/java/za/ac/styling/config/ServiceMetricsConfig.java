@@ -0,0 +1,61 @@
+package za.ac.styling.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+import za.ac.styling.util.ServiceMetricsInterceptor;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+/**
+ * Wraps every public method of {@code za.ac.styling.service.impl} beans that implements one of
+ * the {@code za.ac.styling.service} interfaces with {@link ServiceMetricsInterceptor}. The advisor
+ * runs outside the transaction so commit time and commit failures are part of the measurement.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.metrics.services.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceMetricsConfig {
+
+    private static final String SERVICE_PACKAGE = "za.ac.styling.service";
+    private static final String IMPL_PACKAGE = SERVICE_PACKAGE + ".impl";
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> registry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new ServicePointcut(),
+                new ServiceMetricsInterceptor(registry::getIfAvailable));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    private static final class ServicePointcut extends StaticMethodMatcherPointcut {
+
+        private ServicePointcut() {
+            setClassFilter(type -> IMPL_PACKAGE.equals(type.getPackageName()));
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            if (!Modifier.isPublic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+                return false;
+            }
+            // By name, so generic IService methods match through their bridge methods too
+            return ClassUtils.getAllInterfacesForClassAsSet(targetClass).stream()
+                    .filter(type -> SERVICE_PACKAGE.equals(type.getPackageName()))
+                    .flatMap(type -> Arrays.stream(type.getMethods()))
+                    .anyMatch(declared -> declared.getName().equals(method.getName())
+                            && declared.getParameterCount() == method.getParameterCount());
+        }
+    }
+}
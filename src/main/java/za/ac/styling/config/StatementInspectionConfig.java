@@ -0,0 +1,95 @@
+package za.ac.styling.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import za.ac.styling.util.InspectingDataSource;
+import za.ac.styling.util.StatementStats;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the JDBC statements and database time of every HTTP request. Requests that run more
+ * statements than {@code app.jdbc.statement-budget} are logged with their most repeated query,
+ * which is usually a lazy association loaded once per row; statements slower than
+ * {@code app.jdbc.slow-query-threshold} are logged with their bind parameters.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.jdbc.inspection.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementInspectionConfig {
+
+    public static final String STATEMENTS = "http.server.requests.jdbc.statements";
+    public static final String TIME = "http.server.requests.jdbc.time";
+    public static final String OVER_BUDGET = "http.server.requests.jdbc.over.budget";
+
+    @Bean
+    static BeanPostProcessor statementInspector(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof InspectingDataSource) {
+                    return bean;
+                }
+                Duration threshold = environment.getProperty("app.jdbc.slow-query-threshold", Duration.class,
+                        Duration.ofMillis(500));
+                return new InspectingDataSource(dataSource, threshold);
+            }
+        };
+    }
+
+    @Bean
+    public OncePerRequestFilter statementBudgetFilter(ObjectProvider<MeterRegistry> registry,
+                                                      @Value("${app.jdbc.statement-budget:20}") int budget) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                StatementStats stats = StatementStats.start();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    StatementStats.stop();
+                    completed(request, stats, budget, registry.getIfAvailable());
+                }
+            }
+        };
+    }
+
+    private static void completed(HttpServletRequest request, StatementStats stats, int budget, MeterRegistry registry) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        boolean overBudget = stats.getStatements() > budget;
+        if (overBudget) {
+            Map.Entry<String, Integer> repeated = stats.mostRepeated();
+            log.warn("{} {} ran {} JDBC statements in {} ms (budget {}); most repeated {}x: {}",
+                    request.getMethod(), request.getRequestURI(), stats.getStatements(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getNanos()), budget,
+                    repeated == null ? 0 : repeated.getValue(), repeated == null ? "" : repeated.getKey());
+        }
+        if (registry == null) {
+            return;
+        }
+        registry.summary(STATEMENTS, "method", request.getMethod(), "uri", uri).record(stats.getStatements());
+        registry.timer(TIME, "method", request.getMethod(), "uri", uri).record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        if (overBudget) {
+            registry.counter(OVER_BUDGET, "method", request.getMethod(), "uri", uri).increment();
+        }
+    }
+}
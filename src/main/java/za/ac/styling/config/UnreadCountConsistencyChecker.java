@@ -0,0 +1,29 @@
+package za.ac.styling.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import za.ac.styling.service.IUnreadCountService;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.notifications.unread-cache.consistency-check.enabled", havingValue = "true")
+public class UnreadCountConsistencyChecker {
+
+    private final IUnreadCountService unreadCountService;
+
+    @Value("${app.notifications.unread-cache.consistency-check.sample-size:50}")
+    private int sampleSize;
+
+    @Scheduled(fixedDelayString = "${app.notifications.unread-cache.consistency-check.interval:PT5M}")
+    public void check() {
+        int mismatches = unreadCountService.checkConsistency(sampleSize);
+        if (mismatches > 0) {
+            log.warn("Unread count consistency check repaired {} of up to {} sampled users", mismatches, sampleSize);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package za.ac.styling.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import za.ac.styling.service.IDeliverableUploadService;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadSessionPurger {
+
+    private final IDeliverableUploadService deliverableUploadService;
+
+    @Scheduled(fixedDelayString = "${app.deliverables.upload.purge-interval:PT1H}")
+    public void purge() {
+        int purged = deliverableUploadService.purgeExpiredUploads();
+        if (purged > 0) {
+            log.info("Removed {} abandoned deliverable uploads", purged);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package za.ac.styling.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import za.ac.styling.util.ConcurrencyLimitedDataSource;
+import za.ac.styling.util.ReadWriteRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Active with {@code spring.threads.virtual.enabled=true}, which moves Tomcat request handling,
+ * {@code @Async} work and {@code @Scheduled} jobs onto virtual threads. Request concurrency is
+ * then no longer bounded by the Tomcat pool, so the data source is wrapped to let at most
+ * {@code app.db.max-concurrency} callers hold a connection at once.
+ * <p>
+ * The limit applies per connection pool. With read replicas, {@link ReadReplicaConfig} limits the
+ * primary and every replica pool separately; the routing data source itself is not wrapped, since
+ * it hands out lazy connections that may never reach a pool.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor dataSourceConcurrencyLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource
+                        || bean instanceof ReadWriteRoutingDataSource) {
+                    return bean;
+                }
+                return limit(dataSource, beanName, environment);
+            }
+        };
+    }
+
+    static ConcurrencyLimitedDataSource limit(DataSource dataSource, String name, Environment environment) {
+        int maxConcurrency = environment.getProperty("app.db.max-concurrency", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration acquireTimeout = environment.getProperty("app.db.acquire-timeout", Duration.class,
+                Duration.ofSeconds(5));
+        log.info("Virtual threads enabled; limiting '{}' to {} concurrent connections", name, maxConcurrency);
+        return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeout);
+    }
+}
@@ -1,22 +1,46 @@
 package za.ac.styling.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import za.ac.styling.domain.Deliverable;
+import za.ac.styling.domain.PreviewSize;
 import za.ac.styling.dto.*;
+import za.ac.styling.service.IExportService;
 import za.ac.styling.service.IDeliverableService;
+import za.ac.styling.service.IPreviewService;
+import za.ac.styling.util.DownloadHelper;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/deliverables")
-@RequiredArgsConstructor
 public class DeliverableController {
 
     private final IDeliverableService deliverableService;
+    private final IExportService exportService;
+    private final IPreviewService previewService;
+    private final List<String> redirectHosts;
+
+    public DeliverableController(IDeliverableService deliverableService,
+                                 IExportService exportService,
+                                 IPreviewService previewService,
+                                 @Value("${app.deliverables.redirect-hosts:}") List<String> redirectHosts) {
+        this.deliverableService = deliverableService;
+        this.exportService = exportService;
+        this.previewService = previewService;
+        this.redirectHosts = redirectHosts;
+    }
 
     @PostMapping
     public ResponseEntity<Deliverable> createDeliverable(@RequestBody Deliverable deliverable) {
@@ -38,18 +62,81 @@ public class DeliverableController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /** Writes to the response directly so Tomcat can send the file with sendfile */
+    @GetMapping("/{id}/content")
+    public void downloadDeliverableContent(@PathVariable Integer id, HttpServletRequest request,
+                                           HttpServletResponse response) throws IOException {
+        Optional<DeliverableContentDto> found = deliverableService.findContent(id);
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        DeliverableContentDto content = found.get();
+        if (content.getExternalUrl() != null) {
+            DownloadHelper.sendExternal(response, content.getExternalUrl(), redirectHosts);
+            return;
+        }
+        DownloadHelper.send(request, response, content.getFile(), content.getSize(), content.getEtag(),
+                content.getLastModified(), content.getContentType(), content.getFileName());
+    }
+
+    @GetMapping("/{id}/thumbnail")
+    public ResponseEntity<byte[]> getDeliverableThumbnail(@PathVariable Integer id) {
+        return preview(id, PreviewSize.THUMBNAIL);
+    }
+
+    @GetMapping("/{id}/preview")
+    public ResponseEntity<byte[]> getDeliverablePreview(@PathVariable Integer id) {
+        return preview(id, PreviewSize.PREVIEW);
+    }
+
     @GetMapping
     public ResponseEntity<List<Deliverable>> getAllDeliverables() {
         List<Deliverable> deliverables = deliverableService.findAll();
         return ResponseEntity.ok(deliverables);
     }
 
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<DeliverableSummary>> getAllDeliverableSummaries() {
+        List<DeliverableSummary> deliverables = deliverableService.findSummaries();
+        return ResponseEntity.ok(deliverables);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDto<Deliverable>> getDeliverablePage(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer size) {
+        CursorPageDto<Deliverable> page = deliverableService.findPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/page", params = "view=summary")
+    public ResponseEntity<CursorPageDto<DeliverableSummary>> getDeliverableSummaryPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDto<DeliverableSummary> page = deliverableService.findSummaryPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportDeliverables() {
+        StreamingResponseBody body = exportService::exportDeliverables;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/project/{projectId}")
     public ResponseEntity<List<Deliverable>> getDeliverablesByProject(@PathVariable Integer projectId) {
         List<Deliverable> deliverables = deliverableService.findByProjectId(projectId);
         return ResponseEntity.ok(deliverables);
     }
 
+    @GetMapping(value = "/project/{projectId}", params = "view=summary")
+    public ResponseEntity<List<DeliverableSummary>> getDeliverableSummariesByProject(@PathVariable Integer projectId) {
+        List<DeliverableSummary> deliverables = deliverableService.findSummariesByProjectId(projectId);
+        return ResponseEntity.ok(deliverables);
+    }
+
     @GetMapping("/approved/{approved}")
     public ResponseEntity<List<Deliverable>> getDeliverablesByApprovalStatus(@PathVariable Boolean approved) {
         List<Deliverable> deliverables = deliverableService.findByApprovalStatus(approved);
@@ -106,4 +193,15 @@ public class DeliverableController {
         long count = deliverableService.count();
         return ResponseEntity.ok(count);
     }
+
+    // 404 until the preview has been rendered; the ETag lets clients revalidate with a 304
+    private ResponseEntity<byte[]> preview(Integer id, PreviewSize size) {
+        return previewService.findPreview(id, size)
+                .map(preview -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(preview.getContentType()))
+                        .eTag(preview.getEtag())
+                        .cacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePrivate())
+                        .body(preview.getContent()))
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
@@ -0,0 +1,66 @@
+package za.ac.styling.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import za.ac.styling.domain.Deliverable;
+import za.ac.styling.dto.*;
+import za.ac.styling.service.IDeliverableUploadService;
+
+import java.io.InputStream;
+
+/**
+ * Resumable uploads: start a session with the file's size, PUT chunks of any size at the offset
+ * the session reports (each with its SHA-256 in {@code X-Chunk-SHA256}), then complete it. After
+ * a dropped connection, GET the session to learn the offset to resume from. A start that announces
+ * the SHA-256 of content already stored returns the new deliverable's id and needs no chunks.
+ */
+@RestController
+@RequestMapping("/api/deliverables/uploads")
+@RequiredArgsConstructor
+public class DeliverableUploadController {
+
+    public static final String CHUNK_SHA256_HEADER = "X-Chunk-SHA256";
+
+    private final IDeliverableUploadService deliverableUploadService;
+
+    @PostMapping
+    public ResponseEntity<UploadSessionDto> startUpload(@Valid @RequestBody UploadStartDto dto) {
+        UploadSessionDto session = deliverableUploadService.startUpload(dto);
+        return new ResponseEntity<>(session, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<UploadSessionDto> getUpload(@PathVariable String uploadId) {
+        UploadSessionDto session = deliverableUploadService.getUpload(uploadId);
+        return ResponseEntity.ok(session);
+    }
+
+    @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSessionDto> appendChunk(@PathVariable String uploadId,
+                                                        @RequestParam long offset,
+                                                        @RequestHeader(CHUNK_SHA256_HEADER) String sha256,
+                                                        InputStream content) {
+        UploadSessionDto current = deliverableUploadService.getUpload(uploadId);
+        if (current.getOffset() != offset) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(current);
+        }
+        UploadSessionDto session = deliverableUploadService.appendChunk(uploadId, offset, sha256, content);
+        return ResponseEntity.ok(session);
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<Deliverable> completeUpload(@PathVariable String uploadId) {
+        Deliverable deliverable = deliverableUploadService.completeUpload(uploadId);
+        return new ResponseEntity<>(deliverable, HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abortUpload(@PathVariable String uploadId) {
+        deliverableUploadService.abortUpload(uploadId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -44,6 +44,13 @@ public class FeedbackController {
         return ResponseEntity.ok(feedbacks);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDto<Feedback>> getFeedbackPage(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer size) {
+        CursorPageDto<Feedback> page = feedbackService.findPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/deliverable/{deliverableId}")
     public ResponseEntity<List<Feedback>> getFeedbackByDeliverable(@PathVariable Integer deliverableId) {
         List<Feedback> feedbacks = feedbackService.findByDeliverableId(deliverableId);
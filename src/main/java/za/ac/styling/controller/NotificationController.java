@@ -3,12 +3,16 @@ package za.ac.styling.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import za.ac.styling.domain.Notification;
 import za.ac.styling.domain.NotificationType;
 import za.ac.styling.dto.*;
 import za.ac.styling.service.INotificationService;
+import za.ac.styling.service.IUnreadCountService;
 
 import java.util.List;
 
@@ -18,6 +22,7 @@ import java.util.List;
 public class NotificationController {
 
     private final INotificationService notificationService;
+    private final IUnreadCountService unreadCountService;
 
     @PostMapping
     public ResponseEntity<Notification> createNotification(@RequestBody Notification notification) {
@@ -28,10 +33,16 @@ public class NotificationController {
     @PostMapping("/create")
     public ResponseEntity<Notification> createNotification(@Valid @RequestBody NotificationCreateDto dto) {
         Notification notification = notificationService.createNotification(dto.getMessage(), 
-                dto.getType(), dto.getUserId());
+                dto.getType(), dto.getUserId(), dto.getProjectId());
         return new ResponseEntity<>(notification, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<Notification>> createNotifications(@RequestBody List<@Valid NotificationCreateDto> dtos) {
+        List<Notification> notifications = notificationService.createNotifications(dtos);
+        return new ResponseEntity<>(notifications, HttpStatus.CREATED);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Notification> getNotificationById(@PathVariable Integer id) {
         return notificationService.findById(id)
@@ -45,18 +56,48 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDto<Notification>> getNotificationPage(@RequestParam(required = false) String cursor,
+                                                                           @RequestParam(required = false) Integer size) {
+        CursorPageDto<Notification> page = notificationService.findPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<Notification>> getNotificationsByUser(@PathVariable Integer userId) {
         List<Notification> notifications = notificationService.findByUserId(userId);
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping(value = "/user/{userId}", params = "view=summary")
+    public ResponseEntity<List<NotificationSummary>> getNotificationSummariesByUser(@PathVariable Integer userId) {
+        List<NotificationSummary> notifications = notificationService.findSummariesByUserId(userId);
+        return ResponseEntity.ok(notifications);
+    }
+
     @GetMapping("/user/{userId}/ordered")
     public ResponseEntity<List<Notification>> getNotificationsByUserOrdered(@PathVariable Integer userId) {
         List<Notification> notifications = notificationService.findByUserIdOrderedByDate(userId);
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<CursorPageDto<Notification>> getNotificationPageByUser(@PathVariable Integer userId,
+                                                                                 @RequestParam(required = false) String cursor,
+                                                                                 @RequestParam(required = false) Integer size) {
+        CursorPageDto<Notification> page = notificationService.findPageByUserId(userId, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/user/{userId}/page", params = "view=summary")
+    public ResponseEntity<CursorPageDto<NotificationSummary>> getNotificationSummaryPageByUser(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDto<NotificationSummary> page = notificationService.findSummaryPageByUserId(userId, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/user/{userId}/read/{isRead}")
     public ResponseEntity<List<Notification>> getNotificationsByUserAndReadStatus(@PathVariable Integer userId,
                                                                                    @PathVariable Boolean isRead) {
@@ -70,12 +111,29 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamNotifications(@PathVariable Integer userId) {
+        return notificationService.streamNotifications(userId);
+    }
+
     @GetMapping("/user/{userId}/unread-count")
     public ResponseEntity<Long> countUnreadNotifications(@PathVariable Integer userId) {
         long count = notificationService.countUnreadNotifications(userId);
         return ResponseEntity.ok(count);
     }
 
+    @GetMapping("/unread-cache/stats")
+    public ResponseEntity<UnreadCountCacheStatsDto> getUnreadCacheStats() {
+        UnreadCountCacheStatsDto stats = unreadCountService.getStats();
+        return ResponseEntity.ok(stats);
+    }
+
+    @PostMapping("/unread-cache/check")
+    public ResponseEntity<Integer> checkUnreadCache(@RequestParam(defaultValue = "50") Integer sampleSize) {
+        int mismatches = unreadCountService.checkConsistency(sampleSize);
+        return ResponseEntity.ok(mismatches);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Notification> updateNotification(@PathVariable Integer id, @RequestBody Notification notification) {
         if (!notificationService.existsById(id)) {
@@ -93,9 +151,16 @@ public class NotificationController {
     }
 
     @PutMapping("/user/{userId}/mark-all-read")
-    public ResponseEntity<Void> markAllAsRead(@PathVariable Integer userId) {
-        notificationService.markAllAsRead(userId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Integer> markAllAsRead(@PathVariable Integer userId) {
+        int updated = notificationService.markAllAsRead(userId);
+        return ResponseEntity.ok(updated);
+    }
+
+    @PutMapping("/user/{userId}/mark-read-up-to")
+    public ResponseEntity<Integer> markAllAsReadUpTo(@PathVariable Integer userId,
+                                                     @Valid @RequestBody NotificationMarkReadDto dto) {
+        int updated = notificationService.markAllAsReadUpTo(userId, dto.getNotificationId());
+        return ResponseEntity.ok(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -4,11 +4,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import za.ac.styling.domain.Project;
 import za.ac.styling.domain.ProjectStatus;
 import za.ac.styling.dto.*;
+import za.ac.styling.service.IExportService;
+import za.ac.styling.service.IProjectProgressService;
 import za.ac.styling.service.IProjectService;
 
 import java.time.LocalDate;
@@ -20,6 +24,8 @@ import java.util.List;
 public class ProjectController {
 
     private final IProjectService projectService;
+    private final IExportService exportService;
+    private final IProjectProgressService projectProgressService;
 
     @PostMapping
     public ResponseEntity<Project> createProject(@RequestBody Project project) {
@@ -47,18 +53,65 @@ public class ProjectController {
         return ResponseEntity.ok(projects);
     }
 
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<ProjectSummary>> getAllProjectSummaries() {
+        List<ProjectSummary> projects = projectService.findSummaries();
+        return ResponseEntity.ok(projects);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDto<Project>> getProjectPage(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer size) {
+        CursorPageDto<Project> page = projectService.findPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/page", params = "view=summary")
+    public ResponseEntity<CursorPageDto<ProjectSummary>> getProjectSummaryPage(@RequestParam(required = false) String cursor,
+                                                                               @RequestParam(required = false) Integer size) {
+        CursorPageDto<ProjectSummary> page = projectService.findSummaryPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProjects() {
+        StreamingResponseBody body = exportService::exportProjects;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/page/due-date")
+    public ResponseEntity<CursorPageDto<Project>> getProjectPageByDueDate(@RequestParam(required = false) String cursor,
+                                                                          @RequestParam(required = false) Integer size) {
+        CursorPageDto<Project> page = projectService.findPageByDueDate(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/client/{clientId}")
     public ResponseEntity<List<Project>> getProjectsByClient(@PathVariable Integer clientId) {
         List<Project> projects = projectService.findByClientId(clientId);
         return ResponseEntity.ok(projects);
     }
 
+    @GetMapping(value = "/client/{clientId}", params = "view=summary")
+    public ResponseEntity<List<ProjectSummary>> getProjectSummariesByClient(@PathVariable Integer clientId) {
+        List<ProjectSummary> projects = projectService.findSummariesByClientId(clientId);
+        return ResponseEntity.ok(projects);
+    }
+
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Project>> getProjectsByStatus(@PathVariable ProjectStatus status) {
         List<Project> projects = projectService.findByStatus(status);
         return ResponseEntity.ok(projects);
     }
 
+    @GetMapping(value = "/status/{status}", params = "view=summary")
+    public ResponseEntity<List<ProjectSummary>> getProjectSummariesByStatus(@PathVariable ProjectStatus status) {
+        List<ProjectSummary> projects = projectService.findSummariesByStatus(status);
+        return ResponseEntity.ok(projects);
+    }
+
     @GetMapping("/client/{clientId}/status/{status}")
     public ResponseEntity<List<Project>> getProjectsByClientAndStatus(@PathVariable Integer clientId,
                                                                        @PathVariable ProjectStatus status) {
@@ -97,15 +150,14 @@ public class ProjectController {
     @PutMapping("/{id}/status")
     public ResponseEntity<Void> updateProjectStatus(@PathVariable Integer id,
                                                      @Valid @RequestBody ProjectStatusUpdateDto dto) {
-        projectService.updateProjectStatus(id, dto.getStatus());
+        projectService.updateProjectStatus(id, dto.getStatus(), dto.getActorUserId());
         return ResponseEntity.ok().build();
     }
 
-    @PutMapping("/{id}/progress")
-    public ResponseEntity<Void> updateProjectProgress(@PathVariable Integer id,
-                                                       @Valid @RequestBody ProjectProgressUpdateDto dto) {
-        projectService.updateProjectProgress(id, dto.getProgress());
-        return ResponseEntity.ok().build();
+    @PostMapping("/progress/rebuild")
+    public ResponseEntity<Integer> rebuildProgress() {
+        int projects = projectProgressService.rebuildAll();
+        return ResponseEntity.ok(projects);
     }
 
     @DeleteMapping("/{id}")
@@ -32,6 +32,12 @@ public class ProjectUserController {
         return new ResponseEntity<>(projectUser, HttpStatus.CREATED);
     }
 
+    @PostMapping("/add/bulk")
+    public ResponseEntity<List<ProjectUser>> addUsersToProjects(@RequestBody List<@Valid ProjectUserAddDto> dtos) {
+        List<ProjectUser> projectUsers = projectUserService.addUsersToProjects(dtos);
+        return new ResponseEntity<>(projectUsers, HttpStatus.CREATED);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProjectUser> getProjectUserById(@PathVariable Integer id) {
         return projectUserService.findById(id)
@@ -45,6 +51,13 @@ public class ProjectUserController {
         return ResponseEntity.ok(projectUsers);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDto<ProjectUser>> getProjectUserPage(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer size) {
+        CursorPageDto<ProjectUser> page = projectUserService.findPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/project/{projectId}")
     public ResponseEntity<List<ProjectUser>> getUsersByProject(@PathVariable Integer projectId) {
         List<ProjectUser> projectUsers = projectUserService.findByProjectId(projectId);
@@ -120,4 +133,10 @@ public class ProjectUserController {
         long count = projectUserService.count();
         return ResponseEntity.ok(count);
     }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<MembershipCacheStatsDto> getCacheStats() {
+        MembershipCacheStatsDto stats = projectUserService.getCacheStats();
+        return ResponseEntity.ok(stats);
+    }
 }
@@ -0,0 +1,33 @@
+package za.ac.styling.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import za.ac.styling.domain.SearchEntityType;
+import za.ac.styling.dto.*;
+import za.ac.styling.service.ISearchService;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final ISearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<List<SearchHitDto>> search(@RequestParam("q") String query,
+                                                     @RequestParam(required = false) Set<SearchEntityType> types,
+                                                     @RequestParam(required = false) Integer limit) {
+        List<SearchHitDto> hits = searchService.search(query, types, limit);
+        return ResponseEntity.ok(hits);
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Integer> rebuildIndex() {
+        int documents = searchService.rebuild();
+        return ResponseEntity.ok(documents);
+    }
+}
@@ -4,11 +4,14 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import za.ac.styling.domain.Task;
 import za.ac.styling.domain.TaskStatus;
 import za.ac.styling.dto.*;
+import za.ac.styling.service.IExportService;
 import za.ac.styling.service.ITaskService;
 
 import java.time.LocalDate;
@@ -20,6 +23,7 @@ import java.util.List;
 public class TaskController {
 
     private final ITaskService taskService;
+    private final IExportService exportService;
 
     @PostMapping
     public ResponseEntity<Task> createTask(@RequestBody Task task) {
@@ -35,6 +39,12 @@ public class TaskController {
         return new ResponseEntity<>(task, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<Task>> createTasks(@RequestBody List<@Valid TaskCreateDto> dtos) {
+        List<Task> tasks = taskService.createTasks(dtos);
+        return new ResponseEntity<>(tasks, HttpStatus.CREATED);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable Integer id) {
         return taskService.findById(id)
@@ -48,24 +58,77 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<TaskSummary>> getAllTaskSummaries() {
+        List<TaskSummary> tasks = taskService.findSummaries();
+        return ResponseEntity.ok(tasks);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDto<Task>> getTaskPage(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer size) {
+        CursorPageDto<Task> page = taskService.findPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/page", params = "view=summary")
+    public ResponseEntity<CursorPageDto<TaskSummary>> getTaskSummaryPage(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer size) {
+        CursorPageDto<TaskSummary> page = taskService.findSummaryPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        StreamingResponseBody body = exportService::exportTasks;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/page/due-date")
+    public ResponseEntity<CursorPageDto<Task>> getTaskPageByDueDate(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer size) {
+        CursorPageDto<Task> page = taskService.findPageByDueDate(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/project/{projectId}")
     public ResponseEntity<List<Task>> getTasksByProject(@PathVariable Integer projectId) {
         List<Task> tasks = taskService.findByProjectId(projectId);
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping(value = "/project/{projectId}", params = "view=summary")
+    public ResponseEntity<List<TaskSummary>> getTaskSummariesByProject(@PathVariable Integer projectId) {
+        List<TaskSummary> tasks = taskService.findSummariesByProjectId(projectId);
+        return ResponseEntity.ok(tasks);
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<Task>> getTasksByUser(@PathVariable Integer userId) {
         List<Task> tasks = taskService.findByAssignedUserId(userId);
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping(value = "/user/{userId}", params = "view=summary")
+    public ResponseEntity<List<TaskSummary>> getTaskSummariesByUser(@PathVariable Integer userId) {
+        List<TaskSummary> tasks = taskService.findSummariesByAssignedUserId(userId);
+        return ResponseEntity.ok(tasks);
+    }
+
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Task>> getTasksByStatus(@PathVariable TaskStatus status) {
         List<Task> tasks = taskService.findByStatus(status);
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping(value = "/status/{status}", params = "view=summary")
+    public ResponseEntity<List<TaskSummary>> getTaskSummariesByStatus(@PathVariable TaskStatus status) {
+        List<TaskSummary> tasks = taskService.findSummariesByStatus(status);
+        return ResponseEntity.ok(tasks);
+    }
+
     @GetMapping("/project/{projectId}/status/{status}")
     public ResponseEntity<List<Task>> getTasksByProjectAndStatus(@PathVariable Integer projectId,
                                                                   @PathVariable TaskStatus status) {
@@ -141,7 +204,7 @@ public class TaskController {
     @PutMapping("/{id}/status")
     public ResponseEntity<Void> updateTaskStatus(@PathVariable Integer id,
                                                   @Valid @RequestBody TaskStatusUpdateDto dto) {
-        taskService.updateTaskStatus(id, dto.getStatus());
+        taskService.updateTaskStatus(id, dto.getStatus(), dto.getActorUserId());
         return ResponseEntity.ok().build();
     }
 
@@ -50,6 +50,13 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDto<User>> getUserPage(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer size) {
+        CursorPageDto<User> page = userService.findPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/email/{email}")
     public ResponseEntity<User> getUserByEmail(@PathVariable String email) {
         return userService.findByEmail(email)
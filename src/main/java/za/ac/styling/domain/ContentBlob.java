@@ -0,0 +1,36 @@
+package za.ac.styling.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A file in the content-addressed store, shared by every deliverable with the same bytes.
+ * {@code referenceCount} counts those deliverables plus uploads that are about to become one; the
+ * file is removed when it drops to zero.
+ */
+@Entity
+@Table(name = "content_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentBlob {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(nullable = false)
+    private Integer referenceCount;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -10,7 +10,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "deliverables")
+@Table(name = "deliverables", indexes = {
+        @Index(name = "idx_deliverables_project_approved", columnList = "project_id, approved"),
+        @Index(name = "idx_deliverables_approved", columnList = "approved"),
+        @Index(name = "idx_deliverables_file_type", columnList = "file_type")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,8 +22,12 @@ import java.util.List;
 @Builder
 public class Deliverable {
 
+    /** {@code fileUrl} prefix of files held in the local content directory rather than elsewhere */
+    public static final String STORED_CONTENT_PREFIX = "content:";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deliverables_seq")
+    @SequenceGenerator(name = "deliverables_seq", sequenceName = "deliverables_seq", allocationSize = 50)
     private Integer deliverableId;
 
     @Column(nullable = false)
@@ -31,6 +39,11 @@ public class Deliverable {
     @Column(nullable = false)
     private String fileUrl;
 
+    private Long fileSize;
+
+    @Column(length = 64)
+    private String contentSha256;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime uploadedAt;
@@ -58,6 +71,17 @@ public class Deliverable {
         this.uploadedAt = LocalDateTime.now();
     }
 
+    /**
+     * @return the path of the stored file relative to the content directory, or {@code null} when
+     *         {@code fileUrl} points somewhere else
+     */
+    @JsonIgnore
+    public String getStoragePath() {
+        return fileUrl != null && fileUrl.startsWith(STORED_CONTENT_PREFIX)
+                ? fileUrl.substring(STORED_CONTENT_PREFIX.length())
+                : null;
+    }
+
     public void approve() {
         this.approved = true;
     }
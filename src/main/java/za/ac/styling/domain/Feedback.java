@@ -8,7 +8,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "feedbacks")
+@Table(name = "feedbacks", indexes = {
+        @Index(name = "idx_feedbacks_deliverable", columnList = "deliverable_id"),
+        @Index(name = "idx_feedbacks_user", columnList = "user_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +20,8 @@ import java.time.LocalDateTime;
 public class Feedback {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feedbacks_seq")
+    @SequenceGenerator(name = "feedbacks_seq", sequenceName = "feedbacks_seq", allocationSize = 50)
     private Integer feedbackId;
 
     @Column(nullable = false, columnDefinition = "TEXT")
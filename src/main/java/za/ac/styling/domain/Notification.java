@@ -3,12 +3,17 @@ package za.ac.styling.domain;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_read_sent", columnList = "user_id, is_read, sent_at"),
+        @Index(name = "idx_notifications_user_last_event", columnList = "user_id, last_event_at, notification_id"),
+        @Index(name = "idx_notifications_type_read_sent", columnList = "type, is_read, sent_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +22,8 @@ import java.time.LocalDateTime;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Integer notificationId;
 
     @Column(nullable = false)
@@ -35,6 +41,21 @@ public class Notification {
     @Column(nullable = false, updatable = false)
     private LocalDateTime sentAt;
 
+    // Set for notifications about a project; part of the coalescing key
+    private Integer projectId;
+
+    // Events merged into this row while it was unread, counting the first
+    @Column(nullable = false)
+    @ColumnDefault("1")
+    @Builder.Default
+    private Integer eventCount = 1;
+
+    // When the latest merged event arrived; inbox lists are ordered by it, so a merged row moves up.
+    // Always set by the application; the NOT NULL constraint is added by
+    // db/manual/<database>/006_notification_last_event_order.sql once older rows are backfilled
+    @CreationTimestamp
+    private LocalDateTime lastEventAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnore
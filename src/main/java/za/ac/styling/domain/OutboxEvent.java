@@ -0,0 +1,57 @@
+package za.ac.styling.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A project event waiting to be turned into notifications. Written in the transaction that made
+ * the change, and deleted in the transaction that creates the notifications, so every committed
+ * change notifies exactly once.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Column(nullable = false)
+    private Integer projectId;
+
+    /** The member who caused the event, when known; they are not notified about it */
+    private Integer actorUserId;
+
+    @Column(nullable = false)
+    private String message;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Failed attempts to relay this event on its own
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(length = 500)
+    private String lastError;
+
+    /** Set once the event has failed too often; it is kept for inspection but no longer relayed */
+    private LocalDateTime failedAt;
+}
@@ -0,0 +1,70 @@
+package za.ac.styling.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Queued preview rendering for one deliverable. Rows are written in the transaction that creates
+ * the deliverable and claimed by workers with a conditional update, so a job survives restarts and
+ * runs on one instance at a time. The rendered files are shared by every job for the same content.
+ */
+@Entity
+@Table(name = "preview_jobs", indexes = {
+        @Index(name = "idx_preview_jobs_status_available_at", columnList = "status, available_at"),
+        @Index(name = "idx_preview_jobs_deliverable", columnList = "deliverable_id"),
+        @Index(name = "idx_preview_jobs_sha256", columnList = "sha256")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PreviewJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "preview_jobs_seq")
+    @SequenceGenerator(name = "preview_jobs_seq", sequenceName = "preview_jobs_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Integer deliverableId;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private String storagePath;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private PreviewStatus status = PreviewStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /** Image format of the rendered files, {@code png} or {@code jpeg}, once READY */
+    @Column(length = 8)
+    private String format;
+
+    @Column(length = 500)
+    private String lastError;
+
+    /** Not picked up before this time; pushed back after a failed attempt */
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,14 @@
+package za.ac.styling.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum PreviewSize {
+    THUMBNAIL(256),
+    PREVIEW(1024);
+
+    /** Longest side in pixels; smaller sources are not enlarged */
+    private final int maxDimension;
+}
@@ -0,0 +1,8 @@
+package za.ac.styling.domain;
+
+public enum PreviewStatus {
+    PENDING,
+    RUNNING,
+    READY,
+    FAILED
+}
@@ -5,7 +5,14 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "project_users")
+@Table(name = "project_users",
+        uniqueConstraints = @UniqueConstraint(name = "uk_project_users_project_user", columnNames = {"project_id", "user_id"}),
+        indexes = {
+                @Index(name = "idx_project_users_user", columnList = "user_id"),
+                @Index(name = "idx_project_users_project_role", columnList = "project_id, role")
+        })
+@NamedEntityGraph(name = ProjectUser.WITH_USER_AND_PROJECT,
+        attributeNodes = {@NamedAttributeNode("user"), @NamedAttributeNode("project")})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -13,8 +20,12 @@ import lombok.*;
 @Builder
 public class ProjectUser {
 
+    /** Members are serialized with their user and project, so listings load both in the same query */
+    public static final String WITH_USER_AND_PROJECT = "ProjectUser.withUserAndProject";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_users_seq")
+    @SequenceGenerator(name = "project_users_seq", sequenceName = "project_users_seq", allocationSize = 50)
     private Integer id;
 
     @Enumerated(EnumType.STRING)
@@ -23,12 +34,12 @@ public class ProjectUser {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
-    @JsonIgnoreProperties({"projectUsers", "notifications", "feedbacks", "password"})
+    @JsonIgnoreProperties({"projectUsers", "notifications", "feedbacks", "password", "hibernateLazyInitializer"})
     private User user;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
-    @JsonIgnoreProperties({"projectUsers", "tasks", "deliverables"})
+    @JsonIgnoreProperties({"projectUsers", "tasks", "deliverables", "hibernateLazyInitializer"})
     private Project project;
 
     public void changeAccessRole(ProjectAccessRole newRole) {
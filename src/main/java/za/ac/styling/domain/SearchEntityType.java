@@ -0,0 +1,8 @@
+package za.ac.styling.domain;
+
+public enum SearchEntityType {
+    PROJECT,
+    TASK,
+    USER,
+    DELIVERABLE
+}
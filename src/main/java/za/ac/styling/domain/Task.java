@@ -7,7 +7,12 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_project_status", columnList = "project_id, status"),
+        @Index(name = "idx_tasks_assigned_status", columnList = "assigned_to_id, status"),
+        @Index(name = "idx_tasks_status", columnList = "status"),
+        @Index(name = "idx_tasks_due_date", columnList = "due_date, task_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +21,8 @@ import java.time.LocalDate;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Integer taskId;
 
     @Column(nullable = false)
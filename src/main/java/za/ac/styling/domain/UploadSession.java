@@ -0,0 +1,56 @@
+package za.ac.styling.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A chunked upload in progress. The bytes received so far live in a part file under the content
+ * directory; {@code receivedBytes} is the offset the next chunk must start at.
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = {
+        @Index(name = "idx_upload_sessions_updated_at", columnList = "updated_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+
+    @Id
+    @Column(length = 36)
+    private String uploadId;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false)
+    private String fileType;
+
+    @Column(nullable = false)
+    private Integer projectId;
+
+    private Integer taskId;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long receivedBytes = 0L;
+
+    /** SHA-256 of the whole file as announced by the client, checked on completion */
+    @Column(length = 64)
+    private String sha256;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
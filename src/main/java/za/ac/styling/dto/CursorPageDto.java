@@ -0,0 +1,37 @@
+package za.ac.styling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    private List<T> items;
+
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    /**
+     * Builds a page from a keyset query that fetched {@code size + 1} rows. The extra row only
+     * signals that another page exists; it is dropped and the cursor points at the last kept row.
+     */
+    public static <T> CursorPageDto<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        List<T> items = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return CursorPageDto.<T>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package za.ac.styling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+
+/**
+ * Where to read a deliverable's bytes from: a stored file, or {@code externalUrl} for deliverables
+ * that were registered with a link instead of uploaded.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliverableContentDto {
+
+    private Path file;
+
+    private long size;
+
+    private long lastModified;
+
+    private String etag;
+
+    private String contentType;
+
+    private String fileName;
+
+    private String externalUrl;
+}
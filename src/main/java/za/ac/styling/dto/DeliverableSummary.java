@@ -0,0 +1,21 @@
+package za.ac.styling.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closed projection of a deliverable for list views.
+ */
+public interface DeliverableSummary {
+
+    Integer getDeliverableId();
+
+    String getFileName();
+
+    String getFileType();
+
+    Boolean getApproved();
+
+    LocalDateTime getUploadedAt();
+
+    Integer getTaskId();
+}
@@ -22,4 +22,6 @@ public class NotificationCreateDto {
 
     @NotNull(message = "User ID is required")
     private Integer userId;
+
+    private Integer projectId;
 }
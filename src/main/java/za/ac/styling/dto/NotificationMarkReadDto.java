@@ -0,0 +1,17 @@
+package za.ac.styling.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationMarkReadDto {
+
+    @NotNull(message = "Notification ID is required")
+    private Integer notificationId;
+}
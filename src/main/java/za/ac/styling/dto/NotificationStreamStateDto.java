@@ -0,0 +1,17 @@
+package za.ac.styling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationStreamStateDto {
+
+    private long unreadCount;
+
+    private long droppedNotifications;
+}
@@ -0,0 +1,26 @@
+package za.ac.styling.dto;
+
+import za.ac.styling.domain.NotificationType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closed projection of a notification for inbox lists; read as plain values rather than managed
+ * entities.
+ */
+public interface NotificationSummary {
+
+    Integer getNotificationId();
+
+    String getMessage();
+
+    NotificationType getType();
+
+    Boolean getIsRead();
+
+    LocalDateTime getSentAt();
+
+    LocalDateTime getLastEventAt();
+
+    Integer getEventCount();
+}
@@ -0,0 +1,19 @@
+package za.ac.styling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreviewDto {
+
+    private byte[] content;
+
+    private String contentType;
+
+    private String etag;
+}
@@ -15,4 +15,7 @@ public class ProjectStatusUpdateDto {
 
     @NotNull(message = "Status is required")
     private ProjectStatus status;
+
+    // Optional; the user making the change, who is not notified of it
+    private Integer actorUserId;
 }
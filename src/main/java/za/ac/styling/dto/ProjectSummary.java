@@ -0,0 +1,26 @@
+package za.ac.styling.dto;
+
+import za.ac.styling.domain.ProjectStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Closed projection of a project for list views: selects only these columns, leaving out the TEXT
+ * description.
+ */
+public interface ProjectSummary {
+
+    Integer getProjectId();
+
+    Integer getClientId();
+
+    String getTitle();
+
+    ProjectStatus getStatus();
+
+    Double getProgress();
+
+    LocalDate getStartDate();
+
+    LocalDate getDueDate();
+}
@@ -0,0 +1,22 @@
+package za.ac.styling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import za.ac.styling.domain.SearchEntityType;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDto {
+
+    private SearchEntityType type;
+
+    private Integer id;
+
+    private String label;
+
+    private double score;
+}
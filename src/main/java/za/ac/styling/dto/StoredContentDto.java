@@ -0,0 +1,22 @@
+package za.ac.styling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A file held in the local content directory, identified by its path relative to that directory.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredContentDto {
+
+    private String storagePath;
+
+    private long size;
+
+    private String sha256;
+}
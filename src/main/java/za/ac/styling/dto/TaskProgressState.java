@@ -0,0 +1,14 @@
+package za.ac.styling.dto;
+
+import za.ac.styling.domain.TaskStatus;
+
+/**
+ * The committed project and status of a task, which together decide the project counters it is
+ * counted in.
+ */
+public interface TaskProgressState {
+
+    Integer getProjectId();
+
+    TaskStatus getStatus();
+}
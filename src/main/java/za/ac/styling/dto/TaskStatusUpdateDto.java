@@ -15,4 +15,7 @@ public class TaskStatusUpdateDto {
 
     @NotNull(message = "Status is required")
     private TaskStatus status;
+
+    // Optional; the user making the change, who is not notified of it
+    private Integer actorUserId;
 }
@@ -0,0 +1,22 @@
+package za.ac.styling.dto;
+
+import za.ac.styling.domain.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Closed projection of a task for list views: selects only these columns, leaving out the TEXT
+ * description, deliverable and notes.
+ */
+public interface TaskSummary {
+
+    Integer getTaskId();
+
+    String getTitle();
+
+    TaskStatus getStatus();
+
+    Integer getAssignedToId();
+
+    LocalDate getDueDate();
+}
@@ -0,0 +1,31 @@
+package za.ac.styling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountCacheStatsDto {
+
+    private long size;
+
+    private long hits;
+
+    private long misses;
+
+    private double hitRate;
+
+    private long evictions;
+
+    private long checkedUsers;
+
+    private long mismatches;
+
+    private LocalDateTime lastCheckedAt;
+}
@@ -0,0 +1,25 @@
+package za.ac.styling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDto {
+
+    private String uploadId;
+
+    private String fileName;
+
+    private long size;
+
+    /** Where the next chunk starts; equal to {@code size} once every chunk has arrived */
+    private long offset;
+
+    /** Set when the content was already stored, so the deliverable was created without any chunks */
+    private Integer deliverableId;
+}
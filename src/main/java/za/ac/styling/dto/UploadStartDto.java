@@ -0,0 +1,35 @@
+package za.ac.styling.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadStartDto {
+
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    @NotBlank(message = "File type is required")
+    private String fileType;
+
+    @NotNull(message = "Project ID is required")
+    private Integer projectId;
+
+    private Integer taskId;
+
+    @NotNull(message = "File size is required")
+    @PositiveOrZero(message = "File size must not be negative")
+    private Long size;
+
+    @Pattern(regexp = "[0-9a-fA-F]{64}", message = "SHA-256 must be 64 hex characters")
+    private String sha256;
+}
@@ -30,6 +30,12 @@ public class NotificationFactory {
         return notification;
     }
 
+    public static Notification createNotification(String message, NotificationType type, User user, Integer projectId) {
+        Notification notification = createNotification(message, type, user);
+        notification.setProjectId(projectId);
+        return notification;
+    }
+
     public static boolean validateNotification(Notification notification) {
         return ValidationHelper.validateNotification(notification);
     }
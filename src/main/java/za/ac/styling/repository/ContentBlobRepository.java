@@ -0,0 +1,37 @@
+package za.ac.styling.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import za.ac.styling.domain.ContentBlob;
+
+@Repository
+public interface ContentBlobRepository extends JpaRepository<ContentBlob, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ContentBlob b SET b.referenceCount = b.referenceCount + 1 WHERE b.sha256 = :sha256")
+    int addReference(@Param("sha256") String sha256);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ContentBlob b SET b.referenceCount = b.referenceCount + 1 " +
+            "WHERE b.sha256 = :sha256 AND b.size = :size")
+    int addReference(@Param("sha256") String sha256, @Param("size") long size);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ContentBlob b SET b.referenceCount = b.referenceCount - 1 " +
+            "WHERE b.sha256 = :sha256 AND b.referenceCount > 0")
+    int removeReference(@Param("sha256") String sha256);
+
+    // Called after the releasing transaction has committed, so it needs a transaction of its own
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("DELETE FROM ContentBlob b WHERE b.sha256 = :sha256 AND b.referenceCount = 0")
+    int deleteUnreferenced(@Param("sha256") String sha256);
+}
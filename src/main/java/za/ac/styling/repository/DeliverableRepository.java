@@ -1,10 +1,18 @@
 package za.ac.styling.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import za.ac.styling.domain.Deliverable;
+import za.ac.styling.dto.DeliverableSummary;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface DeliverableRepository extends JpaRepository<Deliverable, Integer> {
@@ -17,5 +25,23 @@ public interface DeliverableRepository extends JpaRepository<Deliverable, Intege
 
     List<Deliverable> findByFileType(String fileType);
 
-    List<Deliverable> findByFileNameContainingIgnoreCase(String fileName);
+    List<Deliverable> findByDeliverableIdGreaterThanOrderByDeliverableIdAsc(Integer deliverableId, Limit limit);
+
+    List<DeliverableSummary> findSummariesBy();
+
+    List<DeliverableSummary> findSummariesByProjectProjectId(Integer projectId);
+
+    List<DeliverableSummary> findSummariesByDeliverableIdGreaterThanOrderByDeliverableIdAsc(Integer deliverableId,
+                                                                                            Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM Deliverable d ORDER BY d.deliverableId")
+    Stream<Deliverable> streamAll();
+
+    @Query("SELECT d.contentSha256 FROM Deliverable d WHERE d.project.projectId = :projectId " +
+            "AND d.fileUrl LIKE 'content:%' AND d.contentSha256 IS NOT NULL")
+    List<String> findStoredContentSha256ByProjectId(@Param("projectId") Integer projectId);
 }
@@ -1,5 +1,6 @@
 package za.ac.styling.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import za.ac.styling.domain.Feedback;
@@ -14,4 +15,6 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Integer> {
     List<Feedback> findByUserUserId(Integer userId);
 
     List<Feedback> findByDeliverableProjectProjectId(Integer projectId);
+
+    List<Feedback> findByFeedbackIdGreaterThanOrderByFeedbackIdAsc(Integer feedbackId, Limit limit);
 }
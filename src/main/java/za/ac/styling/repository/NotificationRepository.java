@@ -1,10 +1,17 @@
 package za.ac.styling.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import za.ac.styling.domain.Notification;
 import za.ac.styling.domain.NotificationType;
+import za.ac.styling.dto.NotificationSummary;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,7 +23,58 @@ public interface NotificationRepository extends JpaRepository<Notification, Inte
 
     List<Notification> findByType(NotificationType type);
 
-    List<Notification> findByUserUserIdOrderBySentAtDesc(Integer userId);
+    List<Notification> findByUserUserIdOrderByLastEventAtDescNotificationIdDesc(Integer userId);
 
     long countByUserUserIdAndIsRead(Integer userId, Boolean isRead);
+
+    List<Notification> findByNotificationIdGreaterThanOrderByNotificationIdAsc(Integer notificationId, Limit limit);
+
+    List<Notification> findByUserUserIdOrderByLastEventAtDescNotificationIdDesc(Integer userId, Limit limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.userId = :userId " +
+            "AND (n.lastEventAt < :lastEventAt OR (n.lastEventAt = :lastEventAt AND n.notificationId < :notificationId)) " +
+            "ORDER BY n.lastEventAt DESC, n.notificationId DESC")
+    List<Notification> findUserPageBefore(@Param("userId") Integer userId, @Param("lastEventAt") LocalDateTime lastEventAt,
+                                          @Param("notificationId") Integer notificationId, Limit limit);
+
+    List<NotificationSummary> findSummariesByUserUserId(Integer userId);
+
+    List<NotificationSummary> findSummariesByUserUserIdOrderByLastEventAtDescNotificationIdDesc(Integer userId, Limit limit);
+
+    @Query("SELECT n.notificationId AS notificationId, n.message AS message, n.type AS type, n.isRead AS isRead, " +
+            "n.sentAt AS sentAt, n.lastEventAt AS lastEventAt, n.eventCount AS eventCount FROM Notification n " +
+            "WHERE n.user.userId = :userId " +
+            "AND (n.lastEventAt < :lastEventAt OR (n.lastEventAt = :lastEventAt AND n.notificationId < :notificationId)) " +
+            "ORDER BY n.lastEventAt DESC, n.notificationId DESC")
+    List<NotificationSummary> findUserSummaryPageBefore(@Param("userId") Integer userId,
+                                                        @Param("lastEventAt") LocalDateTime lastEventAt,
+                                                        @Param("notificationId") Integer notificationId, Limit limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.userId IN :userIds AND n.type IN :types " +
+            "AND n.isRead = false AND n.lastEventAt >= :since ORDER BY n.lastEventAt DESC")
+    List<Notification> findCoalescingCandidates(@Param("userIds") Collection<Integer> userIds,
+                                                @Param("types") Collection<NotificationType> types,
+                                                @Param("since") LocalDateTime since);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Notification n SET n.eventCount = :eventCount, n.message = :message, n.lastEventAt = :lastEventAt " +
+            "WHERE n.notificationId = :notificationId AND n.eventCount = :expectedEventCount AND n.isRead = false")
+    int coalesce(@Param("notificationId") Integer notificationId, @Param("expectedEventCount") Integer expectedEventCount,
+                 @Param("eventCount") Integer eventCount, @Param("message") String message,
+                 @Param("lastEventAt") LocalDateTime lastEventAt);
+
+    @Query("SELECT n.notificationId FROM Notification n " +
+            "WHERE n.type = :type AND n.isRead = true AND n.sentAt < :sentBefore")
+    List<Integer> findReadIdsSentBefore(@Param("type") NotificationType type,
+                                        @Param("sentBefore") LocalDateTime sentBefore, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.userId = :userId AND n.isRead = false")
+    int markAllAsReadByUserId(@Param("userId") Integer userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.userId = :userId AND n.isRead = false " +
+            "AND (n.lastEventAt < :lastEventAt OR (n.lastEventAt = :lastEventAt AND n.notificationId <= :notificationId))")
+    int markAsReadUpTo(@Param("userId") Integer userId, @Param("lastEventAt") LocalDateTime lastEventAt,
+                       @Param("notificationId") Integer notificationId);
 }
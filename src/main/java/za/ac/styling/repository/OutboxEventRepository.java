@@ -0,0 +1,43 @@
+package za.ac.styling.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import za.ac.styling.domain.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SELECT ... FOR UPDATE SKIP LOCKED: concurrent relays take disjoint batches. -2 is Hibernate's
+    // lock timeout for SKIP LOCKED (the LockOptions.SKIP_LOCKED constant is deprecated)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    List<OutboxEvent> findByFailedAtIsNullOrderByIdAsc(Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    Optional<OutboxEvent> findByIdAndFailedAtIsNull(Long id);
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.failedAt IS NULL ORDER BY e.id")
+    List<Long> findPendingIds(Limit limit);
+
+    long countByFailedAtIsNull();
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, " +
+            "e.failedAt = CASE WHEN e.attempts + 1 >= :maxAttempts THEN :now ELSE e.failedAt END WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error, @Param("maxAttempts") int maxAttempts,
+                      @Param("now") LocalDateTime now);
+}
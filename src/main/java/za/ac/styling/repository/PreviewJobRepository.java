@@ -0,0 +1,70 @@
+package za.ac.styling.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import za.ac.styling.domain.PreviewJob;
+import za.ac.styling.domain.PreviewStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PreviewJobRepository extends JpaRepository<PreviewJob, Long> {
+
+    List<PreviewJob> findByStatusAndAvailableAtLessThanEqualOrderByAvailableAtAsc(PreviewStatus status,
+                                                                                LocalDateTime now, Limit limit);
+
+    Optional<PreviewJob> findFirstBySha256AndStatus(String sha256, PreviewStatus status);
+
+    boolean existsBySha256(String sha256);
+
+    @Query("SELECT j FROM PreviewJob j WHERE j.deliverableId = :deliverableId AND j.status = :status " +
+            "AND EXISTS (SELECT d FROM Deliverable d WHERE d.deliverableId = j.deliverableId)")
+    Optional<PreviewJob> findByDeliverableIdAndStatus(@Param("deliverableId") Integer deliverableId,
+                                                      @Param("status") PreviewStatus status);
+
+    @Query("SELECT j FROM PreviewJob j " +
+            "WHERE NOT EXISTS (SELECT d FROM Deliverable d WHERE d.deliverableId = j.deliverableId)")
+    List<PreviewJob> findOrphaned(Limit limit);
+
+    // The claim and status updates run in their own transactions: workers render outside one
+    @Transactional
+    @Modifying
+    @Query("UPDATE PreviewJob j SET j.status = za.ac.styling.domain.PreviewStatus.RUNNING, " +
+            "j.attempts = j.attempts + 1, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = za.ac.styling.domain.PreviewStatus.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PreviewJob j SET j.status = :status, j.format = :format, j.lastError = :lastError, " +
+            "j.availableAt = :availableAt, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = za.ac.styling.domain.PreviewStatus.RUNNING")
+    int finish(@Param("id") Long id, @Param("status") PreviewStatus status, @Param("format") String format,
+               @Param("lastError") String lastError, @Param("availableAt") LocalDateTime availableAt,
+               @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PreviewJob j SET j.status = za.ac.styling.domain.PreviewStatus.PENDING, j.updatedAt = :now " +
+            "WHERE j.status = za.ac.styling.domain.PreviewStatus.RUNNING AND j.updatedAt < :cutoff " +
+            "AND j.attempts < :maxAttempts")
+    int requeueStale(@Param("cutoff") LocalDateTime cutoff, @Param("maxAttempts") int maxAttempts,
+                     @Param("now") LocalDateTime now);
+
+    // Stale jobs that already used their last attempt; claim() counts the attempt that timed out
+    @Transactional
+    @Modifying
+    @Query("UPDATE PreviewJob j SET j.status = za.ac.styling.domain.PreviewStatus.FAILED, " +
+            "j.lastError = :lastError, j.updatedAt = :now " +
+            "WHERE j.status = za.ac.styling.domain.PreviewStatus.RUNNING AND j.updatedAt < :cutoff " +
+            "AND j.attempts >= :maxAttempts")
+    int failStale(@Param("cutoff") LocalDateTime cutoff, @Param("maxAttempts") int maxAttempts,
+                  @Param("lastError") String lastError, @Param("now") LocalDateTime now);
+}
@@ -1,25 +1,99 @@
 package za.ac.styling.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import za.ac.styling.domain.Project;
 import za.ac.styling.domain.ProjectStatus;
+import za.ac.styling.dto.ProjectSummary;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Integer> {
 
+    String TASK_COUNTS_SPACE = "project_task_counts";
+
     List<Project> findByClientId(Integer clientId);
 
     List<Project> findByStatus(ProjectStatus status);
 
-    List<Project> findByTitleContainingIgnoreCase(String title);
-
     List<Project> findByDueDateBefore(LocalDate date);
 
     List<Project> findByDueDateBetween(LocalDate startDate, LocalDate endDate);
 
     List<Project> findByClientIdAndStatus(Integer clientId, ProjectStatus status);
+
+    List<Project> findByProjectIdGreaterThanOrderByProjectIdAsc(Integer projectId, Limit limit);
+
+    List<Project> findByDueDateNotNullOrderByDueDateAscProjectIdAsc(Limit limit);
+
+    List<ProjectSummary> findSummariesBy();
+
+    List<ProjectSummary> findSummariesByClientId(Integer clientId);
+
+    List<ProjectSummary> findSummariesByStatus(ProjectStatus status);
+
+    List<ProjectSummary> findSummariesByProjectIdGreaterThanOrderByProjectIdAsc(Integer projectId, Limit limit);
+
+    @Query("SELECT p FROM Project p WHERE p.dueDate > :dueDate OR (p.dueDate = :dueDate AND p.projectId > :projectId) " +
+            "ORDER BY p.dueDate ASC, p.projectId ASC")
+    List<Project> findDueDatePageAfter(@Param("dueDate") LocalDate dueDate, @Param("projectId") Integer projectId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Project p ORDER BY p.projectId")
+    Stream<Project> streamAll();
+
+    // Native, with a query space of its own: an HQL update would clear every cached Project, while
+    // this leaves the second-level cache alone and the caller evicts the one project it touched
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = TASK_COUNTS_SPACE))
+    @Query(value = "UPDATE projects SET not_started_task_count = not_started_task_count + :notStarted, " +
+            "in_progress_task_count = in_progress_task_count + :inProgress, " +
+            "done_task_count = done_task_count + :done WHERE project_id = :projectId", nativeQuery = true)
+    int adjustTaskCounts(@Param("projectId") Integer projectId, @Param("notStarted") int notStarted,
+                         @Param("inProgress") int inProgress, @Param("done") int done);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Project p SET p.notStartedTaskCount = :notStarted, p.inProgressTaskCount = :inProgress, " +
+            "p.doneTaskCount = :done WHERE p.projectId = :projectId")
+    int setTaskCounts(@Param("projectId") Integer projectId, @Param("notStarted") int notStarted,
+                      @Param("inProgress") int inProgress, @Param("done") int done);
+
+    // Holds every project row until commit, so counter adjustments wait for a rebuild to finish
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.projectId FROM Project p ORDER BY p.projectId")
+    List<Integer> lockAllForUpdate();
+
+    @Modifying
+    @Query("UPDATE Project p SET p.notStartedTaskCount = 0, p.inProgressTaskCount = 0, p.doneTaskCount = 0")
+    int resetTaskCounts();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = TASK_COUNTS_SPACE))
+    @Query(value = "UPDATE projects SET progress = CASE " +
+            "WHEN (not_started_task_count + in_progress_task_count + done_task_count) > 0 " +
+            "THEN done_task_count * 100.0 / (not_started_task_count + in_progress_task_count + done_task_count) " +
+            "ELSE 0.0 END WHERE project_id = :projectId", nativeQuery = true)
+    int refreshProgress(@Param("projectId") Integer projectId);
+
+    @Modifying
+    @Query("UPDATE Project p SET p.progress = CASE " +
+            "WHEN (p.notStartedTaskCount + p.inProgressTaskCount + p.doneTaskCount) > 0 " +
+            "THEN p.doneTaskCount * 100.0 / (p.notStartedTaskCount + p.inProgressTaskCount + p.doneTaskCount) " +
+            "ELSE 0.0 END")
+    int refreshAllProgress();
 }
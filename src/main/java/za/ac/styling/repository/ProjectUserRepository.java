@@ -1,25 +1,59 @@
 package za.ac.styling.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import za.ac.styling.domain.ProjectAccessRole;
 import za.ac.styling.domain.ProjectUser;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProjectUserRepository extends JpaRepository<ProjectUser, Integer> {
 
+    @Override
+    @EntityGraph(ProjectUser.WITH_USER_AND_PROJECT)
+    List<ProjectUser> findAll();
+
+    @EntityGraph(ProjectUser.WITH_USER_AND_PROJECT)
+    Optional<ProjectUser> findWithUserAndProjectById(Integer id);
+
+    @EntityGraph(ProjectUser.WITH_USER_AND_PROJECT)
     List<ProjectUser> findByProjectProjectId(Integer projectId);
 
+    @EntityGraph(ProjectUser.WITH_USER_AND_PROJECT)
     List<ProjectUser> findByUserUserId(Integer userId);
 
     Optional<ProjectUser> findByProjectProjectIdAndUserUserId(Integer projectId, Integer userId);
 
+    @EntityGraph(ProjectUser.WITH_USER_AND_PROJECT)
+    Optional<ProjectUser> findWithUserAndProjectByProjectProjectIdAndUserUserId(Integer projectId, Integer userId);
+
+    @EntityGraph(ProjectUser.WITH_USER_AND_PROJECT)
     List<ProjectUser> findByRole(ProjectAccessRole role);
 
+    @EntityGraph(ProjectUser.WITH_USER_AND_PROJECT)
     List<ProjectUser> findByProjectProjectIdAndRole(Integer projectId, ProjectAccessRole role);
 
     boolean existsByProjectProjectIdAndUserUserId(Integer projectId, Integer userId);
+
+    @Query("SELECT pu.role FROM ProjectUser pu WHERE pu.project.projectId = :projectId AND pu.user.userId = :userId")
+    Optional<ProjectAccessRole> findRoleByProjectIdAndUserId(@Param("projectId") Integer projectId,
+                                                             @Param("userId") Integer userId);
+
+    @Query("SELECT pu.project.projectId, pu.user.userId FROM ProjectUser pu " +
+            "WHERE pu.project.projectId IN :projectIds AND pu.user.userId IN :userIds")
+    List<Object[]> findMembershipPairs(@Param("projectIds") Collection<Integer> projectIds,
+                                       @Param("userIds") Collection<Integer> userIds);
+
+    @Query("SELECT pu.project.projectId, pu.user.userId FROM ProjectUser pu WHERE pu.project.projectId IN :projectIds")
+    List<Object[]> findMemberPairs(@Param("projectIds") Collection<Integer> projectIds);
+
+    @EntityGraph(ProjectUser.WITH_USER_AND_PROJECT)
+    List<ProjectUser> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
 }
@@ -1,12 +1,24 @@
 package za.ac.styling.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import za.ac.styling.domain.Task;
 import za.ac.styling.domain.TaskStatus;
+import za.ac.styling.dto.TaskProgressState;
+import za.ac.styling.dto.TaskSummary;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Integer> {
@@ -23,5 +35,37 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
 
     List<Task> findByAssignedToIdAndStatus(Integer userId, TaskStatus status);
 
-    List<Task> findByTitleContainingIgnoreCase(String title);
+    List<Task> findByTaskIdGreaterThanOrderByTaskIdAsc(Integer taskId, Limit limit);
+
+    List<Task> findByDueDateNotNullOrderByDueDateAscTaskIdAsc(Limit limit);
+
+    List<TaskSummary> findSummariesBy();
+
+    List<TaskSummary> findSummariesByProjectProjectId(Integer projectId);
+
+    List<TaskSummary> findSummariesByAssignedToId(Integer userId);
+
+    List<TaskSummary> findSummariesByStatus(TaskStatus status);
+
+    List<TaskSummary> findSummariesByTaskIdGreaterThanOrderByTaskIdAsc(Integer taskId, Limit limit);
+
+    @Query("SELECT t FROM Task t WHERE t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.taskId > :taskId) " +
+            "ORDER BY t.dueDate ASC, t.taskId ASC")
+    List<Task> findDueDatePageAfter(@Param("dueDate") LocalDate dueDate, @Param("taskId") Integer taskId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t ORDER BY t.taskId")
+    Stream<Task> streamAll();
+
+    // Locks the row so concurrent transitions of one task are counted one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT t.project.projectId AS projectId, t.status AS status FROM Task t WHERE t.taskId = :taskId")
+    Optional<TaskProgressState> findProgressStateForUpdate(@Param("taskId") Integer taskId);
+
+    @Query("SELECT t.project.projectId, t.status, COUNT(t) FROM Task t GROUP BY t.project.projectId, t.status")
+    List<Object[]> countByProjectAndStatus();
 }
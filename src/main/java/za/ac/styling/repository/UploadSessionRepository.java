@@ -0,0 +1,27 @@
+package za.ac.styling.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import za.ac.styling.domain.UploadSession;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    // Runs in its own transaction: chunks are written outside one so no connection is held during I/O
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.receivedBytes = :receivedBytes, s.updatedAt = :updatedAt " +
+            "WHERE s.uploadId = :uploadId AND s.receivedBytes = :expectedBytes")
+    int advance(@Param("uploadId") String uploadId, @Param("expectedBytes") long expectedBytes,
+                @Param("receivedBytes") long receivedBytes, @Param("updatedAt") LocalDateTime updatedAt);
+
+    List<UploadSession> findByUpdatedAtBeforeOrderByUpdatedAtAsc(LocalDateTime cutoff, Limit limit);
+}
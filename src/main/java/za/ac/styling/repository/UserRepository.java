@@ -1,23 +1,40 @@
 package za.ac.styling.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import za.ac.styling.domain.User;
 import za.ac.styling.domain.UserRole;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-by-email")
+    })
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
     List<User> findByRole(UserRole role);
 
-    List<User> findByNameContainingIgnoreCase(String name);
-
     List<User> findByCompanyName(String companyName);
+
+    List<User> findByUserIdGreaterThanOrderByUserIdAsc(Integer userId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.userId")
+    Stream<User> streamAll();
 }
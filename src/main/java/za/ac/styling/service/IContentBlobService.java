@@ -0,0 +1,26 @@
+package za.ac.styling.service;
+
+import za.ac.styling.dto.StoredContentDto;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface IContentBlobService {
+
+    /**
+     * Takes ownership of {@code file} and returns the stored content with one reference added. When
+     * the same bytes are already stored, {@code file} is deleted and the existing copy is used.
+     */
+    StoredContentDto put(Path file, String sha256, long size);
+
+    /**
+     * Adds a reference to already stored content, or returns empty when nothing with that hash and
+     * size is stored.
+     */
+    Optional<StoredContentDto> reference(String sha256, long size);
+
+    /** Drops a reference; the file is deleted once the last one is gone and the transaction commits. */
+    void release(String sha256);
+
+    Path resolve(String storagePath);
+}
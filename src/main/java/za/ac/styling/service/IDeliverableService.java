@@ -1,8 +1,13 @@
 package za.ac.styling.service;
 
 import za.ac.styling.domain.Deliverable;
+import za.ac.styling.dto.CursorPageDto;
+import za.ac.styling.dto.DeliverableContentDto;
+import za.ac.styling.dto.DeliverableSummary;
+import za.ac.styling.dto.StoredContentDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface IDeliverableService extends IService<Deliverable, Integer> {
 
@@ -16,7 +21,17 @@ public interface IDeliverableService extends IService<Deliverable, Integer> {
 
     List<Deliverable> searchByFileName(String fileName);
 
+    List<DeliverableSummary> findSummaries();
+
+    List<DeliverableSummary> findSummariesByProjectId(Integer projectId);
+
+    CursorPageDto<DeliverableSummary> findSummaryPage(String cursor, Integer size);
+
+    Optional<DeliverableContentDto> findContent(Integer deliverableId);
+
     void approveDeliverable(Integer deliverableId);
 
     Deliverable uploadDeliverable(String fileName, String fileType, String fileUrl, Integer projectId, Integer taskId);
+
+    Deliverable uploadDeliverable(String fileName, String fileType, StoredContentDto content, Integer projectId, Integer taskId);
 }
@@ -0,0 +1,26 @@
+package za.ac.styling.service;
+
+import za.ac.styling.domain.Deliverable;
+import za.ac.styling.dto.UploadSessionDto;
+import za.ac.styling.dto.UploadStartDto;
+
+import java.io.InputStream;
+
+public interface IDeliverableUploadService {
+
+    UploadSessionDto startUpload(UploadStartDto dto);
+
+    UploadSessionDto getUpload(String uploadId);
+
+    /**
+     * Appends one chunk at {@code offset}, which must equal the bytes received so far. A chunk whose
+     * SHA-256 does not match {@code sha256} is discarded and can be sent again.
+     */
+    UploadSessionDto appendChunk(String uploadId, long offset, String sha256, InputStream content);
+
+    Deliverable completeUpload(String uploadId);
+
+    void abortUpload(String uploadId);
+
+    int purgeExpiredUploads();
+}
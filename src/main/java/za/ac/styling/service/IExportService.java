@@ -0,0 +1,13 @@
+package za.ac.styling.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IExportService {
+
+    long exportTasks(OutputStream out) throws IOException;
+
+    long exportProjects(OutputStream out) throws IOException;
+
+    long exportDeliverables(OutputStream out) throws IOException;
+}
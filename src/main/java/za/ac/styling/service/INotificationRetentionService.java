@@ -0,0 +1,16 @@
+package za.ac.styling.service;
+
+public interface INotificationRetentionService {
+
+    /**
+     * Deletes read notifications older than their type's TTL in batches, up to the per-run batch
+     * limit, and returns how many were deleted.
+     */
+    int purgeExpiredNotifications();
+
+    /**
+     * Creates upcoming monthly partitions and drops expired ones when partitioning is enabled and the
+     * table is partitioned. Returns the number of partitions dropped.
+     */
+    int maintainPartitions();
+}
@@ -1,7 +1,12 @@
 package za.ac.styling.service;
 
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
 import za.ac.styling.domain.Notification;
 import za.ac.styling.domain.NotificationType;
+import za.ac.styling.dto.CursorPageDto;
+import za.ac.styling.dto.NotificationCreateDto;
+import za.ac.styling.dto.NotificationSummary;
 
 import java.util.List;
 
@@ -13,13 +18,40 @@ public interface INotificationService extends IService<Notification, Integer> {
 
     List<Notification> findByType(NotificationType type);
 
+    /** Newest first by last event, so a notification that had events merged into it moves up */
     List<Notification> findByUserIdOrderedByDate(Integer userId);
 
+    /** Ordered like {@link #findByUserIdOrderedByDate(Integer)}; the cursor is (last event, id) */
+    CursorPageDto<Notification> findPageByUserId(Integer userId, String cursor, Integer size);
+
+    List<NotificationSummary> findSummariesByUserId(Integer userId);
+
+    CursorPageDto<NotificationSummary> findSummaryPageByUserId(Integer userId, String cursor, Integer size);
+
     long countUnreadNotifications(Integer userId);
 
     void markAsRead(Integer notificationId);
 
-    void markAllAsRead(Integer userId);
+    int markAllAsRead(Integer userId);
+
+    /**
+     * Marks the given notification and every one before it in inbox order read; a notification
+     * that had an event merged into it since then stays unread.
+     */
+    int markAllAsReadUpTo(Integer userId, Integer notificationId);
 
     Notification createNotification(String message, NotificationType type, Integer userId);
+
+    /** As {@link #createNotification(String, NotificationType, Integer)}, coalescing per project */
+    Notification createNotification(String message, NotificationType type, Integer userId, Integer projectId);
+
+    /**
+     * Notifications sharing a coalescing key (see {@code NotificationCoalescingPolicy}) become one
+     * row: merged into the newest unread notification with that key whose last event is within the
+     * type's window, or inserted once with their combined count. Returns one notification per
+     * inserted or updated row.
+     */
+    List<Notification> createNotifications(List<NotificationCreateDto> notifications);
+
+    Flux<ServerSentEvent<Object>> streamNotifications(Integer userId);
 }
@@ -0,0 +1,16 @@
+package za.ac.styling.service;
+
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import za.ac.styling.domain.Notification;
+
+public interface INotificationStreamService {
+
+    Flux<ServerSentEvent<Object>> subscribe(Integer userId, long unreadCount);
+
+    boolean hasSubscribers(Integer userId);
+
+    void publishNotification(Integer userId, Notification notification);
+
+    void publishUnreadCount(Integer userId, long unreadCount);
+}
@@ -0,0 +1,18 @@
+package za.ac.styling.service;
+
+import za.ac.styling.domain.NotificationType;
+
+public interface IOutboxService {
+
+    /**
+     * Records an event for every member of the project. Must be called inside the transaction making
+     * the change, so the event commits or rolls back with it.
+     */
+    void record(NotificationType type, Integer projectId, Integer actorUserId, String message);
+
+    /**
+     * Turns the oldest batch of events into notifications and returns how many events it handled.
+     * Events that fail on their own are retried on later calls and set aside after too many failures.
+     */
+    int relayPendingEvents();
+}
@@ -0,0 +1,25 @@
+package za.ac.styling.service;
+
+import za.ac.styling.domain.Deliverable;
+import za.ac.styling.domain.PreviewSize;
+import za.ac.styling.dto.PreviewDto;
+
+import java.util.Optional;
+
+public interface IPreviewService {
+
+    /**
+     * Queues preview rendering for a stored deliverable of a supported type, in the caller's
+     * transaction. Does nothing for linked files or types that cannot be previewed.
+     */
+    void schedule(Deliverable deliverable);
+
+    /** Hands pending jobs to idle workers and returns how many were started */
+    int dispatchPendingJobs();
+
+    /** Empty until the preview has been rendered */
+    Optional<PreviewDto> findPreview(Integer deliverableId, PreviewSize size);
+
+    /** Removes jobs of deleted deliverables, and rendered files no job refers to any more */
+    int purgeOrphanedPreviews();
+}
@@ -0,0 +1,25 @@
+package za.ac.styling.service;
+
+import za.ac.styling.domain.TaskStatus;
+
+import java.util.List;
+
+public interface IProjectProgressService {
+
+    /**
+     * Records a task moving between statuses within a project. A {@code null} {@code from}
+     * means the task was created and a {@code null} {@code to} means it was deleted.
+     */
+    void recordTransition(Integer projectId, TaskStatus from, TaskStatus to);
+
+    /**
+     * Records several tasks created in one project with a single counter update.
+     */
+    void recordCreated(Integer projectId, List<TaskStatus> statuses);
+
+    /**
+     * Recounts every project's tasks. Project rows stay locked until commit, so task transitions
+     * wait for the rebuild instead of being lost. Returns the number of projects with tasks.
+     */
+    int rebuildAll();
+}
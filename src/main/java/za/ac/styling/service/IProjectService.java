@@ -2,6 +2,8 @@ package za.ac.styling.service;
 
 import za.ac.styling.domain.Project;
 import za.ac.styling.domain.ProjectStatus;
+import za.ac.styling.dto.CursorPageDto;
+import za.ac.styling.dto.ProjectSummary;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -20,9 +22,21 @@ public interface IProjectService extends IService<Project, Integer> {
 
     List<Project> findByClientIdAndStatus(Integer clientId, ProjectStatus status);
 
+    CursorPageDto<Project> findPageByDueDate(String cursor, Integer size);
+
+    List<ProjectSummary> findSummaries();
+
+    List<ProjectSummary> findSummariesByClientId(Integer clientId);
+
+    List<ProjectSummary> findSummariesByStatus(ProjectStatus status);
+
+    CursorPageDto<ProjectSummary> findSummaryPage(String cursor, Integer size);
+
+    /** Notifies every project member, the caller included, since the caller is not known */
     void updateProjectStatus(Integer projectId, ProjectStatus status);
 
-    void updateProjectProgress(Integer projectId, Double progress);
+    /** Notifies every project member except {@code actorUserId}, which may be {@code null} */
+    void updateProjectStatus(Integer projectId, ProjectStatus status, Integer actorUserId);
 
     Project createProject(Integer clientId, String title, String description, LocalDate startDate, LocalDate dueDate);
 }
@@ -2,6 +2,8 @@ package za.ac.styling.service;
 
 import za.ac.styling.domain.ProjectAccessRole;
 import za.ac.styling.domain.ProjectUser;
+import za.ac.styling.dto.MembershipCacheStatsDto;
+import za.ac.styling.dto.ProjectUserAddDto;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,4 +27,14 @@ public interface IProjectUserService extends IService<ProjectUser, Integer> {
     ProjectUser addUserToProject(Integer projectId, Integer userId, ProjectAccessRole role);
 
     void removeUserFromProject(Integer projectId, Integer userId);
+
+    List<ProjectUser> addUsersToProjects(List<ProjectUserAddDto> memberships);
+
+    Optional<ProjectAccessRole> findRole(Integer projectId, Integer userId);
+
+    void evictProject(Integer projectId);
+
+    void evictUser(Integer userId);
+
+    MembershipCacheStatsDto getCacheStats();
 }
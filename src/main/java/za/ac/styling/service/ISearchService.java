@@ -0,0 +1,34 @@
+package za.ac.styling.service;
+
+import za.ac.styling.domain.Deliverable;
+import za.ac.styling.domain.Project;
+import za.ac.styling.domain.SearchEntityType;
+import za.ac.styling.domain.Task;
+import za.ac.styling.domain.User;
+import za.ac.styling.dto.SearchHitDto;
+
+import java.util.List;
+import java.util.Set;
+
+public interface ISearchService {
+
+    List<SearchHitDto> search(String query, Set<SearchEntityType> types, Integer limit);
+
+    /**
+     * Ids of {@code type} whose title (project, task), name (user) or file name (deliverable)
+     * matches {@code query}, best match first; at most {@code app.search.max-ids} of them.
+     */
+    List<Integer> findIds(SearchEntityType type, String query);
+
+    void indexProject(Project project);
+
+    void indexTask(Task task);
+
+    void indexUser(User user);
+
+    void indexDeliverable(Deliverable deliverable);
+
+    void remove(SearchEntityType type, Integer id);
+
+    int rebuild();
+}
@@ -1,5 +1,7 @@
 package za.ac.styling.service;
 
+import za.ac.styling.dto.CursorPageDto;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +13,8 @@ public interface IService<T, ID> {
 
     List<T> findAll();
 
+    CursorPageDto<T> findPage(String cursor, Integer size);
+
     T update(T entity);
 
     void deleteById(ID id);
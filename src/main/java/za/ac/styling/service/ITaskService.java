@@ -2,6 +2,9 @@ package za.ac.styling.service;
 
 import za.ac.styling.domain.Task;
 import za.ac.styling.domain.TaskStatus;
+import za.ac.styling.dto.CursorPageDto;
+import za.ac.styling.dto.TaskCreateDto;
+import za.ac.styling.dto.TaskSummary;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -22,8 +25,26 @@ public interface ITaskService extends IService<Task, Integer> {
 
     List<Task> searchByTitle(String title);
 
+    List<Task> createTasks(List<TaskCreateDto> tasks);
+
+    CursorPageDto<Task> findPageByDueDate(String cursor, Integer size);
+
+    List<TaskSummary> findSummaries();
+
+    List<TaskSummary> findSummariesByProjectId(Integer projectId);
+
+    List<TaskSummary> findSummariesByAssignedUserId(Integer userId);
+
+    List<TaskSummary> findSummariesByStatus(TaskStatus status);
+
+    CursorPageDto<TaskSummary> findSummaryPage(String cursor, Integer size);
+
+    /** Notifies every member of the task's project, the caller included, since the caller is not known */
     void updateTaskStatus(Integer taskId, TaskStatus status);
 
+    /** Notifies every member of the task's project except {@code actorUserId}, which may be {@code null} */
+    void updateTaskStatus(Integer taskId, TaskStatus status, Integer actorUserId);
+
     void assignTask(Integer taskId, Integer userId);
 
     Task createTask(String title, String description, Integer projectId, Integer assignedToId, LocalDate dueDate, String deliverable, String notes);
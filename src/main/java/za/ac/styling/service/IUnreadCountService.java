@@ -0,0 +1,18 @@
+package za.ac.styling.service;
+
+import za.ac.styling.dto.UnreadCountCacheStatsDto;
+
+public interface IUnreadCountService {
+
+    long getUnreadCount(Integer userId);
+
+    void increment(Integer userId);
+
+    void decrement(Integer userId);
+
+    void invalidate(Integer userId);
+
+    int checkConsistency(int sampleSize);
+
+    UnreadCountCacheStatsDto getStats();
+}
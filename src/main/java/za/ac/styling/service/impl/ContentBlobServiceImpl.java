@@ -0,0 +1,135 @@
+package za.ac.styling.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import za.ac.styling.domain.ContentBlob;
+import za.ac.styling.dto.StoredContentDto;
+import za.ac.styling.repository.ContentBlobRepository;
+import za.ac.styling.service.IContentBlobService;
+import za.ac.styling.util.TransactionHelper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed file store under {@code blobs/<first two hex digits>/<sha256>} in the content
+ * directory. Identical uploads share one file, whose row counts the references to it.
+ * <p>
+ * Adding a reference and collecting an unreferenced file for the same hash are serialised by a
+ * lock, and collection only deletes a row that still has no references, so a file is never removed
+ * while it is being referenced again.
+ */
+@Slf4j
+@Service
+public class ContentBlobServiceImpl implements IContentBlobService {
+
+    static final String BLOBS_DIR = "blobs";
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+    private static final int LOCK_STRIPES = 64;
+
+    private final ContentBlobRepository contentBlobRepository;
+    private final Path contentDir;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public ContentBlobServiceImpl(ContentBlobRepository contentBlobRepository,
+                                  @Value("${app.deliverables.content-dir:${java.io.tmpdir}/styling-app/deliverables}") Path contentDir) {
+        this.contentBlobRepository = contentBlobRepository;
+        this.contentDir = contentDir.toAbsolutePath().normalize();
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StoredContentDto put(Path file, String sha256, long size) {
+        String storagePath = storagePath(sha256);
+        synchronized (lock(sha256)) {
+            if (contentBlobRepository.addReference(sha256) > 0) {
+                delete(file);
+            } else {
+                move(file, contentDir.resolve(storagePath));
+                contentBlobRepository.save(ContentBlob.builder()
+                        .sha256(sha256)
+                        .size(size)
+                        .referenceCount(1)
+                        .build());
+            }
+        }
+        return new StoredContentDto(storagePath, size, sha256);
+    }
+
+    @Override
+    @Transactional
+    public Optional<StoredContentDto> reference(String sha256, long size) {
+        String storagePath = storagePath(sha256);
+        synchronized (lock(sha256)) {
+            if (contentBlobRepository.addReference(sha256, size) == 0) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new StoredContentDto(storagePath, size, sha256));
+    }
+
+    @Override
+    @Transactional
+    public void release(String sha256) {
+        if (contentBlobRepository.removeReference(sha256) > 0) {
+            TransactionHelper.afterCommit(() -> collect(sha256));
+        }
+    }
+
+    @Override
+    public Path resolve(String storagePath) {
+        Path file = contentDir.resolve(storagePath).normalize();
+        if (!file.startsWith(contentDir)) {
+            throw new IllegalArgumentException("Storage path is outside the content directory: " + storagePath);
+        }
+        return file;
+    }
+
+    private void collect(String sha256) {
+        synchronized (lock(sha256)) {
+            if (contentBlobRepository.deleteUnreferenced(sha256) > 0) {
+                delete(contentDir.resolve(storagePath(sha256)));
+            }
+        }
+    }
+
+    private Object lock(String sha256) {
+        return locks[Math.floorMod(sha256.hashCode(), locks.length)];
+    }
+
+    private static String storagePath(String sha256) {
+        if (sha256 == null || !SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Not a lowercase hex SHA-256: " + sha256);
+        }
+        return BLOBS_DIR + "/" + sha256.substring(0, 2) + "/" + sha256;
+    }
+
+    private static void move(Path from, Path to) {
+        try {
+            Files.createDirectories(to.getParent());
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not move " + from + " to " + to, e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+}
@@ -1,15 +1,33 @@
 package za.ac.styling.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import za.ac.styling.domain.Deliverable;
+import za.ac.styling.domain.NotificationType;
 import za.ac.styling.domain.Project;
+import za.ac.styling.domain.SearchEntityType;
+import za.ac.styling.dto.CursorPageDto;
+import za.ac.styling.dto.DeliverableContentDto;
+import za.ac.styling.dto.DeliverableSummary;
+import za.ac.styling.dto.StoredContentDto;
 import za.ac.styling.factory.DeliverableFactory;
 import za.ac.styling.repository.DeliverableRepository;
 import za.ac.styling.repository.ProjectRepository;
+import za.ac.styling.service.IContentBlobService;
 import za.ac.styling.service.IDeliverableService;
+import za.ac.styling.service.IOutboxService;
+import za.ac.styling.service.IPreviewService;
+import za.ac.styling.service.ISearchService;
+import za.ac.styling.util.ContentTypeHelper;
+import za.ac.styling.util.PageCursor;
+import za.ac.styling.util.SearchHelper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,13 +38,20 @@ public class DeliverableServiceImpl implements IDeliverableService {
 
     private final DeliverableRepository deliverableRepository;
     private final ProjectRepository projectRepository;
+    private final ISearchService searchService;
+    private final IContentBlobService contentBlobService;
+    private final IPreviewService previewService;
+    private final IOutboxService outboxService;
 
     @Override
     public Deliverable save(Deliverable entity) {
         if (!DeliverableFactory.validateDeliverable(entity)) {
             throw new IllegalArgumentException("Invalid deliverable data");
         }
-        return deliverableRepository.save(entity);
+        rejectStoredContent(entity);
+        Deliverable saved = deliverableRepository.save(entity);
+        searchService.indexDeliverable(saved);
+        return saved;
     }
 
     @Override
@@ -41,28 +66,72 @@ public class DeliverableServiceImpl implements IDeliverableService {
         return deliverableRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<Deliverable> findPage(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<Deliverable> rows = deliverableRepository.findByDeliverableIdGreaterThanOrderByDeliverableIdAsc(
+                after == null ? 0 : after.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize, deliverable -> PageCursor.encode(deliverable.getDeliverableId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DeliverableSummary> findSummaries() {
+        return deliverableRepository.findSummariesBy();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DeliverableSummary> findSummariesByProjectId(Integer projectId) {
+        return deliverableRepository.findSummariesByProjectProjectId(projectId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<DeliverableSummary> findSummaryPage(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<DeliverableSummary> rows = deliverableRepository.findSummariesByDeliverableIdGreaterThanOrderByDeliverableIdAsc(
+                after == null ? 0 : after.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize, deliverable -> PageCursor.encode(deliverable.getDeliverableId()));
+    }
+
     @Override
     public Deliverable update(Deliverable entity) {
         if (!DeliverableFactory.validateDeliverable(entity)) {
             throw new IllegalArgumentException("Invalid deliverable data");
         }
-        if (!deliverableRepository.existsById(entity.getDeliverableId())) {
-            throw new IllegalArgumentException("Deliverable not found with id: " + entity.getDeliverableId());
+        Deliverable existing = deliverableRepository.findById(entity.getDeliverableId())
+                .orElseThrow(() -> new IllegalArgumentException("Deliverable not found with id: " + entity.getDeliverableId()));
+        if (existing.getStoragePath() != null) {
+            // Stored content is reference counted, so an update must not point the row elsewhere
+            entity.setFileUrl(existing.getFileUrl());
+            entity.setFileSize(existing.getFileSize());
+            entity.setContentSha256(existing.getContentSha256());
+        } else {
+            rejectStoredContent(entity);
         }
-        return deliverableRepository.save(entity);
+        Deliverable saved = deliverableRepository.save(entity);
+        searchService.indexDeliverable(saved);
+        return saved;
     }
 
     @Override
     public void deleteById(Integer id) {
-        if (!deliverableRepository.existsById(id)) {
-            throw new IllegalArgumentException("Deliverable not found with id: " + id);
-        }
-        deliverableRepository.deleteById(id);
+        Deliverable deliverable = deliverableRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Deliverable not found with id: " + id));
+        deliverableRepository.delete(deliverable);
+        searchService.remove(SearchEntityType.DELIVERABLE, id);
+        releaseContent(deliverable);
     }
 
     @Override
     public void delete(Deliverable entity) {
         deliverableRepository.delete(entity);
+        searchService.remove(SearchEntityType.DELIVERABLE, entity.getDeliverableId());
+        releaseContent(entity);
     }
 
     @Override
@@ -104,7 +173,33 @@ public class DeliverableServiceImpl implements IDeliverableService {
     @Override
     @Transactional(readOnly = true)
     public List<Deliverable> searchByFileName(String fileName) {
-        return deliverableRepository.findByFileNameContainingIgnoreCase(fileName);
+        List<Integer> ids = searchService.findIds(SearchEntityType.DELIVERABLE, fileName);
+        return SearchHelper.loadInRankOrder(ids, deliverableRepository::findAllById, Deliverable::getDeliverableId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DeliverableContentDto> findContent(Integer deliverableId) {
+        return deliverableRepository.findById(deliverableId).map(deliverable -> {
+            DeliverableContentDto.DeliverableContentDtoBuilder content = DeliverableContentDto.builder()
+                    .fileName(deliverable.getFileName())
+                    .contentType(ContentTypeHelper.resolve(deliverable.getFileType(), deliverable.getFileName()).toString());
+            if (deliverable.getStoragePath() == null) {
+                return content.externalUrl(deliverable.getFileUrl()).build();
+            }
+            Path file = contentBlobService.resolve(deliverable.getStoragePath());
+            try {
+                long size = Files.size(file);
+                long lastModified = Files.getLastModifiedTime(file).toMillis();
+                // Stored content never changes in place, so its hash is a strong validator
+                String etag = deliverable.getContentSha256() != null
+                        ? "\"" + deliverable.getContentSha256() + "\""
+                        : "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+                return content.file(file).size(size).lastModified(lastModified).etag(etag).build();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Content of deliverable " + deliverableId + " is unavailable", e);
+            }
+        });
     }
 
     @Override
@@ -112,8 +207,13 @@ public class DeliverableServiceImpl implements IDeliverableService {
         Deliverable deliverable = deliverableRepository.findById(deliverableId)
                 .orElseThrow(() -> new IllegalArgumentException("Deliverable not found with id: " + deliverableId));
         
+        boolean wasApproved = Boolean.TRUE.equals(deliverable.getApproved());
         deliverable.approve();
         deliverableRepository.save(deliverable);
+        if (!wasApproved) {
+            outboxService.record(NotificationType.APPROVAL, deliverable.getProject().getProjectId(), null,
+                    "\"" + deliverable.getFileName() + "\" was approved");
+        }
     }
 
     @Override
@@ -123,6 +223,49 @@ public class DeliverableServiceImpl implements IDeliverableService {
         
         Deliverable deliverable = DeliverableFactory.createDeliverable(fileName, fileType, fileUrl, project);
         deliverable.setTaskId(taskId);
-        return deliverableRepository.save(deliverable);
+        rejectStoredContent(deliverable);
+        return store(deliverable);
+    }
+
+    @Override
+    public Deliverable uploadDeliverable(String fileName, String fileType, StoredContentDto content, Integer projectId, Integer taskId) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Project not found with id: " + projectId));
+
+        Deliverable deliverable = DeliverableFactory.createDeliverable(fileName, fileType,
+                Deliverable.STORED_CONTENT_PREFIX + content.getStoragePath(), project);
+        deliverable.setTaskId(taskId);
+        deliverable.setFileSize(content.getSize());
+        deliverable.setContentSha256(content.getSha256());
+        return store(deliverable);
+    }
+
+    private Deliverable store(Deliverable deliverable) {
+        Deliverable saved = deliverableRepository.save(deliverable);
+        searchService.indexDeliverable(saved);
+        previewService.schedule(saved);
+        outboxService.record(NotificationType.FILE_UPLOAD, saved.getProject().getProjectId(), null,
+                "New file \"" + saved.getFileName() + "\" in \"" + saved.getProject().getTitle() + "\"");
+        return saved;
+    }
+
+    /**
+     * Stored content is only attached by {@link #uploadDeliverable(String, String, StoredContentDto, Integer, Integer)},
+     * which takes a reference on the blob. A client-supplied {@code content:} URL or hash would let
+     * deleting the row release a blob another deliverable owns.
+     */
+    private static void rejectStoredContent(Deliverable deliverable) {
+        if (deliverable.getStoragePath() != null) {
+            throw new IllegalArgumentException("fileUrl must not use the " + Deliverable.STORED_CONTENT_PREFIX
+                    + " scheme; upload the file instead");
+        }
+        deliverable.setContentSha256(null);
+        deliverable.setFileSize(null);
+    }
+
+    private void releaseContent(Deliverable deliverable) {
+        if (deliverable.getStoragePath() != null && deliverable.getContentSha256() != null) {
+            contentBlobService.release(deliverable.getContentSha256());
+        }
     }
 }
@@ -0,0 +1,314 @@
+package za.ac.styling.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+import za.ac.styling.domain.Deliverable;
+import za.ac.styling.domain.UploadSession;
+import za.ac.styling.dto.StoredContentDto;
+import za.ac.styling.dto.UploadSessionDto;
+import za.ac.styling.dto.UploadStartDto;
+import za.ac.styling.repository.ProjectRepository;
+import za.ac.styling.repository.UploadSessionRepository;
+import za.ac.styling.service.IContentBlobService;
+import za.ac.styling.service.IDeliverableService;
+import za.ac.styling.service.IDeliverableUploadService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chunked, resumable uploads into the local content directory. Received bytes go to
+ * {@code uploads/<uploadId>.part} through a fixed-size buffer, so memory use does not depend on
+ * chunk or file size; the session row records how many bytes have been acknowledged. The
+ * deliverable is only created once the last chunk is in and the whole file has been verified; the
+ * file then goes to the content store, which keeps a single copy of identical uploads. An upload
+ * announcing the hash of content that is already stored completes as soon as it starts.
+ * <p>
+ * Chunk writes and completion run outside a transaction so no connection is held during I/O.
+ */
+@Slf4j
+@Service
+@Transactional
+public class DeliverableUploadServiceImpl implements IDeliverableUploadService {
+
+    static final String UPLOADS_DIR = "uploads";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PURGE_BATCH_SIZE = 100;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final ProjectRepository projectRepository;
+    private final IDeliverableService deliverableService;
+    private final IContentBlobService contentBlobService;
+    private final Path contentDir;
+    private final long maxChunkSize;
+    private final long maxFileSize;
+    private final Duration expireAfter;
+    // Uploads with a chunk write or completion in progress on this instance
+    private final Set<String> busy = ConcurrentHashMap.newKeySet();
+
+    public DeliverableUploadServiceImpl(UploadSessionRepository uploadSessionRepository,
+                                        ProjectRepository projectRepository,
+                                        IDeliverableService deliverableService,
+                                        IContentBlobService contentBlobService,
+                                        @Value("${app.deliverables.content-dir:${java.io.tmpdir}/styling-app/deliverables}") Path contentDir,
+                                        @Value("${app.deliverables.upload.max-chunk-size:64MB}") DataSize maxChunkSize,
+                                        @Value("${app.deliverables.upload.max-file-size:10GB}") DataSize maxFileSize,
+                                        @Value("${app.deliverables.upload.expire-after:24h}") Duration expireAfter) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.projectRepository = projectRepository;
+        this.deliverableService = deliverableService;
+        this.contentBlobService = contentBlobService;
+        this.contentDir = contentDir.toAbsolutePath().normalize();
+        this.maxChunkSize = maxChunkSize.toBytes();
+        this.maxFileSize = maxFileSize.toBytes();
+        this.expireAfter = expireAfter;
+    }
+
+    @Override
+    public UploadSessionDto startUpload(UploadStartDto dto) {
+        if (dto.getSize() == null || dto.getSize() < 0 || dto.getSize() > maxFileSize) {
+            throw new IllegalArgumentException("File size must be between 0 and " + maxFileSize + " bytes");
+        }
+        if (!projectRepository.existsById(dto.getProjectId())) {
+            throw new IllegalArgumentException("Project not found with id: " + dto.getProjectId());
+        }
+        if (dto.getSha256() != null) {
+            Optional<StoredContentDto> stored = contentBlobService.reference(dto.getSha256().toLowerCase(), dto.getSize());
+            if (stored.isPresent()) {
+                Deliverable deliverable = deliverableService.uploadDeliverable(dto.getFileName(), dto.getFileType(),
+                        stored.get(), dto.getProjectId(), dto.getTaskId());
+                return UploadSessionDto.builder()
+                        .fileName(dto.getFileName())
+                        .size(dto.getSize())
+                        .offset(dto.getSize())
+                        .deliverableId(deliverable.getDeliverableId())
+                        .build();
+            }
+        }
+        UploadSession session = UploadSession.builder()
+                .uploadId(UUID.randomUUID().toString())
+                .fileName(dto.getFileName())
+                .fileType(dto.getFileType())
+                .projectId(dto.getProjectId())
+                .taskId(dto.getTaskId())
+                .size(dto.getSize())
+                .sha256(dto.getSha256() == null ? null : dto.getSha256().toLowerCase())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        try {
+            Path part = partFile(session.getUploadId());
+            Files.createDirectories(part.getParent());
+            Files.createFile(part);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create upload " + session.getUploadId(), e);
+        }
+        return toDto(uploadSessionRepository.save(session));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UploadSessionDto getUpload(String uploadId) {
+        return toDto(findSession(uploadId));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UploadSessionDto appendChunk(String uploadId, long offset, String sha256, InputStream content) {
+        if (sha256 == null || sha256.isBlank()) {
+            throw new IllegalArgumentException("Chunk SHA-256 is required");
+        }
+        lock(uploadId);
+        try {
+            UploadSession session = findSession(uploadId);
+            if (offset != session.getReceivedBytes()) {
+                throw new IllegalStateException("Upload " + uploadId + " expects offset " + session.getReceivedBytes()
+                        + ", not " + offset);
+            }
+            long limit = Math.min(maxChunkSize, session.getSize() - offset);
+            long end = writeChunk(partFile(uploadId), offset, limit, sha256, content);
+            if (uploadSessionRepository.advance(uploadId, offset, end, LocalDateTime.now()) == 0) {
+                throw new IllegalStateException("Upload " + uploadId + " was changed or removed while writing");
+            }
+            session.setReceivedBytes(end);
+            return toDto(session);
+        } finally {
+            busy.remove(uploadId);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Deliverable completeUpload(String uploadId) {
+        lock(uploadId);
+        try {
+            UploadSession session = findSession(uploadId);
+            if (session.getReceivedBytes() < session.getSize()) {
+                throw new IllegalStateException("Upload " + uploadId + " has " + session.getReceivedBytes()
+                        + " of " + session.getSize() + " bytes");
+            }
+            Path part = partFile(uploadId);
+            String sha256 = sha256(part);
+            if (session.getSha256() != null && !session.getSha256().equals(sha256)) {
+                throw new IllegalArgumentException("Upload " + uploadId + " does not match its announced SHA-256");
+            }
+
+            StoredContentDto stored = contentBlobService.put(part, sha256, session.getSize());
+            // The part file now belongs to the content store, so the session is finished either way
+            uploadSessionRepository.deleteById(uploadId);
+            try {
+                return deliverableService.uploadDeliverable(session.getFileName(), session.getFileType(), stored,
+                        session.getProjectId(), session.getTaskId());
+            } catch (RuntimeException e) {
+                contentBlobService.release(sha256);
+                throw e;
+            }
+        } finally {
+            busy.remove(uploadId);
+        }
+    }
+
+    @Override
+    public void abortUpload(String uploadId) {
+        lock(uploadId);
+        try {
+            uploadSessionRepository.delete(findSession(uploadId));
+            deletePartFile(uploadId);
+        } finally {
+            busy.remove(uploadId);
+        }
+    }
+
+    @Override
+    public int purgeExpiredUploads() {
+        List<UploadSession> expired = uploadSessionRepository.findByUpdatedAtBeforeOrderByUpdatedAtAsc(
+                LocalDateTime.now().minus(expireAfter), Limit.of(PURGE_BATCH_SIZE));
+        int purged = 0;
+        for (UploadSession session : expired) {
+            if (!busy.add(session.getUploadId())) {
+                continue;
+            }
+            try {
+                uploadSessionRepository.delete(session);
+                deletePartFile(session.getUploadId());
+                purged++;
+            } finally {
+                busy.remove(session.getUploadId());
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * Writes at most {@code limit} bytes from {@code content} at {@code offset} and returns the new
+     * end of the file. Anything past {@code offset} is dropped first: it belongs to a chunk that was
+     * never acknowledged. On a checksum mismatch the file is cut back to {@code offset}.
+     */
+    private static long writeChunk(Path part, long offset, long limit, String expectedSha256, InputStream content) {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+            if (channel.size() > offset) {
+                channel.truncate(offset);
+            }
+            long position = offset;
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                if (position - offset + read > limit) {
+                    channel.truncate(offset);
+                    throw new IllegalArgumentException("Chunk exceeds " + limit + " bytes allowed at offset " + offset);
+                }
+                digest.update(buffer, 0, read);
+                ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+                while (bytes.hasRemaining()) {
+                    position += channel.write(bytes, position);
+                }
+            }
+            if (!HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(expectedSha256)) {
+                channel.truncate(offset);
+                throw new IllegalArgumentException("Chunk at offset " + offset + " does not match its SHA-256");
+            }
+            channel.force(false);
+            return position;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write chunk at offset " + offset + " of " + part, e);
+        }
+    }
+
+    private static String sha256(Path file) {
+        MessageDigest digest = newSha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void deletePartFile(String uploadId) {
+        try {
+            Files.deleteIfExists(partFile(uploadId));
+        } catch (IOException e) {
+            log.warn("Could not delete part file of upload {}", uploadId, e);
+        }
+    }
+
+    private void lock(String uploadId) {
+        if (!busy.add(uploadId)) {
+            throw new IllegalStateException("Upload " + uploadId + " is already being written");
+        }
+    }
+
+    private UploadSession findSession(String uploadId) {
+        return uploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> new IllegalArgumentException("Upload not found with id: " + uploadId));
+    }
+
+    private Path partFile(String uploadId) {
+        // Ids are generated UUIDs; parsing rejects anything that could escape the directory
+        return contentDir.resolve(UPLOADS_DIR).resolve(UUID.fromString(uploadId) + ".part");
+    }
+
+    private static UploadSessionDto toDto(UploadSession session) {
+        return UploadSessionDto.builder()
+                .uploadId(session.getUploadId())
+                .fileName(session.getFileName())
+                .size(session.getSize())
+                .offset(session.getReceivedBytes())
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package za.ac.styling.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import za.ac.styling.repository.DeliverableRepository;
+import za.ac.styling.repository.ProjectRepository;
+import za.ac.styling.repository.TaskRepository;
+import za.ac.styling.service.IExportService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables as newline-delimited JSON. Rows are pulled through a forward-only JDBC
+ * cursor and detached once written, so memory stays flat regardless of table size.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements IExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final DeliverableRepository deliverableRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public long exportTasks(OutputStream out) throws IOException {
+        try (Stream<?> rows = taskRepository.streamAll()) {
+            return writeNdjson(rows, out);
+        }
+    }
+
+    @Override
+    public long exportProjects(OutputStream out) throws IOException {
+        try (Stream<?> rows = projectRepository.streamAll()) {
+            return writeNdjson(rows, out);
+        }
+    }
+
+    @Override
+    public long exportDeliverables(OutputStream out) throws IOException {
+        try (Stream<?> rows = deliverableRepository.streamAll()) {
+            return writeNdjson(rows, out);
+        }
+    }
+
+    private long writeNdjson(Stream<?> rows, OutputStream out) throws IOException {
+        long written = 0;
+        // The shared mapper flushes after every value; rows are flushed in batches instead
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object row = iterator.next();
+                writer.writeValue(generator, row);
+                generator.writeRaw('\n');
+                entityManager.detach(row);
+                if (++written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            // Closing flushes the remaining rows without closing the caller's stream
+        }
+        return written;
+    }
+}
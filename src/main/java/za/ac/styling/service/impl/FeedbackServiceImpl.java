@@ -1,16 +1,21 @@
 package za.ac.styling.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import za.ac.styling.domain.Deliverable;
 import za.ac.styling.domain.Feedback;
+import za.ac.styling.domain.NotificationType;
 import za.ac.styling.domain.User;
+import za.ac.styling.dto.CursorPageDto;
 import za.ac.styling.factory.FeedbackFactory;
 import za.ac.styling.repository.DeliverableRepository;
 import za.ac.styling.repository.FeedbackRepository;
 import za.ac.styling.repository.UserRepository;
 import za.ac.styling.service.IFeedbackService;
+import za.ac.styling.service.IOutboxService;
+import za.ac.styling.util.PageCursor;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +28,7 @@ public class FeedbackServiceImpl implements IFeedbackService {
     private final FeedbackRepository feedbackRepository;
     private final DeliverableRepository deliverableRepository;
     private final UserRepository userRepository;
+    private final IOutboxService outboxService;
 
     @Override
     public Feedback save(Feedback entity) {
@@ -44,6 +50,16 @@ public class FeedbackServiceImpl implements IFeedbackService {
         return feedbackRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<Feedback> findPage(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<Feedback> rows = feedbackRepository.findByFeedbackIdGreaterThanOrderByFeedbackIdAsc(
+                after == null ? 0 : after.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize, feedback -> PageCursor.encode(feedback.getFeedbackId()));
+    }
+
     @Override
     public Feedback update(Feedback entity) {
         if (!FeedbackFactory.validateFeedback(entity)) {
@@ -107,6 +123,9 @@ public class FeedbackServiceImpl implements IFeedbackService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
         
         Feedback feedback = FeedbackFactory.createFeedback(message, deliverable, user);
-        return feedbackRepository.save(feedback);
+        Feedback saved = feedbackRepository.save(feedback);
+        outboxService.record(NotificationType.FEEDBACK, deliverable.getProject().getProjectId(), userId,
+                user.getName() + " left feedback on \"" + deliverable.getFileName() + "\"");
+        return saved;
     }
 }
@@ -0,0 +1,184 @@
+package za.ac.styling.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import za.ac.styling.domain.NotificationType;
+import za.ac.styling.repository.NotificationRepository;
+import za.ac.styling.service.INotificationRetentionService;
+import za.ac.styling.util.NotificationPartitions;
+import za.ac.styling.util.NotificationPartitions.Dialect;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps {@code notifications} bounded. Read notifications are deleted once older than the TTL of
+ * their type ({@code app.notifications.retention.read-ttl.<type>}, falling back to
+ * {@code .default}; zero keeps them). Each batch selects at most {@code batch-size} ids and deletes
+ * them in its own short transaction, and a run stops after {@code max-batches-per-run} batches so
+ * a large backlog is worked off over several runs instead of in one long burst.
+ * <p>
+ * With partitioning enabled, upcoming monthly partitions are created ahead of time and whole months
+ * older than {@code partitions.drop-after} are dropped, read or not. Cached unread counts of users
+ * with unread rows in a dropped month stay high until the cache entry expires.
+ * <p>
+ * Progress is published as {@code notifications.retention.deleted} (per type),
+ * {@code notifications.retention.batches}, {@code notifications.retention.partitions.dropped} and
+ * {@code notifications.retention.behind}, which is 1 while the last run stopped at its batch limit.
+ */
+@Slf4j
+@Service
+public class NotificationRetentionServiceImpl implements INotificationRetentionService {
+
+    private static final String PREFIX = "app.notifications.retention.";
+
+    private final NotificationRepository notificationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<NotificationType, Duration> readTtls = new EnumMap<>(NotificationType.class);
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pauseBetweenBatches;
+    private final boolean partitionsEnabled;
+    private final int monthsAhead;
+    private final Duration dropAfter;
+
+    private final Map<NotificationType, Counter> deleted = new EnumMap<>(NotificationType.class);
+    private final Timer batches;
+    private final Counter partitionsDropped;
+    private final AtomicInteger behind = new AtomicInteger();
+
+    public NotificationRetentionServiceImpl(NotificationRepository notificationRepository,
+                                            JdbcTemplate jdbcTemplate,
+                                            MeterRegistry meterRegistry,
+                                            Environment environment,
+                                            @Value("${app.notifications.retention.batch-size:500}") int batchSize,
+                                            @Value("${app.notifications.retention.max-batches-per-run:20}") int maxBatchesPerRun,
+                                            @Value("${app.notifications.retention.pause-between-batches:50ms}") Duration pauseBetweenBatches,
+                                            @Value("${app.notifications.retention.partitions.enabled:false}") boolean partitionsEnabled,
+                                            @Value("${app.notifications.retention.partitions.months-ahead:3}") int monthsAhead,
+                                            @Value("${app.notifications.retention.partitions.drop-after:365d}") Duration dropAfter) {
+        this.notificationRepository = notificationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseBetweenBatches = pauseBetweenBatches;
+        this.partitionsEnabled = partitionsEnabled;
+        this.monthsAhead = monthsAhead;
+        this.dropAfter = dropAfter;
+
+        Duration defaultTtl = environment.getProperty(PREFIX + "read-ttl.default", Duration.class, Duration.ofDays(90));
+        for (NotificationType type : NotificationType.values()) {
+            Duration ttl = environment.getProperty(PREFIX + "read-ttl." + type.name().toLowerCase().replace('_', '-'),
+                    Duration.class, defaultTtl);
+            if (ttl.isPositive()) {
+                readTtls.put(type, ttl);
+            }
+            deleted.put(type, Counter.builder("notifications.retention.deleted")
+                    .tag("type", type.name())
+                    .description("Read notifications deleted after their TTL")
+                    .register(meterRegistry));
+        }
+        this.batches = Timer.builder("notifications.retention.batches")
+                .description("Time per select-and-delete batch")
+                .register(meterRegistry);
+        this.partitionsDropped = Counter.builder("notifications.retention.partitions.dropped")
+                .description("Monthly notification partitions dropped")
+                .register(meterRegistry);
+        Gauge.builder("notifications.retention.behind", behind, AtomicInteger::get)
+                .description("1 while the last retention run stopped at its batch limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int purgeExpiredNotifications() {
+        int budget = maxBatchesPerRun;
+        int total = 0;
+        boolean caughtUp = true;
+        for (Map.Entry<NotificationType, Duration> entry : readTtls.entrySet()) {
+            LocalDateTime cutoff = LocalDateTime.now().minus(entry.getValue());
+            int found;
+            do {
+                if (budget == 0 || (budget < maxBatchesPerRun && !pause())) {
+                    caughtUp = false;
+                    break;
+                }
+                budget--;
+                found = batches.record(() -> deleteBatch(entry.getKey(), cutoff));
+                total += found;
+            } while (found == batchSize);
+        }
+        behind.set(caughtUp ? 0 : 1);
+        return total;
+    }
+
+    @Override
+    public int maintainPartitions() {
+        if (!partitionsEnabled) {
+            return 0;
+        }
+        Dialect dialect = jdbcTemplate.execute((ConnectionCallback<Dialect>) connection ->
+                NotificationPartitions.dialectOf(connection.getMetaData().getDatabaseProductName()));
+        if (dialect == null) {
+            log.warn("Notification partitions are enabled but only supported on MySQL and PostgreSQL");
+            return 0;
+        }
+        List<String> names = jdbcTemplate.queryForList(NotificationPartitions.listSql(dialect), String.class);
+        if (names.isEmpty()) {
+            log.warn("Notification partitions are enabled but the notifications table is not partitioned");
+            return 0;
+        }
+        List<YearMonth> months = names.stream()
+                .map(name -> NotificationPartitions.monthOf(dialect, name))
+                .flatMap(Optional::stream)
+                .toList();
+
+        YearMonth current = YearMonth.now();
+        for (YearMonth month : NotificationPartitions.missingMonths(months, current, current.plusMonths(monthsAhead))) {
+            jdbcTemplate.execute(NotificationPartitions.createSql(dialect, month));
+            log.info("Created notification partition {}", NotificationPartitions.nameOf(dialect, month));
+        }
+        int dropped = 0;
+        for (YearMonth month : NotificationPartitions.expiredMonths(months, LocalDateTime.now().minus(dropAfter))) {
+            jdbcTemplate.execute(NotificationPartitions.dropSql(dialect, month));
+            partitionsDropped.increment();
+            dropped++;
+            log.info("Dropped notification partition {}", NotificationPartitions.nameOf(dialect, month));
+        }
+        return dropped;
+    }
+
+    private int deleteBatch(NotificationType type, LocalDateTime cutoff) {
+        List<Integer> ids = notificationRepository.findReadIdsSentBefore(type, cutoff, Limit.of(batchSize));
+        if (!ids.isEmpty()) {
+            notificationRepository.deleteAllByIdInBatch(ids);
+            deleted.get(type).increment(ids.size());
+        }
+        return ids.size();
+    }
+
+    /** Gives other writers the table between batches; false if the thread was interrupted */
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseBetweenBatches);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
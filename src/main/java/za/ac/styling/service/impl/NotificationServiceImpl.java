@@ -1,18 +1,40 @@
 package za.ac.styling.service.impl;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import za.ac.styling.domain.Notification;
 import za.ac.styling.domain.NotificationType;
 import za.ac.styling.domain.User;
+import za.ac.styling.dto.CursorPageDto;
+import za.ac.styling.dto.NotificationCreateDto;
+import za.ac.styling.dto.NotificationSummary;
 import za.ac.styling.factory.NotificationFactory;
 import za.ac.styling.repository.NotificationRepository;
 import za.ac.styling.repository.UserRepository;
 import za.ac.styling.service.INotificationService;
+import za.ac.styling.service.INotificationStreamService;
+import za.ac.styling.service.IUnreadCountService;
+import za.ac.styling.util.BatchHelper;
+import za.ac.styling.util.NotificationCoalescingPolicy;
+import za.ac.styling.util.PageCursor;
+import za.ac.styling.util.TransactionHelper;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,13 +43,19 @@ public class NotificationServiceImpl implements INotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final INotificationStreamService notificationStreamService;
+    private final IUnreadCountService unreadCountService;
+    private final EntityManager entityManager;
+    private final NotificationCoalescingPolicy coalescingPolicy;
 
     @Override
     public Notification save(Notification entity) {
         if (!NotificationFactory.validateNotification(entity)) {
             throw new IllegalArgumentException("Invalid notification data");
         }
-        return notificationRepository.save(entity);
+        Notification saved = notificationRepository.save(entity);
+        TransactionHelper.afterCommit(() -> unreadCountService.invalidate(saved.getUser().getUserId()));
+        return saved;
     }
 
     @Override
@@ -42,6 +70,16 @@ public class NotificationServiceImpl implements INotificationService {
         return notificationRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<Notification> findPage(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<Notification> rows = notificationRepository.findByNotificationIdGreaterThanOrderByNotificationIdAsc(
+                after == null ? 0 : after.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize, notification -> PageCursor.encode(notification.getNotificationId()));
+    }
+
     @Override
     public Notification update(Notification entity) {
         if (!NotificationFactory.validateNotification(entity)) {
@@ -50,20 +88,30 @@ public class NotificationServiceImpl implements INotificationService {
         if (!notificationRepository.existsById(entity.getNotificationId())) {
             throw new IllegalArgumentException("Notification not found with id: " + entity.getNotificationId());
         }
-        return notificationRepository.save(entity);
+        Notification saved = notificationRepository.save(entity);
+        TransactionHelper.afterCommit(() -> unreadCountService.invalidate(saved.getUser().getUserId()));
+        return saved;
     }
 
     @Override
     public void deleteById(Integer id) {
-        if (!notificationRepository.existsById(id)) {
-            throw new IllegalArgumentException("Notification not found with id: " + id);
-        }
-        notificationRepository.deleteById(id);
+        Notification notification = notificationRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Notification not found with id: " + id));
+        Integer userId = notification.getUser().getUserId();
+        boolean wasUnread = !notification.getIsRead();
+        notificationRepository.delete(notification);
+        TransactionHelper.afterCommit(() -> {
+            if (wasUnread) {
+                unreadCountService.decrement(userId);
+            }
+            publishChange(userId, null);
+        });
     }
 
     @Override
     public void delete(Notification entity) {
         notificationRepository.delete(entity);
+        TransactionHelper.afterCommit(() -> unreadCountService.invalidate(entity.getUser().getUserId()));
     }
 
     @Override
@@ -99,13 +147,46 @@ public class NotificationServiceImpl implements INotificationService {
     @Override
     @Transactional(readOnly = true)
     public List<Notification> findByUserIdOrderedByDate(Integer userId) {
-        return notificationRepository.findByUserUserIdOrderBySentAtDesc(userId);
+        return notificationRepository.findByUserUserIdOrderByLastEventAtDescNotificationIdDesc(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<Notification> findPageByUserId(Integer userId, String cursor, Integer size) {
+        PageCursor before = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<Notification> rows = before == null
+                ? notificationRepository.findByUserUserIdOrderByLastEventAtDescNotificationIdDesc(userId, Limit.of(pageSize + 1))
+                : notificationRepository.findUserPageBefore(userId, before.keyAsDateTime(),
+                        before.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize,
+                notification -> PageCursor.encode(notification.getLastEventAt(), notification.getNotificationId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NotificationSummary> findSummariesByUserId(Integer userId) {
+        return notificationRepository.findSummariesByUserUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<NotificationSummary> findSummaryPageByUserId(Integer userId, String cursor, Integer size) {
+        PageCursor before = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<NotificationSummary> rows = before == null
+                ? notificationRepository.findSummariesByUserUserIdOrderByLastEventAtDescNotificationIdDesc(userId,
+                        Limit.of(pageSize + 1))
+                : notificationRepository.findUserSummaryPageBefore(userId, before.keyAsDateTime(),
+                        before.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize,
+                notification -> PageCursor.encode(notification.getLastEventAt(), notification.getNotificationId()));
     }
 
     @Override
     @Transactional(readOnly = true)
     public long countUnreadNotifications(Integer userId) {
-        return notificationRepository.countByUserUserIdAndIsRead(userId, false);
+        return unreadCountService.getUnreadCount(userId);
     }
 
     @Override
@@ -113,23 +194,172 @@ public class NotificationServiceImpl implements INotificationService {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new IllegalArgumentException("Notification not found with id: " + notificationId));
         
+        Integer userId = notification.getUser().getUserId();
+        boolean wasUnread = !notification.getIsRead();
         notification.markAsRead();
         notificationRepository.save(notification);
+        TransactionHelper.afterCommit(() -> {
+            if (wasUnread) {
+                unreadCountService.decrement(userId);
+            }
+            publishChange(userId, null);
+        });
     }
 
     @Override
-    public void markAllAsRead(Integer userId) {
-        List<Notification> unreadNotifications = notificationRepository.findByUserUserIdAndIsRead(userId, false);
-        unreadNotifications.forEach(Notification::markAsRead);
-        notificationRepository.saveAll(unreadNotifications);
+    public int markAllAsRead(Integer userId) {
+        int updated = notificationRepository.markAllAsReadByUserId(userId);
+        TransactionHelper.afterCommit(() -> {
+            unreadCountService.invalidate(userId);
+            publishChange(userId, null);
+        });
+        return updated;
+    }
+
+    @Override
+    public int markAllAsReadUpTo(Integer userId, Integer notificationId) {
+        Notification last = notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new IllegalArgumentException("Notification not found with id: " + notificationId));
+
+        if (!last.getUser().getUserId().equals(userId)) {
+            throw new IllegalArgumentException("Notification " + notificationId + " does not belong to user: " + userId);
+        }
+
+        int updated = notificationRepository.markAsReadUpTo(userId, last.getLastEventAt(), last.getNotificationId());
+        TransactionHelper.afterCommit(() -> {
+            unreadCountService.invalidate(userId);
+            publishChange(userId, null);
+        });
+        return updated;
     }
 
     @Override
     public Notification createNotification(String message, NotificationType type, Integer userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
-        
-        Notification notification = NotificationFactory.createNotification(message, type, user);
-        return notificationRepository.save(notification);
+        return createNotification(message, type, userId, null);
+    }
+
+    @Override
+    public Notification createNotification(String message, NotificationType type, Integer userId, Integer projectId) {
+        return createNotifications(List.of(new NotificationCreateDto(message, type, userId, projectId))).get(0);
+    }
+
+    @Override
+    public List<Notification> createNotifications(List<NotificationCreateDto> notifications) {
+        if (notifications == null || notifications.isEmpty()) {
+            throw new IllegalArgumentException("At least one notification is required");
+        }
+        Map<Integer, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(
+                notifications.stream().map(NotificationCreateDto::getUserId).distinct().toList())) {
+            users.put(user.getUserId(), user);
+        }
+
+        List<Notification> created = new ArrayList<>(notifications.size());
+        Map<NotificationCoalescingPolicy.Key, List<NotificationCreateDto>> groups = new LinkedHashMap<>();
+        for (NotificationCreateDto dto : notifications) {
+            User user = users.get(dto.getUserId());
+            if (user == null) {
+                throw new IllegalArgumentException("User not found with id: " + dto.getUserId());
+            }
+            NotificationCoalescingPolicy.Key key = coalescingPolicy.keyOf(dto.getUserId(), dto.getType(), dto.getProjectId());
+            if (key == null) {
+                created.add(NotificationFactory.createNotification(dto.getMessage(), dto.getType(), user, dto.getProjectId()));
+            } else {
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(dto);
+            }
+        }
+
+        List<Notification> merged = new ArrayList<>();
+        Map<NotificationCoalescingPolicy.Key, Notification> candidates = findCoalescingCandidates(groups.keySet());
+        for (Map.Entry<NotificationCoalescingPolicy.Key, List<NotificationCreateDto>> group : groups.entrySet()) {
+            List<NotificationCreateDto> dtos = group.getValue();
+            NotificationCreateDto latest = dtos.get(dtos.size() - 1);
+            Notification candidate = candidates.get(group.getKey());
+            if (candidate != null && merge(candidate, latest.getMessage(), dtos.size())) {
+                merged.add(candidate);
+            } else {
+                Notification notification = NotificationFactory.createNotification(latest.getMessage(), latest.getType(),
+                        users.get(latest.getUserId()), latest.getProjectId());
+                notification.setEventCount(dtos.size());
+                notification.setMessage(NotificationCoalescingPolicy.mergedMessage(latest.getMessage(), dtos.size()));
+                created.add(notification);
+            }
+        }
+
+        List<Notification> saved = BatchHelper.saveInBatches(created, notificationRepository::save, entityManager);
+        TransactionHelper.afterCommit(() -> {
+            saved.forEach(notification -> {
+                Integer userId = notification.getUser().getUserId();
+                unreadCountService.increment(userId);
+                publishChange(userId, notification);
+            });
+            // Merged rows were unread already, so only their new message and count are pushed
+            merged.forEach(notification -> publishChange(notification.getUser().getUserId(), notification));
+        });
+        List<Notification> result = new ArrayList<>(saved);
+        result.addAll(merged);
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<ServerSentEvent<Object>> streamNotifications(Integer userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found with id: " + userId);
+        }
+        return notificationStreamService.subscribe(userId, countUnreadNotifications(userId));
+    }
+
+    /** The newest unread notification within its type's window for each key */
+    private Map<NotificationCoalescingPolicy.Key, Notification> findCoalescingCandidates(
+            Set<NotificationCoalescingPolicy.Key> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Duration longestWindow = keys.stream()
+                .map(key -> coalescingPolicy.windowOf(key.type()))
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        Map<NotificationCoalescingPolicy.Key, Notification> candidates = new HashMap<>();
+        for (Notification notification : notificationRepository.findCoalescingCandidates(
+                keys.stream().map(NotificationCoalescingPolicy.Key::userId).collect(Collectors.toSet()),
+                keys.stream().map(NotificationCoalescingPolicy.Key::type).collect(Collectors.toSet()),
+                now.minus(longestWindow))) {
+            NotificationCoalescingPolicy.Key key = coalescingPolicy.keyOf(notification.getUser().getUserId(),
+                    notification.getType(), notification.getProjectId());
+            if (key != null && keys.contains(key)
+                    && !notification.getLastEventAt().isBefore(now.minus(coalescingPolicy.windowOf(key.type())))) {
+                candidates.putIfAbsent(key, notification);
+            }
+        }
+        return candidates;
+    }
+
+    private boolean merge(Notification candidate, String latestMessage, int events) {
+        int eventCount = candidate.getEventCount() + events;
+        String message = NotificationCoalescingPolicy.mergedMessage(latestMessage, eventCount);
+        LocalDateTime now = LocalDateTime.now();
+        // Conditional on the count read with the candidate; if it was read or merged into meanwhile,
+        // the events get a row of their own instead
+        if (notificationRepository.coalesce(candidate.getNotificationId(), candidate.getEventCount(), eventCount,
+                message, now) == 0) {
+            return false;
+        }
+        entityManager.detach(candidate);
+        candidate.setEventCount(eventCount);
+        candidate.setMessage(message);
+        candidate.setLastEventAt(now);
+        return true;
+    }
+
+    private void publishChange(Integer userId, Notification created) {
+        if (!notificationStreamService.hasSubscribers(userId)) {
+            return;
+        }
+        if (created != null) {
+            notificationStreamService.publishNotification(userId, created);
+        }
+        notificationStreamService.publishUnreadCount(userId, unreadCountService.getUnreadCount(userId));
     }
 }
@@ -0,0 +1,122 @@
+package za.ac.styling.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import za.ac.styling.domain.Notification;
+import za.ac.styling.dto.NotificationStreamStateDto;
+import za.ac.styling.service.INotificationStreamService;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process fan-out of notification events to Server-Sent Event subscribers.
+ * <p>
+ * Each subscriber gets a bounded buffer for new notifications; when a slow client lets it fill up,
+ * further notifications are dropped and counted. Unread-count changes travel on a separate
+ * channel that only keeps the latest value, so a lagging client always converges on the current
+ * count and can see from {@code droppedNotifications} that it should refetch its list.
+ */
+@Slf4j
+@Service
+public class NotificationStreamServiceImpl implements INotificationStreamService {
+
+    private static final String NOTIFICATION_EVENT = "notification";
+    private static final String STATE_EVENT = "unread-count";
+
+    private final Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final int bufferSize;
+    private final Duration heartbeat;
+
+    public NotificationStreamServiceImpl(@Value("${app.notifications.stream.buffer-size:64}") int bufferSize,
+                                         @Value("${app.notifications.stream.heartbeat:30s}") Duration heartbeat) {
+        this.bufferSize = bufferSize;
+        this.heartbeat = heartbeat;
+    }
+
+    @Override
+    public Flux<ServerSentEvent<Object>> subscribe(Integer userId, long unreadCount) {
+        Subscriber subscriber = new Subscriber(bufferSize, unreadCount);
+
+        Flux<ServerSentEvent<Object>> notifications = subscriber.notifications.asFlux()
+                .map(notification -> event(NOTIFICATION_EVENT, notification));
+        Flux<ServerSentEvent<Object>> states = subscriber.states.asFlux()
+                .startWith(new NotificationStreamStateDto(unreadCount, 0))
+                .onBackpressureLatest()
+                .map(state -> event(STATE_EVENT, state));
+        Flux<ServerSentEvent<Object>> heartbeats = Flux.interval(heartbeat)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.builder().comment("keep-alive").build());
+
+        return Flux.merge(1, notifications, states, heartbeats)
+                .doOnSubscribe(s -> subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber))
+                .doFinally(signal -> remove(userId, subscriber));
+    }
+
+    @Override
+    public boolean hasSubscribers(Integer userId) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        return userSubscribers != null && !userSubscribers.isEmpty();
+    }
+
+    @Override
+    public void publishNotification(Integer userId, Notification notification) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers != null) {
+            userSubscribers.forEach(subscriber -> subscriber.emitNotification(notification));
+        }
+    }
+
+    @Override
+    public void publishUnreadCount(Integer userId, long unreadCount) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers != null) {
+            userSubscribers.forEach(subscriber -> subscriber.emitState(unreadCount));
+        }
+    }
+
+    private void remove(Integer userId, Subscriber subscriber) {
+        subscribers.computeIfPresent(userId, (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private static ServerSentEvent<Object> event(String name, Object data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+
+    private static final class Subscriber {
+
+        private final Sinks.Many<Notification> notifications;
+        private final Sinks.Many<NotificationStreamStateDto> states;
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile long unreadCount;
+
+        private Subscriber(int bufferSize, long unreadCount) {
+            this.unreadCount = unreadCount;
+            this.notifications = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(bufferSize));
+            this.states = Sinks.many().multicast().directBestEffort();
+        }
+
+        private synchronized void emitNotification(Notification notification) {
+            if (notifications.tryEmitNext(notification) == Sinks.EmitResult.FAIL_OVERFLOW) {
+                dropped.incrementAndGet();
+                emitState(unreadCount);
+            }
+        }
+
+        private synchronized void emitState(long unreadCount) {
+            this.unreadCount = unreadCount;
+            states.tryEmitNext(new NotificationStreamStateDto(unreadCount, dropped.get()));
+        }
+    }
+}
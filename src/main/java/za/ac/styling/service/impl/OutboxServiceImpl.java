@@ -0,0 +1,129 @@
+package za.ac.styling.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import za.ac.styling.domain.NotificationType;
+import za.ac.styling.domain.OutboxEvent;
+import za.ac.styling.dto.NotificationCreateDto;
+import za.ac.styling.repository.OutboxEventRepository;
+import za.ac.styling.repository.ProjectUserRepository;
+import za.ac.styling.service.INotificationService;
+import za.ac.styling.service.IOutboxService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Transactional outbox for project notifications. Events are inserted next to the change that
+ * caused them; the relay reads a batch with {@code SKIP LOCKED}, creates one notification per
+ * project member in batched inserts, and deletes the batch in the same transaction. A crash at
+ * any point leaves either the events or their notifications, never neither.
+ * <p>
+ * If a batch fails, its events are relayed one at a time so a single bad event cannot hold up the
+ * rest; an event that fails {@code app.notifications.outbox.max-attempts} times on its own is kept
+ * with its error and no longer relayed.
+ */
+@Slf4j
+@Service
+public class OutboxServiceImpl implements IOutboxService {
+
+    private static final int MAX_MESSAGE_LENGTH = 255;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ProjectUserRepository projectUserRepository;
+    private final INotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             ProjectUserRepository projectUserRepository,
+                             INotificationService notificationService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.notifications.outbox.batch-size:50}") int batchSize,
+                             @Value("${app.notifications.outbox.max-attempts:5}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.projectUserRepository = projectUserRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(NotificationType type, Integer projectId, Integer actorUserId, String message) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .type(type)
+                .projectId(projectId)
+                .actorUserId(actorUserId)
+                // A message the notifications table cannot hold would block the relay for good
+                .message(message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message)
+                .build());
+    }
+
+    @Override
+    public int relayPendingEvents() {
+        try {
+            return transactionTemplate.execute(status ->
+                    relay(outboxEventRepository.findByFailedAtIsNullOrderByIdAsc(Limit.of(batchSize))));
+        } catch (RuntimeException e) {
+            log.warn("Relaying a batch of outbox events failed, relaying them one at a time", e);
+            return relayIndividually();
+        }
+    }
+
+    // Returns only the events relayed, so an event still being retried waits for the next poll
+    private int relayIndividually() {
+        int handled = 0;
+        for (Long id : outboxEventRepository.findPendingIds(Limit.of(batchSize))) {
+            try {
+                handled += transactionTemplate.execute(status ->
+                        relay(outboxEventRepository.findByIdAndFailedAtIsNull(id).stream().toList()));
+            } catch (RuntimeException e) {
+                log.warn("Relaying outbox event {} failed", id, e);
+                String error = String.valueOf(e.getMessage());
+                transactionTemplate.executeWithoutResult(status -> outboxEventRepository.recordFailure(id,
+                        error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                        maxAttempts, LocalDateTime.now()));
+            }
+        }
+        return handled;
+    }
+
+    private int relay(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        Map<Integer, List<Integer>> members = new HashMap<>();
+        for (Object[] pair : projectUserRepository.findMemberPairs(
+                events.stream().map(OutboxEvent::getProjectId).distinct().toList())) {
+            members.computeIfAbsent((Integer) pair[0], projectId -> new ArrayList<>()).add((Integer) pair[1]);
+        }
+
+        List<NotificationCreateDto> notifications = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            for (Integer userId : members.getOrDefault(event.getProjectId(), List.of())) {
+                if (!Objects.equals(userId, event.getActorUserId())) {
+                    notifications.add(new NotificationCreateDto(event.getMessage(), event.getType(), userId, event.getProjectId()));
+                }
+            }
+        }
+        if (!notifications.isEmpty()) {
+            notificationService.createNotifications(notifications);
+        }
+        outboxEventRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+        return events.size();
+    }
+}
@@ -0,0 +1,251 @@
+package za.ac.styling.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+import za.ac.styling.domain.Deliverable;
+import za.ac.styling.domain.PreviewJob;
+import za.ac.styling.domain.PreviewSize;
+import za.ac.styling.domain.PreviewStatus;
+import za.ac.styling.dto.PreviewDto;
+import za.ac.styling.repository.PreviewJobRepository;
+import za.ac.styling.service.IContentBlobService;
+import za.ac.styling.service.IPreviewService;
+import za.ac.styling.util.ContentTypeHelper;
+import za.ac.styling.util.PreviewRenderer;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Renders thumbnails and first-page previews in the background. Jobs are rows in
+ * {@code preview_jobs}; a poller claims at most as many as there are idle workers, so the worker
+ * pool never queues more than it can run. Rendered files live under
+ * {@code previews/<first two hex digits>/<sha256>} and are shared by deliverables with the same
+ * content; served previews are kept in a cache bounded by total bytes.
+ */
+@Slf4j
+@Service
+public class PreviewServiceImpl implements IPreviewService {
+
+    static final String PREVIEWS_DIR = "previews";
+
+    private static final int PURGE_BATCH_SIZE = 100;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PreviewJobRepository previewJobRepository;
+    private final IContentBlobService contentBlobService;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration jobTimeout;
+    private final ExecutorService workers;
+    // One permit per worker; a job is only claimed after taking one
+    private final Semaphore idleWorkers;
+    private final Cache<String, PreviewDto> previews;
+
+    public PreviewServiceImpl(PreviewJobRepository previewJobRepository,
+                              IContentBlobService contentBlobService,
+                              @Value("${app.deliverables.previews.workers:2}") int workers,
+                              @Value("${app.deliverables.previews.max-attempts:3}") int maxAttempts,
+                              @Value("${app.deliverables.previews.retry-delay:1m}") Duration retryDelay,
+                              @Value("${app.deliverables.previews.job-timeout:10m}") Duration jobTimeout,
+                              @Value("${app.deliverables.previews.cache-size:64MB}") DataSize cacheSize) {
+        this.previewJobRepository = previewJobRepository;
+        this.contentBlobService = contentBlobService;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.jobTimeout = jobTimeout;
+        this.workers = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("preview-", 1).daemon().factory());
+        this.idleWorkers = new Semaphore(workers);
+        this.previews = Caffeine.newBuilder()
+                .maximumWeight(cacheSize.toBytes())
+                .weigher((String key, PreviewDto preview) -> preview.getContent().length)
+                .recordStats()
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Jobs cut short stay RUNNING and are queued again once they time out
+        workers.shutdownNow();
+    }
+
+    @Override
+    @Transactional
+    public void schedule(Deliverable deliverable) {
+        if (deliverable.getStoragePath() == null || deliverable.getContentSha256() == null) {
+            return;
+        }
+        MediaType type = ContentTypeHelper.resolve(deliverable.getFileType(), deliverable.getFileName());
+        if (!PreviewRenderer.supports(type)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        previewJobRepository.save(PreviewJob.builder()
+                .deliverableId(deliverable.getDeliverableId())
+                .sha256(deliverable.getContentSha256())
+                .storagePath(deliverable.getStoragePath())
+                .contentType(type.toString())
+                .availableAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    @Override
+    public int dispatchPendingJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(jobTimeout);
+        int requeued = previewJobRepository.requeueStale(cutoff, maxAttempts, now);
+        if (requeued > 0) {
+            log.warn("Queued {} preview jobs again after they ran longer than {}", requeued, jobTimeout);
+        }
+        int failed = previewJobRepository.failStale(cutoff, maxAttempts, "Timed out after " + jobTimeout, now);
+        if (failed > 0) {
+            log.warn("Gave up on {} preview jobs that ran longer than {} on their last attempt", failed, jobTimeout);
+        }
+        int idle = idleWorkers.availablePermits();
+        if (idle == 0) {
+            return 0;
+        }
+        List<PreviewJob> jobs = previewJobRepository.findByStatusAndAvailableAtLessThanEqualOrderByAvailableAtAsc(
+                PreviewStatus.PENDING, now, Limit.of(idle));
+        int started = 0;
+        for (PreviewJob job : jobs) {
+            if (!idleWorkers.tryAcquire()) {
+                break;
+            }
+            // Another instance may have claimed it since the SELECT
+            if (previewJobRepository.claim(job.getId(), now) == 0) {
+                idleWorkers.release();
+                continue;
+            }
+            job.setAttempts(job.getAttempts() + 1);
+            try {
+                workers.execute(() -> run(job));
+                started++;
+            } catch (RejectedExecutionException e) {
+                idleWorkers.release();
+                break;
+            }
+        }
+        return started;
+    }
+
+    @Override
+    public Optional<PreviewDto> findPreview(Integer deliverableId, PreviewSize size) {
+        return previewJobRepository.findByDeliverableIdAndStatus(deliverableId, PreviewStatus.READY)
+                .map(job -> previews.get(job.getSha256() + "/" + size, key -> load(job, size)));
+    }
+
+    @Override
+    public int purgeOrphanedPreviews() {
+        List<PreviewJob> orphaned = previewJobRepository.findOrphaned(Limit.of(PURGE_BATCH_SIZE));
+        for (PreviewJob job : orphaned) {
+            previewJobRepository.delete(job);
+            if (!previewJobRepository.existsBySha256(job.getSha256())) {
+                deletePreviews(job.getSha256());
+            }
+        }
+        return orphaned.size();
+    }
+
+    private void run(PreviewJob job) {
+        try {
+            String format = render(job);
+            LocalDateTime now = LocalDateTime.now();
+            previewJobRepository.finish(job.getId(), PreviewStatus.READY, format, null, now, now);
+        } catch (Exception e) {
+            boolean retry = job.getAttempts() < maxAttempts;
+            log.warn("Preview of deliverable {} failed on attempt {}{}", job.getDeliverableId(), job.getAttempts(),
+                    retry ? "; will retry" : "", e);
+            LocalDateTime now = LocalDateTime.now();
+            String error = String.valueOf(e.getMessage());
+            previewJobRepository.finish(job.getId(), retry ? PreviewStatus.PENDING : PreviewStatus.FAILED, null,
+                    error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH)),
+                    now.plus(retryDelay.multipliedBy(job.getAttempts())), now);
+        } finally {
+            idleWorkers.release();
+        }
+    }
+
+    /** Renders every size, or reuses the files of another deliverable with the same content */
+    private String render(PreviewJob job) throws IOException {
+        Optional<PreviewJob> rendered = previewJobRepository.findFirstBySha256AndStatus(job.getSha256(), PreviewStatus.READY);
+        if (rendered.isPresent() && Files.exists(previewFile(job.getSha256(), PreviewSize.THUMBNAIL, rendered.get().getFormat()))) {
+            return rendered.get().getFormat();
+        }
+        BufferedImage page = PreviewRenderer.readFirstPage(contentBlobService.resolve(job.getStoragePath()),
+                MediaType.parseMediaType(job.getContentType()), PreviewSize.PREVIEW.getMaxDimension());
+        String format = PreviewRenderer.formatFor(page);
+        // Smallest last, so each size is scaled from the previous one
+        for (PreviewSize size : List.of(PreviewSize.PREVIEW, PreviewSize.THUMBNAIL)) {
+            page = PreviewRenderer.scale(page, size.getMaxDimension());
+            write(previewFile(job.getSha256(), size, format), PreviewRenderer.encode(page, format));
+        }
+        return format;
+    }
+
+    private PreviewDto load(PreviewJob job, PreviewSize size) {
+        Path file = previewFile(job.getSha256(), size, job.getFormat());
+        try {
+            return PreviewDto.builder()
+                    .content(Files.readAllBytes(file))
+                    .contentType("image/" + job.getFormat())
+                    .etag("\"" + job.getSha256() + "-" + size.name().toLowerCase() + "\"")
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read preview " + file, e);
+        }
+    }
+
+    private static void write(Path file, byte[] content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void deletePreviews(String sha256) {
+        for (PreviewSize size : PreviewSize.values()) {
+            previews.invalidate(sha256 + "/" + size);
+            for (String format : List.of("png", "jpeg")) {
+                try {
+                    Files.deleteIfExists(previewFile(sha256, size, format));
+                } catch (NoSuchFileException e) {
+                    // already gone
+                } catch (IOException e) {
+                    log.warn("Could not delete {} preview of {}", size, sha256, e);
+                }
+            }
+        }
+    }
+
+    private Path previewFile(String sha256, PreviewSize size, String format) {
+        return contentBlobService.resolve(PREVIEWS_DIR + "/" + sha256.substring(0, 2) + "/" + sha256 + "/"
+                + size.name().toLowerCase() + "." + format);
+    }
+}
@@ -0,0 +1,107 @@
+package za.ac.styling.service.impl;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import za.ac.styling.domain.Project;
+import za.ac.styling.domain.TaskStatus;
+import za.ac.styling.repository.ProjectRepository;
+import za.ac.styling.repository.TaskRepository;
+import za.ac.styling.service.IProjectProgressService;
+import za.ac.styling.util.TransactionHelper;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps per-project task counters in step with task writes so {@code Project.progress} can be
+ * recomputed from three columns instead of scanning the project's tasks. Counters are adjusted
+ * with relative UPDATE statements, so concurrent transitions on the same project do not lose
+ * increments.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ProjectProgressServiceImpl implements IProjectProgressService {
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void recordTransition(Integer projectId, TaskStatus from, TaskStatus to) {
+        if (projectId == null || from == to) {
+            return;
+        }
+        projectRepository.adjustTaskCounts(projectId,
+                delta(TaskStatus.NOT_STARTED, from, to),
+                delta(TaskStatus.IN_PROGRESS, from, to),
+                delta(TaskStatus.DONE, from, to));
+        projectRepository.refreshProgress(projectId);
+        evictCachedProject(projectId);
+    }
+
+    @Override
+    public void recordCreated(Integer projectId, List<TaskStatus> statuses) {
+        if (projectId == null || statuses.isEmpty()) {
+            return;
+        }
+        int notStarted = 0;
+        int inProgress = 0;
+        int done = 0;
+        for (TaskStatus status : statuses) {
+            switch (status) {
+                case NOT_STARTED -> notStarted++;
+                case IN_PROGRESS -> inProgress++;
+                case DONE -> done++;
+            }
+        }
+        projectRepository.adjustTaskCounts(projectId, notStarted, inProgress, done);
+        projectRepository.refreshProgress(projectId);
+        evictCachedProject(projectId);
+    }
+
+    @Override
+    public int rebuildAll() {
+        // Transitions lock their task and then adjust the project row. With every project locked
+        // first, a transition that was not counted is applied on top of the rebuilt counters after
+        // this transaction commits, instead of being overwritten by them
+        projectRepository.lockAllForUpdate();
+        Map<Integer, Map<TaskStatus, Integer>> counts = new HashMap<>();
+        for (Object[] row : taskRepository.countByProjectAndStatus()) {
+            counts.computeIfAbsent((Integer) row[0], id -> new EnumMap<>(TaskStatus.class))
+                    .put((TaskStatus) row[1], ((Number) row[2]).intValue());
+        }
+
+        projectRepository.resetTaskCounts();
+        counts.forEach((projectId, byStatus) -> projectRepository.setTaskCounts(projectId,
+                byStatus.getOrDefault(TaskStatus.NOT_STARTED, 0),
+                byStatus.getOrDefault(TaskStatus.IN_PROGRESS, 0),
+                byStatus.getOrDefault(TaskStatus.DONE, 0)));
+        projectRepository.refreshAllProgress();
+        return counts.size();
+    }
+
+    // The counter updates bypass the second-level cache. Evict now for this transaction's reads, and
+    // again after commit in case a concurrent reader cached the pre-commit row in between
+    private void evictCachedProject(Integer projectId) {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Project.class, projectId);
+        TransactionHelper.afterCommit(() -> cache.evict(Project.class, projectId));
+    }
+
+    private static int delta(TaskStatus counted, TaskStatus from, TaskStatus to) {
+        int delta = 0;
+        if (from == counted) {
+            delta--;
+        }
+        if (to == counted) {
+            delta++;
+        }
+        return delta;
+    }
+}
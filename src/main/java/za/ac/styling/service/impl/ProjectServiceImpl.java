@@ -1,13 +1,25 @@
 package za.ac.styling.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import za.ac.styling.domain.NotificationType;
 import za.ac.styling.domain.Project;
 import za.ac.styling.domain.ProjectStatus;
+import za.ac.styling.domain.SearchEntityType;
+import za.ac.styling.dto.CursorPageDto;
+import za.ac.styling.dto.ProjectSummary;
 import za.ac.styling.factory.ProjectFactory;
+import za.ac.styling.repository.DeliverableRepository;
 import za.ac.styling.repository.ProjectRepository;
+import za.ac.styling.service.IContentBlobService;
+import za.ac.styling.service.IOutboxService;
 import za.ac.styling.service.IProjectService;
+import za.ac.styling.service.IProjectUserService;
+import za.ac.styling.service.ISearchService;
+import za.ac.styling.util.PageCursor;
+import za.ac.styling.util.SearchHelper;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,13 +31,28 @@ import java.util.Optional;
 public class ProjectServiceImpl implements IProjectService {
 
     private final ProjectRepository projectRepository;
+    private final IProjectUserService projectUserService;
+    private final ISearchService searchService;
+    private final DeliverableRepository deliverableRepository;
+    private final IContentBlobService contentBlobService;
+    private final IOutboxService outboxService;
 
     @Override
     public Project save(Project entity) {
         if (!ProjectFactory.validateProject(entity)) {
             throw new IllegalArgumentException("Invalid project data");
         }
-        return projectRepository.save(entity);
+        if (entity.getProjectId() != null && projectRepository.existsById(entity.getProjectId())) {
+            return update(entity);
+        }
+        // A new project has no tasks yet, whatever the request says
+        entity.setProgress(0.0);
+        entity.setNotStartedTaskCount(0);
+        entity.setInProgressTaskCount(0);
+        entity.setDoneTaskCount(0);
+        Project saved = projectRepository.save(entity);
+        searchService.indexProject(saved);
+        return saved;
     }
 
     @Override
@@ -40,15 +67,36 @@ public class ProjectServiceImpl implements IProjectService {
         return projectRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<Project> findPage(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<Project> rows = projectRepository.findByProjectIdGreaterThanOrderByProjectIdAsc(
+                after == null ? 0 : after.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize, project -> PageCursor.encode(project.getProjectId()));
+    }
+
     @Override
     public Project update(Project entity) {
         if (!ProjectFactory.validateProject(entity)) {
             throw new IllegalArgumentException("Invalid project data");
         }
-        if (!projectRepository.existsById(entity.getProjectId())) {
-            throw new IllegalArgumentException("Project not found with id: " + entity.getProjectId());
+        Project project = projectRepository.findById(entity.getProjectId())
+                .orElseThrow(() -> new IllegalArgumentException("Project not found with id: " + entity.getProjectId()));
+        // Progress and the task counters follow the project's tasks, so only the editable fields are
+        // copied; merging the request would also put its counters into the second-level cache
+        project.setClientId(entity.getClientId());
+        project.setTitle(entity.getTitle());
+        project.setDescription(entity.getDescription());
+        project.setStartDate(entity.getStartDate());
+        project.setDueDate(entity.getDueDate());
+        if (entity.getStatus() != null) {
+            project.updateStatus(entity.getStatus());
         }
-        return projectRepository.save(entity);
+        Project saved = projectRepository.save(project);
+        searchService.indexProject(saved);
+        return saved;
     }
 
     @Override
@@ -56,12 +104,18 @@ public class ProjectServiceImpl implements IProjectService {
         if (!projectRepository.existsById(id)) {
             throw new IllegalArgumentException("Project not found with id: " + id);
         }
+        releaseDeliverableContent(id);
         projectRepository.deleteById(id);
+        projectUserService.evictProject(id);
+        searchService.remove(SearchEntityType.PROJECT, id);
     }
 
     @Override
     public void delete(Project entity) {
+        releaseDeliverableContent(entity.getProjectId());
         projectRepository.delete(entity);
+        projectUserService.evictProject(entity.getProjectId());
+        searchService.remove(SearchEntityType.PROJECT, entity.getProjectId());
     }
 
     @Override
@@ -91,7 +145,8 @@ public class ProjectServiceImpl implements IProjectService {
     @Override
     @Transactional(readOnly = true)
     public List<Project> searchByTitle(String title) {
-        return projectRepository.findByTitleContainingIgnoreCase(title);
+        List<Integer> ids = searchService.findIds(SearchEntityType.PROJECT, title);
+        return SearchHelper.loadInRankOrder(ids, projectRepository::findAllById, Project::getProjectId);
     }
 
     @Override
@@ -112,27 +167,74 @@ public class ProjectServiceImpl implements IProjectService {
         return projectRepository.findByClientIdAndStatus(clientId, status);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<Project> findPageByDueDate(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<Project> rows = after == null
+                ? projectRepository.findByDueDateNotNullOrderByDueDateAscProjectIdAsc(Limit.of(pageSize + 1))
+                : projectRepository.findDueDatePageAfter(after.keyAsDate(), after.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize, project -> PageCursor.encode(project.getDueDate(), project.getProjectId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectSummary> findSummaries() {
+        return projectRepository.findSummariesBy();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectSummary> findSummariesByClientId(Integer clientId) {
+        return projectRepository.findSummariesByClientId(clientId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectSummary> findSummariesByStatus(ProjectStatus status) {
+        return projectRepository.findSummariesByStatus(status);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProjectSummary> findSummaryPage(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<ProjectSummary> rows = projectRepository.findSummariesByProjectIdGreaterThanOrderByProjectIdAsc(
+                after == null ? 0 : after.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize, project -> PageCursor.encode(project.getProjectId()));
+    }
+
     @Override
     public void updateProjectStatus(Integer projectId, ProjectStatus status) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new IllegalArgumentException("Project not found with id: " + projectId));
-        
-        project.updateStatus(status);
-        projectRepository.save(project);
+        updateProjectStatus(projectId, status, null);
     }
 
     @Override
-    public void updateProjectProgress(Integer projectId, Double progress) {
+    public void updateProjectStatus(Integer projectId, ProjectStatus status, Integer actorUserId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new IllegalArgumentException("Project not found with id: " + projectId));
         
-        project.setProgress(progress);
+        ProjectStatus previous = project.getStatus();
+        project.updateStatus(status);
         projectRepository.save(project);
+        if (previous != status) {
+            outboxService.record(NotificationType.PROJECT_UPDATE, projectId, actorUserId,
+                    "Project \"" + project.getTitle() + "\" is now " + status.name().replace('_', ' ').toLowerCase());
+        }
     }
 
     @Override
     public Project createProject(Integer clientId, String title, String description, LocalDate startDate, LocalDate dueDate) {
         Project project = ProjectFactory.createProject(clientId, title, description, startDate, dueDate);
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        searchService.indexProject(saved);
+        return saved;
+    }
+
+    // Deliverables go with the project by cascade, so their stored content is released here
+    private void releaseDeliverableContent(Integer projectId) {
+        deliverableRepository.findStoredContentSha256ByProjectId(projectId).forEach(contentBlobService::release);
     }
 }
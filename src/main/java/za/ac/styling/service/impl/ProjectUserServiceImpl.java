@@ -1,42 +1,76 @@
 package za.ac.styling.service.impl;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import za.ac.styling.domain.Project;
 import za.ac.styling.domain.ProjectAccessRole;
 import za.ac.styling.domain.ProjectUser;
 import za.ac.styling.domain.User;
+import za.ac.styling.dto.CursorPageDto;
+import za.ac.styling.dto.MembershipCacheStatsDto;
+import za.ac.styling.dto.ProjectUserAddDto;
 import za.ac.styling.factory.ProjectUserFactory;
 import za.ac.styling.repository.ProjectRepository;
 import za.ac.styling.repository.ProjectUserRepository;
 import za.ac.styling.repository.UserRepository;
 import za.ac.styling.service.IProjectUserService;
+import za.ac.styling.util.BatchHelper;
+import za.ac.styling.util.PackedLongByteCache;
+import za.ac.styling.util.PageCursor;
+import za.ac.styling.util.TransactionHelper;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
 public class ProjectUserServiceImpl implements IProjectUserService {
 
+    private static final ProjectAccessRole[] ROLES = ProjectAccessRole.values();
+    private static final byte NOT_A_MEMBER = (byte) ROLES.length;
+
     private final ProjectUserRepository projectUserRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final PackedLongByteCache roleCache;
+
+    public ProjectUserServiceImpl(ProjectUserRepository projectUserRepository,
+                                  ProjectRepository projectRepository,
+                                  UserRepository userRepository,
+                                  EntityManager entityManager,
+                                  @Value("${app.project-users.role-cache.max-entries:200000}") int maxEntries,
+                                  @Value("${app.project-users.role-cache.segments:16}") int segments) {
+        this.projectUserRepository = projectUserRepository;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.roleCache = new PackedLongByteCache(maxEntries, segments);
+    }
 
     @Override
     public ProjectUser save(ProjectUser entity) {
         if (entity == null || entity.getProject() == null || entity.getUser() == null || entity.getRole() == null) {
             throw new IllegalArgumentException("Invalid project user data");
         }
-        return projectUserRepository.save(entity);
+        ProjectUser saved = projectUserRepository.save(entity);
+        evictMembership(saved);
+        return initializeAssociations(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<ProjectUser> findById(Integer id) {
-        return projectUserRepository.findById(id);
+        return projectUserRepository.findWithUserAndProjectById(id);
     }
 
     @Override
@@ -45,6 +79,16 @@ public class ProjectUserServiceImpl implements IProjectUserService {
         return projectUserRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProjectUser> findPage(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<ProjectUser> rows = projectUserRepository.findByIdGreaterThanOrderByIdAsc(
+                after == null ? 0 : after.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize, projectUser -> PageCursor.encode(projectUser.getId()));
+    }
+
     @Override
     public ProjectUser update(ProjectUser entity) {
         if (entity == null || entity.getProject() == null || entity.getUser() == null || entity.getRole() == null) {
@@ -53,20 +97,25 @@ public class ProjectUserServiceImpl implements IProjectUserService {
         if (!projectUserRepository.existsById(entity.getId())) {
             throw new IllegalArgumentException("ProjectUser not found with id: " + entity.getId());
         }
-        return projectUserRepository.save(entity);
+        // The update may move the row to another (project, user) pair, so drop the old key too
+        projectUserRepository.findById(entity.getId()).ifPresent(this::evictMembership);
+        ProjectUser saved = projectUserRepository.save(entity);
+        evictMembership(saved);
+        return initializeAssociations(saved);
     }
 
     @Override
     public void deleteById(Integer id) {
-        if (!projectUserRepository.existsById(id)) {
-            throw new IllegalArgumentException("ProjectUser not found with id: " + id);
-        }
-        projectUserRepository.deleteById(id);
+        ProjectUser projectUser = projectUserRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("ProjectUser not found with id: " + id));
+        projectUserRepository.delete(projectUser);
+        evictMembership(projectUser);
     }
 
     @Override
     public void delete(ProjectUser entity) {
         projectUserRepository.delete(entity);
+        evictMembership(entity);
     }
 
     @Override
@@ -96,7 +145,15 @@ public class ProjectUserServiceImpl implements IProjectUserService {
     @Override
     @Transactional(readOnly = true)
     public Optional<ProjectUser> findByProjectIdAndUserId(Integer projectId, Integer userId) {
-        return projectUserRepository.findByProjectProjectIdAndUserUserId(projectId, userId);
+        long key = PackedLongByteCache.key(projectId, userId);
+        if (roleCache.get(key) == NOT_A_MEMBER) {
+            return Optional.empty();
+        }
+        long stamp = roleCache.stamp(key);
+        Optional<ProjectUser> projectUser =
+                projectUserRepository.findWithUserAndProjectByProjectProjectIdAndUserUserId(projectId, userId);
+        cacheRole(key, stamp, projectUser.map(ProjectUser::getRole));
+        return projectUser;
     }
 
     @Override
@@ -114,7 +171,7 @@ public class ProjectUserServiceImpl implements IProjectUserService {
     @Override
     @Transactional(readOnly = true)
     public boolean existsByProjectIdAndUserId(Integer projectId, Integer userId) {
-        return projectUserRepository.existsByProjectProjectIdAndUserUserId(projectId, userId);
+        return findRole(projectId, userId).isPresent();
     }
 
     @Override
@@ -124,11 +181,12 @@ public class ProjectUserServiceImpl implements IProjectUserService {
         
         projectUser.changeAccessRole(newRole);
         projectUserRepository.save(projectUser);
+        evictMembership(projectId, userId);
     }
 
     @Override
     public ProjectUser addUserToProject(Integer projectId, Integer userId, ProjectAccessRole role) {
-        if (projectUserRepository.existsByProjectProjectIdAndUserUserId(projectId, userId)) {
+        if (existsByProjectIdAndUserId(projectId, userId)) {
             throw new IllegalArgumentException("User already assigned to this project");
         }
         
@@ -139,7 +197,9 @@ public class ProjectUserServiceImpl implements IProjectUserService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
         
         ProjectUser projectUser = ProjectUserFactory.createProjectUser(project, user, role);
-        return projectUserRepository.save(projectUser);
+        ProjectUser saved = projectUserRepository.save(projectUser);
+        evictMembership(projectId, userId);
+        return saved;
     }
 
     @Override
@@ -148,5 +208,138 @@ public class ProjectUserServiceImpl implements IProjectUserService {
                 .orElseThrow(() -> new IllegalArgumentException("ProjectUser not found for project: " + projectId + " and user: " + userId));
         
         projectUserRepository.delete(projectUser);
+        evictMembership(projectId, userId);
+    }
+
+    @Override
+    public List<ProjectUser> addUsersToProjects(List<ProjectUserAddDto> memberships) {
+        if (memberships == null || memberships.isEmpty()) {
+            throw new IllegalArgumentException("At least one membership is required");
+        }
+        Set<Integer> projectIds = new HashSet<>();
+        Set<Integer> userIds = new HashSet<>();
+        Set<Long> requested = new HashSet<>();
+        for (ProjectUserAddDto dto : memberships) {
+            if (!requested.add(PackedLongByteCache.key(dto.getProjectId(), dto.getUserId()))) {
+                throw new IllegalArgumentException("User " + dto.getUserId() + " listed twice for project: " + dto.getProjectId());
+            }
+            projectIds.add(dto.getProjectId());
+            userIds.add(dto.getUserId());
+        }
+        for (Object[] pair : projectUserRepository.findMembershipPairs(projectIds, userIds)) {
+            if (requested.contains(PackedLongByteCache.key((Integer) pair[0], (Integer) pair[1]))) {
+                throw new IllegalArgumentException("User " + pair[1] + " already assigned to project: " + pair[0]);
+            }
+        }
+
+        Map<Integer, Project> projects = new HashMap<>();
+        projectRepository.findAllById(projectIds).forEach(project -> projects.put(project.getProjectId(), project));
+        Map<Integer, User> users = new HashMap<>();
+        userRepository.findAllById(userIds).forEach(user -> users.put(user.getUserId(), user));
+
+        List<ProjectUser> created = new ArrayList<>(memberships.size());
+        for (ProjectUserAddDto dto : memberships) {
+            Project project = projects.get(dto.getProjectId());
+            if (project == null) {
+                throw new IllegalArgumentException("Project not found with id: " + dto.getProjectId());
+            }
+            User user = users.get(dto.getUserId());
+            if (user == null) {
+                throw new IllegalArgumentException("User not found with id: " + dto.getUserId());
+            }
+            created.add(ProjectUserFactory.createProjectUser(project, user, dto.getRole()));
+        }
+
+        List<ProjectUser> saved = BatchHelper.saveInBatches(created, projectUserRepository::save, entityManager);
+        saved.forEach(this::evictMembership);
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ProjectAccessRole> findRole(Integer projectId, Integer userId) {
+        if (projectId == null || userId == null) {
+            return Optional.empty();
+        }
+        long key = PackedLongByteCache.key(projectId, userId);
+        byte cached = roleCache.get(key);
+        if (cached != PackedLongByteCache.ABSENT) {
+            return cached == NOT_A_MEMBER ? Optional.empty() : Optional.of(ROLES[cached]);
+        }
+        long stamp = roleCache.stamp(key);
+        Optional<ProjectAccessRole> role = projectUserRepository.findRoleByProjectIdAndUserId(projectId, userId);
+        cacheRole(key, stamp, role);
+        return role;
+    }
+
+    @Override
+    public void evictProject(Integer projectId) {
+        if (projectId == null) {
+            return;
+        }
+        int id = projectId;
+        Runnable eviction = () -> roleCache.removeIf(key -> PackedLongByteCache.highOf(key) == id);
+        eviction.run();
+        TransactionHelper.afterCommit(eviction);
+    }
+
+    @Override
+    public void evictUser(Integer userId) {
+        if (userId == null) {
+            return;
+        }
+        int id = userId;
+        Runnable eviction = () -> roleCache.removeIf(key -> PackedLongByteCache.lowOf(key) == id);
+        eviction.run();
+        TransactionHelper.afterCommit(eviction);
+    }
+
+    @Override
+    public MembershipCacheStatsDto getCacheStats() {
+        long hits = roleCache.hits();
+        long misses = roleCache.misses();
+        long requests = hits + misses;
+        return MembershipCacheStatsDto.builder()
+                .size(roleCache.size())
+                .hits(hits)
+                .misses(misses)
+                .hitRate(requests == 0 ? 0.0 : (double) hits / requests)
+                .evictions(roleCache.evictions())
+                .build();
+    }
+
+    // The stamp is taken before the read, so a role read before an eviction that ran in the meantime
+    // is not cached after it
+    private void cacheRole(long key, long stamp, Optional<ProjectAccessRole> role) {
+        // Only cache what is committed; a read inside a writing transaction may see uncommitted rows
+        if (TransactionHelper.isInWritableTransaction()) {
+            return;
+        }
+        roleCache.putIfUnchanged(key, role.map(r -> (byte) r.ordinal()).orElse(NOT_A_MEMBER), stamp);
+    }
+
+    // A merged request body refers to its user and project through uninitialized proxies, which
+    // cannot be serialized once the transaction has closed
+    private static ProjectUser initializeAssociations(ProjectUser projectUser) {
+        Hibernate.initialize(projectUser.getUser());
+        Hibernate.initialize(projectUser.getProject());
+        return projectUser;
+    }
+
+    private void evictMembership(ProjectUser projectUser) {
+        if (projectUser.getProject() != null && projectUser.getUser() != null) {
+            evictMembership(projectUser.getProject().getProjectId(), projectUser.getUser().getUserId());
+        }
+    }
+
+    // Evict now for this transaction's own reads, and again after commit in case a concurrent
+    // reader cached the pre-commit value in between
+    private void evictMembership(Integer projectId, Integer userId) {
+        if (projectId == null || userId == null) {
+            return;
+        }
+        long key = PackedLongByteCache.key(projectId, userId);
+        roleCache.remove(key);
+        TransactionHelper.afterCommit(() -> roleCache.remove(key));
     }
 }
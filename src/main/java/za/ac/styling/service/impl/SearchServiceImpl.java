@@ -0,0 +1,247 @@
+package za.ac.styling.service.impl;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import za.ac.styling.domain.Deliverable;
+import za.ac.styling.domain.Project;
+import za.ac.styling.domain.SearchEntityType;
+import za.ac.styling.domain.Task;
+import za.ac.styling.domain.User;
+import za.ac.styling.dto.SearchHitDto;
+import za.ac.styling.repository.DeliverableRepository;
+import za.ac.styling.repository.ProjectRepository;
+import za.ac.styling.repository.TaskRepository;
+import za.ac.styling.repository.UserRepository;
+import za.ac.styling.service.ISearchService;
+import za.ac.styling.util.InvertedIndex;
+import za.ac.styling.util.TransactionHelper;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Keeps an {@link InvertedIndex} of the searchable text of projects, tasks, users and
+ * deliverables. Write paths call the {@code index*}/{@code remove} methods; changes are applied
+ * after commit so rolled-back writes never become searchable.
+ */
+@Service
+public class SearchServiceImpl implements ISearchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final int PRIMARY = 0;
+    private static final int SECONDARY = 1;
+    private static final int DETAIL = 2;
+    private static final int PRIMARY_ONLY = 1 << PRIMARY;
+
+    private static final float PRIMARY_WEIGHT = 3.0f;
+    private static final float SECONDARY_WEIGHT = 1.5f;
+    private static final float DETAIL_WEIGHT = 1.0f;
+
+    private static final SearchEntityType[] TYPES = SearchEntityType.values();
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final DeliverableRepository deliverableRepository;
+    private final EntityManager entityManager;
+    private final int maxIds;
+
+    private final Object swapLock = new Object();
+    private volatile InvertedIndex index = new InvertedIndex();
+    private List<Consumer<InvertedIndex>> pendingDuringRebuild;
+
+    public SearchServiceImpl(ProjectRepository projectRepository,
+                             TaskRepository taskRepository,
+                             UserRepository userRepository,
+                             DeliverableRepository deliverableRepository,
+                             EntityManager entityManager,
+                             @Value("${app.search.max-ids:500}") int maxIds) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.deliverableRepository = deliverableRepository;
+        this.entityManager = entityManager;
+        this.maxIds = maxIds;
+    }
+
+    @Override
+    public List<SearchHitDto> search(String query, Set<SearchEntityType> types, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        int max = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        Set<SearchEntityType> wanted = types == null || types.isEmpty()
+                ? EnumSet.allOf(SearchEntityType.class)
+                : EnumSet.copyOf(types);
+
+        List<SearchHitDto> hits = new ArrayList<>();
+        for (InvertedIndex.Match match : index.search(query,
+                key -> wanted.contains(typeOf(key)), InvertedIndex.ALL_FIELDS, max)) {
+            hits.add(SearchHitDto.builder()
+                    .type(typeOf(match.getKey()))
+                    .id(idOf(match.getKey()))
+                    .label(match.getLabel())
+                    .score(match.getScore())
+                    .build());
+        }
+        return hits;
+    }
+
+    @Override
+    public List<Integer> findIds(SearchEntityType type, String query) {
+        List<Integer> ids = new ArrayList<>();
+        for (InvertedIndex.Match match : index.search(query,
+                key -> typeOf(key) == type, PRIMARY_ONLY, maxIds)) {
+            ids.add(idOf(match.getKey()));
+        }
+        return ids;
+    }
+
+    @Override
+    public void indexProject(Project project) {
+        InvertedIndex.Document document = projectDocument(project);
+        TransactionHelper.afterCommit(() -> apply(target -> target.put(document)));
+    }
+
+    @Override
+    public void indexTask(Task task) {
+        InvertedIndex.Document document = taskDocument(task);
+        TransactionHelper.afterCommit(() -> apply(target -> target.put(document)));
+    }
+
+    @Override
+    public void indexUser(User user) {
+        InvertedIndex.Document document = userDocument(user);
+        TransactionHelper.afterCommit(() -> apply(target -> target.put(document)));
+    }
+
+    @Override
+    public void indexDeliverable(Deliverable deliverable) {
+        InvertedIndex.Document document = deliverableDocument(deliverable);
+        TransactionHelper.afterCommit(() -> apply(target -> target.put(document)));
+    }
+
+    @Override
+    public void remove(SearchEntityType type, Integer id) {
+        if (id == null) {
+            return;
+        }
+        long key = keyOf(type, id);
+        TransactionHelper.afterCommit(() -> apply(target -> {
+            target.remove(key);
+            if (type == SearchEntityType.PROJECT) {
+                // Tasks and deliverables are deleted with their project
+                target.removeChildren(key);
+            }
+        }));
+    }
+
+    /**
+     * Builds a fresh index from the database and swaps it in. Changes committed while the rebuild
+     * runs are replayed onto the new index before the swap so none are lost.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public int rebuild() {
+        synchronized (swapLock) {
+            if (pendingDuringRebuild != null) {
+                throw new IllegalStateException("Search index rebuild already running");
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        try {
+            InvertedIndex fresh = new InvertedIndex();
+            try (Stream<Project> rows = projectRepository.streamAll()) {
+                load(rows, fresh, this::projectDocument);
+            }
+            try (Stream<Task> rows = taskRepository.streamAll()) {
+                load(rows, fresh, this::taskDocument);
+            }
+            try (Stream<User> rows = userRepository.streamAll()) {
+                load(rows, fresh, this::userDocument);
+            }
+            try (Stream<Deliverable> rows = deliverableRepository.streamAll()) {
+                load(rows, fresh, this::deliverableDocument);
+            }
+            synchronized (swapLock) {
+                pendingDuringRebuild.forEach(change -> change.accept(fresh));
+                index = fresh;
+            }
+            return fresh.size();
+        } finally {
+            synchronized (swapLock) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    private <T> void load(Stream<T> rows, InvertedIndex target, Function<T, InvertedIndex.Document> toDocument) {
+        rows.forEach(row -> {
+            target.put(toDocument.apply(row));
+            entityManager.detach(row);
+        });
+    }
+
+    private void apply(Consumer<InvertedIndex> change) {
+        synchronized (swapLock) {
+            change.accept(index);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        }
+    }
+
+    private InvertedIndex.Document projectDocument(Project project) {
+        return new InvertedIndex.Document(keyOf(SearchEntityType.PROJECT, project.getProjectId()), project.getTitle())
+                .field(PRIMARY, project.getTitle(), PRIMARY_WEIGHT)
+                .field(SECONDARY, project.getDescription(), SECONDARY_WEIGHT);
+    }
+
+    private InvertedIndex.Document taskDocument(Task task) {
+        long parent = task.getProject() == null || task.getProject().getProjectId() == null
+                ? -1L
+                : keyOf(SearchEntityType.PROJECT, task.getProject().getProjectId());
+        return new InvertedIndex.Document(keyOf(SearchEntityType.TASK, task.getTaskId()), task.getTitle(), parent)
+                .field(PRIMARY, task.getTitle(), PRIMARY_WEIGHT)
+                .field(SECONDARY, task.getDescription(), SECONDARY_WEIGHT)
+                .field(DETAIL, task.getNotes(), DETAIL_WEIGHT);
+    }
+
+    private InvertedIndex.Document userDocument(User user) {
+        return new InvertedIndex.Document(keyOf(SearchEntityType.USER, user.getUserId()), user.getName())
+                .field(PRIMARY, user.getName(), PRIMARY_WEIGHT)
+                .field(SECONDARY, user.getCompanyName(), SECONDARY_WEIGHT);
+    }
+
+    private InvertedIndex.Document deliverableDocument(Deliverable deliverable) {
+        long parent = deliverable.getProject() == null || deliverable.getProject().getProjectId() == null
+                ? -1L
+                : keyOf(SearchEntityType.PROJECT, deliverable.getProject().getProjectId());
+        return new InvertedIndex.Document(keyOf(SearchEntityType.DELIVERABLE, deliverable.getDeliverableId()),
+                                          deliverable.getFileName(), parent)
+                .field(PRIMARY, deliverable.getFileName(), PRIMARY_WEIGHT);
+    }
+
+    // Index keys pack the entity type into the high and the id into the low 32 bits
+
+    private static long keyOf(SearchEntityType type, Integer id) {
+        return ((long) type.ordinal() << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    private static SearchEntityType typeOf(long key) {
+        return TYPES[(int) (key >>> 32)];
+    }
+
+    private static int idOf(long key) {
+        return (int) key;
+    }
+}
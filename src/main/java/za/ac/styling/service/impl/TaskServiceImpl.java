@@ -1,18 +1,36 @@
 package za.ac.styling.service.impl;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import za.ac.styling.domain.NotificationType;
 import za.ac.styling.domain.Project;
+import za.ac.styling.domain.SearchEntityType;
 import za.ac.styling.domain.Task;
 import za.ac.styling.domain.TaskStatus;
+import za.ac.styling.dto.CursorPageDto;
+import za.ac.styling.dto.TaskCreateDto;
+import za.ac.styling.dto.TaskProgressState;
+import za.ac.styling.dto.TaskSummary;
 import za.ac.styling.factory.TaskFactory;
 import za.ac.styling.repository.ProjectRepository;
 import za.ac.styling.repository.TaskRepository;
+import za.ac.styling.service.IOutboxService;
+import za.ac.styling.service.IProjectProgressService;
+import za.ac.styling.service.ISearchService;
 import za.ac.styling.service.ITaskService;
+import za.ac.styling.util.BatchHelper;
+import za.ac.styling.util.PageCursor;
+import za.ac.styling.util.SearchHelper;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -22,13 +40,21 @@ public class TaskServiceImpl implements ITaskService {
 
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
+    private final IProjectProgressService projectProgressService;
+    private final ISearchService searchService;
+    private final IOutboxService outboxService;
+    private final EntityManager entityManager;
 
     @Override
     public Task save(Task entity) {
         if (!TaskFactory.validateTask(entity)) {
             throw new IllegalArgumentException("Invalid task data");
         }
-        return taskRepository.save(entity);
+        TaskProgressState before = persistedState(entity.getTaskId());
+        Task saved = taskRepository.save(entity);
+        recordChange(before, saved);
+        searchService.indexTask(saved);
+        return saved;
     }
 
     @Override
@@ -43,6 +69,16 @@ public class TaskServiceImpl implements ITaskService {
         return taskRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<Task> findPage(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<Task> rows = taskRepository.findByTaskIdGreaterThanOrderByTaskIdAsc(
+                after == null ? 0 : after.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize, task -> PageCursor.encode(task.getTaskId()));
+    }
+
     @Override
     public Task update(Task entity) {
         if (!TaskFactory.validateTask(entity)) {
@@ -51,20 +87,29 @@ public class TaskServiceImpl implements ITaskService {
         if (!taskRepository.existsById(entity.getTaskId())) {
             throw new IllegalArgumentException("Task not found with id: " + entity.getTaskId());
         }
-        return taskRepository.save(entity);
+        TaskProgressState before = persistedState(entity.getTaskId());
+        Task saved = taskRepository.save(entity);
+        recordChange(before, saved);
+        searchService.indexTask(saved);
+        return saved;
     }
 
     @Override
     public void deleteById(Integer id) {
-        if (!taskRepository.existsById(id)) {
-            throw new IllegalArgumentException("Task not found with id: " + id);
-        }
-        taskRepository.deleteById(id);
+        TaskProgressState before = persistedState(id);
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + id));
+        taskRepository.delete(task);
+        recordChange(before, null);
+        searchService.remove(SearchEntityType.TASK, id);
     }
 
     @Override
     public void delete(Task entity) {
+        TaskProgressState before = persistedState(entity.getTaskId());
         taskRepository.delete(entity);
+        recordChange(before, null);
+        searchService.remove(SearchEntityType.TASK, entity.getTaskId());
     }
 
     @Override
@@ -118,16 +163,74 @@ public class TaskServiceImpl implements ITaskService {
     @Override
     @Transactional(readOnly = true)
     public List<Task> searchByTitle(String title) {
-        return taskRepository.findByTitleContainingIgnoreCase(title);
+        List<Integer> ids = searchService.findIds(SearchEntityType.TASK, title);
+        return SearchHelper.loadInRankOrder(ids, taskRepository::findAllById, Task::getTaskId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<Task> findPageByDueDate(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<Task> rows = after == null
+                ? taskRepository.findByDueDateNotNullOrderByDueDateAscTaskIdAsc(Limit.of(pageSize + 1))
+                : taskRepository.findDueDatePageAfter(after.keyAsDate(), after.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize, task -> PageCursor.encode(task.getDueDate(), task.getTaskId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSummary> findSummaries() {
+        return taskRepository.findSummariesBy();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSummary> findSummariesByProjectId(Integer projectId) {
+        return taskRepository.findSummariesByProjectProjectId(projectId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSummary> findSummariesByAssignedUserId(Integer userId) {
+        return taskRepository.findSummariesByAssignedToId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSummary> findSummariesByStatus(TaskStatus status) {
+        return taskRepository.findSummariesByStatus(status);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<TaskSummary> findSummaryPage(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<TaskSummary> rows = taskRepository.findSummariesByTaskIdGreaterThanOrderByTaskIdAsc(
+                after == null ? 0 : after.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize, task -> PageCursor.encode(task.getTaskId()));
     }
 
     @Override
     public void updateTaskStatus(Integer taskId, TaskStatus status) {
+        updateTaskStatus(taskId, status, null);
+    }
+
+    @Override
+    public void updateTaskStatus(Integer taskId, TaskStatus status, Integer actorUserId) {
+        TaskProgressState before = persistedState(taskId);
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + taskId));
         
+        TaskStatus previous = before.getStatus();
         task.updateStatus(status);
         taskRepository.save(task);
+        recordChange(before, task);
+        if (previous != status && projectIdOf(task) != null) {
+            outboxService.record(NotificationType.TASK_UPDATE, projectIdOf(task), actorUserId,
+                    "Task \"" + task.getTitle() + "\" is now " + status.name().replace('_', ' ').toLowerCase());
+        }
     }
 
     @Override
@@ -147,6 +250,70 @@ public class TaskServiceImpl implements ITaskService {
         Task task = TaskFactory.createTask(title, description, project, assignedToId, dueDate);
         task.setDeliverable(deliverable);
         task.setNotes(notes);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        projectProgressService.recordTransition(projectId, null, saved.getStatus());
+        searchService.indexTask(saved);
+        return saved;
+    }
+
+    @Override
+    public List<Task> createTasks(List<TaskCreateDto> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            throw new IllegalArgumentException("At least one task is required");
+        }
+        Map<Integer, Project> projects = new HashMap<>();
+        for (Project project : projectRepository.findAllById(
+                tasks.stream().map(TaskCreateDto::getProjectId).distinct().toList())) {
+            projects.put(project.getProjectId(), project);
+        }
+
+        List<Task> created = new ArrayList<>(tasks.size());
+        for (TaskCreateDto dto : tasks) {
+            Project project = projects.get(dto.getProjectId());
+            if (project == null) {
+                throw new IllegalArgumentException("Project not found with id: " + dto.getProjectId());
+            }
+            Task task = TaskFactory.createTask(dto.getTitle(), dto.getDescription(), project,
+                    dto.getAssignedToId(), dto.getDueDate());
+            task.setDeliverable(dto.getDeliverable());
+            task.setNotes(dto.getNotes());
+            created.add(task);
+        }
+
+        List<Task> saved = BatchHelper.saveInBatches(created, taskRepository::save, entityManager);
+        Map<Integer, List<TaskStatus>> statusesByProject = new HashMap<>();
+        for (Task task : saved) {
+            statusesByProject.computeIfAbsent(projectIdOf(task), id -> new ArrayList<>()).add(task.getStatus());
+            searchService.indexTask(task);
+        }
+        statusesByProject.forEach(projectProgressService::recordCreated);
+        return saved;
+    }
+
+    // Reads the committed state without flushing, so a caller's unsaved edits are not seen yet
+    private TaskProgressState persistedState(Integer taskId) {
+        return taskId == null ? null : taskRepository.findProgressStateForUpdate(taskId).orElse(null);
+    }
+
+    /**
+     * Moves the task between counters: {@code before} is its committed state ({@code null} if new),
+     * {@code after} the saved task ({@code null} if deleted). A task moved to another project leaves
+     * the old project's counters and joins the new one's.
+     */
+    private void recordChange(TaskProgressState before, Task after) {
+        Integer oldProjectId = before == null ? null : before.getProjectId();
+        TaskStatus previous = before == null ? null : before.getStatus();
+        Integer newProjectId = after == null ? oldProjectId : projectIdOf(after);
+        TaskStatus status = after == null ? null : after.getStatus();
+        if (Objects.equals(oldProjectId, newProjectId)) {
+            projectProgressService.recordTransition(newProjectId, previous, status);
+        } else {
+            projectProgressService.recordTransition(oldProjectId, previous, null);
+            projectProgressService.recordTransition(newProjectId, null, status);
+        }
+    }
+
+    private static Integer projectIdOf(Task task) {
+        return task.getProject() == null ? null : task.getProject().getProjectId();
     }
 }
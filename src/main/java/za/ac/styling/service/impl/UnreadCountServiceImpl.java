@@ -0,0 +1,125 @@
+package za.ac.styling.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import za.ac.styling.dto.UnreadCountCacheStatsDto;
+import za.ac.styling.repository.NotificationRepository;
+import za.ac.styling.service.IUnreadCountService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counters held in a bounded cache. Counters are loaded from the
+ * database on a miss and then kept current by the notification write paths; entries also expire
+ * after a TTL so any drift from concurrent writes is bounded. {@link #checkConsistency(int)}
+ * samples cached users against the database and repairs mismatches.
+ */
+@Slf4j
+@Service
+public class UnreadCountServiceImpl implements IUnreadCountService {
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<Integer, Long> counts;
+    private final AtomicLong checkedUsers = new AtomicLong();
+    private final AtomicLong mismatches = new AtomicLong();
+    private volatile LocalDateTime lastCheckedAt;
+
+    public UnreadCountServiceImpl(NotificationRepository notificationRepository,
+                                  @Value("${app.notifications.unread-cache.max-size:100000}") long maxSize,
+                                  @Value("${app.notifications.unread-cache.ttl:10m}") Duration ttl) {
+        this.notificationRepository = notificationRepository;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public long getUnreadCount(Integer userId) {
+        return counts.get(userId, this::loadUnreadCount);
+    }
+
+    @Override
+    public void increment(Integer userId) {
+        counts.asMap().computeIfPresent(userId, (id, count) -> count + 1);
+    }
+
+    @Override
+    public void decrement(Integer userId) {
+        counts.asMap().computeIfPresent(userId, (id, count) -> Math.max(0, count - 1));
+    }
+
+    @Override
+    public void invalidate(Integer userId) {
+        counts.invalidate(userId);
+    }
+
+    @Override
+    public int checkConsistency(int sampleSize) {
+        int found = 0;
+        for (Integer userId : sampleUserIds(sampleSize)) {
+            Long cached = counts.getIfPresent(userId);
+            if (cached == null) {
+                continue;
+            }
+            long actual = loadUnreadCount(userId);
+            checkedUsers.incrementAndGet();
+            if (cached != actual) {
+                found++;
+                mismatches.incrementAndGet();
+                log.warn("Unread count drift for user {}: cached {} but database has {}", userId, cached, actual);
+                counts.asMap().replace(userId, cached, actual);
+            }
+        }
+        lastCheckedAt = LocalDateTime.now();
+        return found;
+    }
+
+    @Override
+    public UnreadCountCacheStatsDto getStats() {
+        CacheStats stats = counts.stats();
+        return UnreadCountCacheStatsDto.builder()
+                .size(counts.estimatedSize())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .checkedUsers(checkedUsers.get())
+                .mismatches(mismatches.get())
+                .lastCheckedAt(lastCheckedAt)
+                .build();
+    }
+
+    private long loadUnreadCount(Integer userId) {
+        return notificationRepository.countByUserUserIdAndIsRead(userId, false);
+    }
+
+    // Reservoir sample so a large cache is never copied just to pick a few keys
+    private List<Integer> sampleUserIds(int sampleSize) {
+        List<Integer> sample = new ArrayList<>(sampleSize);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int seen = 0;
+        for (Integer userId : counts.asMap().keySet()) {
+            if (sample.size() < sampleSize) {
+                sample.add(userId);
+            } else {
+                int slot = random.nextInt(seen + 1);
+                if (slot < sampleSize) {
+                    sample.set(slot, userId);
+                }
+            }
+            seen++;
+        }
+        return sample;
+    }
+}
@@ -1,13 +1,20 @@
 package za.ac.styling.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import za.ac.styling.domain.SearchEntityType;
 import za.ac.styling.domain.User;
 import za.ac.styling.domain.UserRole;
+import za.ac.styling.dto.CursorPageDto;
 import za.ac.styling.factory.UserFactory;
 import za.ac.styling.repository.UserRepository;
+import za.ac.styling.service.IProjectUserService;
+import za.ac.styling.service.ISearchService;
 import za.ac.styling.service.IUserService;
+import za.ac.styling.util.PageCursor;
+import za.ac.styling.util.SearchHelper;
 import za.ac.styling.util.ValidationHelper;
 
 import java.util.List;
@@ -19,13 +26,17 @@ import java.util.Optional;
 public class UserServiceImpl implements IUserService {
 
     private final UserRepository userRepository;
+    private final IProjectUserService projectUserService;
+    private final ISearchService searchService;
 
     @Override
     public User save(User entity) {
         if (entity == null || !ValidationHelper.validateUser(entity)) {
             throw new IllegalArgumentException("Invalid user data");
         }
-        return userRepository.save(entity);
+        User saved = userRepository.save(entity);
+        searchService.indexUser(saved);
+        return saved;
     }
 
     @Override
@@ -40,6 +51,16 @@ public class UserServiceImpl implements IUserService {
         return userRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<User> findPage(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.normalizeSize(size);
+        List<User> rows = userRepository.findByUserIdGreaterThanOrderByUserIdAsc(
+                after == null ? 0 : after.getId(), Limit.of(pageSize + 1));
+        return CursorPageDto.of(rows, pageSize, user -> PageCursor.encode(user.getUserId()));
+    }
+
     @Override
     public User update(User entity) {
         if (entity == null || !ValidationHelper.validateUser(entity)) {
@@ -48,7 +69,9 @@ public class UserServiceImpl implements IUserService {
         if (!userRepository.existsById(entity.getUserId())) {
             throw new IllegalArgumentException("User not found with id: " + entity.getUserId());
         }
-        return userRepository.save(entity);
+        User saved = userRepository.save(entity);
+        searchService.indexUser(saved);
+        return saved;
     }
 
     @Override
@@ -57,11 +80,15 @@ public class UserServiceImpl implements IUserService {
             throw new IllegalArgumentException("User not found with id: " + id);
         }
         userRepository.deleteById(id);
+        projectUserService.evictUser(id);
+        searchService.remove(SearchEntityType.USER, id);
     }
 
     @Override
     public void delete(User entity) {
         userRepository.delete(entity);
+        projectUserService.evictUser(entity.getUserId());
+        searchService.remove(SearchEntityType.USER, entity.getUserId());
     }
 
     @Override
@@ -97,7 +124,8 @@ public class UserServiceImpl implements IUserService {
     @Override
     @Transactional(readOnly = true)
     public List<User> searchByName(String name) {
-        return userRepository.findByNameContainingIgnoreCase(name);
+        List<Integer> ids = searchService.findIds(SearchEntityType.USER, name);
+        return SearchHelper.loadInRankOrder(ids, userRepository::findAllById, User::getUserId);
     }
 
     @Override
@@ -126,7 +154,9 @@ public class UserServiceImpl implements IUserService {
         }
         
         User user = UserFactory.createUser(name, email, password, role);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        searchService.indexUser(saved);
+        return saved;
     }
 
     @Override
@@ -144,6 +174,7 @@ public class UserServiceImpl implements IUserService {
         
         user.updateProfile(name, companyName, phone);
         userRepository.save(user);
+        searchService.indexUser(user);
     }
 
     @Override
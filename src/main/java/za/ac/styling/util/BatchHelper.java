@@ -0,0 +1,33 @@
+package za.ac.styling.util;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+public class BatchHelper {
+
+    /**
+     * Matches {@code hibernate.jdbc.batch_size}, so each flush sends full JDBC batches.
+     */
+    public static final int BATCH_SIZE = 50;
+
+    /**
+     * Saves {@code rows} in order, flushing and clearing the persistence context every
+     * {@link #BATCH_SIZE} rows so Hibernate sends batched inserts and the session stays small.
+     * Returned entities are detached once their chunk has been flushed.
+     */
+    public static <T> List<T> saveInBatches(List<T> rows, UnaryOperator<T> save, EntityManager entityManager) {
+        List<T> saved = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            saved.add(save.apply(rows.get(i)));
+            if ((i + 1) % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        return saved;
+    }
+}
@@ -0,0 +1,37 @@
+package za.ac.styling.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+import javax.cache.Cache;
+
+/**
+ * The standard JCache meters ({@code cache.gets}, {@code cache.puts}, {@code cache.evictions})
+ * plus {@code cache.hit.ratio}, the share of lookups served from the cache since startup.
+ */
+public class CacheRegionMetrics<K, V> extends JCacheMetrics<K, V, Cache<K, V>> {
+
+    public static final String HIT_RATIO = "cache.hit.ratio";
+
+    public CacheRegionMetrics(Cache<K, V> cache, Iterable<Tag> tags) {
+        super(cache, tags);
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        super.bindImplementationSpecificMetrics(registry);
+        Gauge.builder(HIT_RATIO, this, CacheRegionMetrics::hitRatio)
+                .tags(getTagsWithCacheName())
+                .description("Hits divided by lookups")
+                .register(registry);
+    }
+
+    private double hitRatio() {
+        long hits = hitCount();
+        Long misses = missCount();
+        long lookups = hits + (misses == null ? 0 : misses);
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
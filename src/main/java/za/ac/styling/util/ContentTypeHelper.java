@@ -0,0 +1,24 @@
+package za.ac.styling.util;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+public class ContentTypeHelper {
+
+    /**
+     * Media type of a deliverable. {@code fileType} is free text ("application/pdf", but also "PDF"),
+     * so anything that is not a concrete media type falls back to the file name's extension.
+     */
+    public static MediaType resolve(String fileType, String fileName) {
+        try {
+            MediaType type = MediaType.parseMediaType(fileType);
+            if (type.isConcrete()) {
+                return type;
+            }
+        } catch (InvalidMediaTypeException e) {
+            // fall through to the extension
+        }
+        return MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+}
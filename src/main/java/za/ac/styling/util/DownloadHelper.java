@@ -0,0 +1,151 @@
+package za.ac.styling.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sends a file with conditional-request and single-range support. On Tomcat the bytes are handed to
+ * the connector's sendfile, so they go from the page cache to the socket without passing through
+ * the heap; elsewhere they are copied with {@link FileChannel#transferTo}.
+ */
+public class DownloadHelper {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * @param etag         strong entity tag, quoted
+     * @param lastModified epoch millis
+     */
+    public static void send(HttpServletRequest request, HttpServletResponse response, Path file, long size,
+                            String etag, long lastModified, String contentType, String fileName) throws IOException {
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.inline().filename(fileName, StandardCharsets.UTF_8).build().toString());
+
+        long start = 0;
+        long end = size;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, etag, lastModified)) {
+            List<HttpRange> ranges = parseRanges(range);
+            // Several ranges are answered with the whole file, which RFC 9110 allows
+            if (ranges.size() == 1) {
+                HttpRange requested = ranges.get(0);
+                start = requested.getRangeStart(size);
+                end = requested.getRangeEnd(size) + 1;
+                if (start >= size || start >= end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + size);
+            }
+        }
+        response.setContentLengthLong(end - start);
+        if ("HEAD".equals(request.getMethod()) || start == end) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the file itself once the servlet returns
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, out);
+                if (sent <= 0) {
+                    throw new EOFException(file + " ended at " + position + " of " + end + " bytes");
+                }
+                position += sent;
+            }
+        }
+    }
+
+    /**
+     * Redirects to an externally hosted file only when {@code url} is http(s) on one of
+     * {@code allowedHosts}. Any other link is answered with a {@code text/uri-list} body for the
+     * client to open itself, so the endpoint cannot bounce users to an arbitrary site.
+     */
+    public static void sendExternal(HttpServletResponse response, String url, Collection<String> allowedHosts)
+            throws IOException {
+        if (isAllowedRedirect(url, allowedHosts)) {
+            response.sendRedirect(url);
+            return;
+        }
+        response.setContentType("text/uri-list");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.getWriter().write(url + "\r\n");
+    }
+
+    static boolean isAllowedRedirect(String url, Collection<String> allowedHosts) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        String scheme = uri.getScheme();
+        String host = uri.getHost();
+        if (host == null || uri.getRawUserInfo() != null
+                || !("https".equalsIgnoreCase(scheme) || "http".equalsIgnoreCase(scheme))) {
+            return false;
+        }
+        String normalized = host.toLowerCase(Locale.ROOT);
+        return allowedHosts.stream().anyMatch(allowed -> allowed.trim().toLowerCase(Locale.ROOT).equals(normalized));
+    }
+
+    private static List<HttpRange> parseRanges(String range) {
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            // A malformed Range header is ignored
+            return List.of();
+        }
+    }
+
+    // If-Range is a strong comparison: a weak tag or an inexact date sends the whole file
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) == lastModified / 1000 * 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package za.ac.styling.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every JDBC statement execution, adds it to the thread's {@link StatementStats} and logs
+ * statements slower than the threshold together with their bind parameters. Replaces SQL and
+ * binder logging, which cost the same for every statement whether it is slow or not.
+ */
+@Slf4j
+public class InspectingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final int MAX_LOGGED_VALUE_LENGTH = 64;
+
+    private final long slowQueryNanos;
+
+    public InspectingDataSource(DataSource target, Duration slowQueryThreshold) {
+        super(target);
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return inspect(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return inspect(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection inspect(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof CallableStatement statement) {
+                        return inspect(statement, CallableStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return inspect(statement, PreparedStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof Statement statement) {
+                        return inspect(statement, Statement.class, null);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement inspect(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        Map<Integer, Object> parameters = preparedSql == null ? null : new TreeMap<>();
+        int[] batched = new int[1];
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (parameters != null && name.startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer index) {
+                        parameters.put(index, args[1]);
+                    } else if (parameters != null && name.equals("clearParameters")) {
+                        parameters.clear();
+                    } else if (name.equals("addBatch")) {
+                        batched[0]++;
+                    } else if (name.startsWith("execute")) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                        int batchSize = name.equals("executeBatch") || name.equals("executeLargeBatch") ? batched[0] : 0;
+                        batched[0] = 0;
+                        long start = System.nanoTime();
+                        try {
+                            return invoke(statement, method, args);
+                        } finally {
+                            executed(sql, System.nanoTime() - start, parameters, batchSize);
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private void executed(String sql, long nanos, Map<Integer, Object> parameters, int batchSize) {
+        StatementStats.record(sql, nanos);
+        if (nanos < slowQueryNanos) {
+            return;
+        }
+        if (batchSize > 0) {
+            // Only the last row's parameters are still known once the batch has run
+            log.warn("Slow query ({} ms, batch of {}): {} last {}", TimeUnit.NANOSECONDS.toMillis(nanos), batchSize,
+                    sql, describe(parameters));
+        } else {
+            log.warn("Slow query ({} ms): {} {}", TimeUnit.NANOSECONDS.toMillis(nanos), sql, describe(parameters));
+        }
+    }
+
+    private static String describe(Map<Integer, Object> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return "[]";
+        }
+        StringBuilder text = new StringBuilder("[");
+        parameters.forEach((index, value) -> {
+            String shown = String.valueOf(value);
+            if (shown.length() > MAX_LOGGED_VALUE_LENGTH) {
+                shown = shown.substring(0, MAX_LOGGED_VALUE_LENGTH) + "...";
+            }
+            text.append(text.length() > 1 ? ", " : "").append(index).append('=').append(shown);
+        });
+        return text.append(']').toString();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package za.ac.styling.util;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory inverted index over short text fields, keyed by {@code long} document ids.
+ * <p>
+ * Terms are kept in a sorted map so a query token matches both the exact term and every term it
+ * is a prefix of. Documents score the sum, over query tokens, of their best matching term's field
+ * weight times its inverse document frequency; prefix matches count for less than exact ones.
+ * Every query token has to match for a document to be returned.
+ */
+public class InvertedIndex {
+
+    public static final int ALL_FIELDS = -1;
+
+    private static final double PREFIX_FACTOR = 0.5;
+    private static final int MAX_PREFIX_EXPANSION = 256;
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    private final NavigableMap<String, Map<Long, Posting>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    public void put(Document document) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(document.key);
+            for (Map.Entry<String, Posting> entry : document.terms.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>())
+                        .put(document.key, entry.getValue());
+            }
+            documents.put(document.key, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long key) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every document registered with {@code parent}, e.g. the tasks of a deleted project.
+     */
+    public void removeChildren(long parent) {
+        lock.writeLock().lock();
+        try {
+            List<Long> children = new ArrayList<>();
+            documents.forEach((key, document) -> {
+                if (document.parent == parent) {
+                    children.add(key);
+                }
+            });
+            children.forEach(this::removeUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param keyFilter only documents whose key passes are considered
+     * @param fieldMask bit set of the fields to match against, or {@link #ALL_FIELDS}
+     * @param limit     maximum number of matches, best first
+     */
+    public List<Match> search(String query, LongPredicate keyFilter, int fieldMask, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int totalDocuments = Math.max(1, documents.size());
+            Map<Long, double[]> scores = new HashMap<>();
+            for (int t = 0; t < tokens.size(); t++) {
+                String token = tokens.get(t);
+                Map<Long, Double> tokenScores = scoreToken(token, keyFilter, fieldMask, totalDocuments);
+                if (t == 0) {
+                    tokenScores.forEach((key, score) -> scores.put(key, new double[]{score, 1}));
+                } else {
+                    tokenScores.forEach((key, score) -> {
+                        double[] acc = scores.get(key);
+                        if (acc != null) {
+                            acc[0] += score;
+                            acc[1]++;
+                        }
+                    });
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            int required = tokens.size();
+            List<Match> matches = new ArrayList<>();
+            scores.forEach((key, acc) -> {
+                if (acc[1] == required) {
+                    matches.add(new Match(key, acc[0], documents.get(key).label));
+                }
+            });
+            matches.sort(Comparator.comparingDouble(Match::getScore).reversed()
+                    .thenComparingLong(Match::getKey));
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreToken(String token, LongPredicate keyFilter, int fieldMask, int totalDocuments) {
+        Map<Long, Double> best = new HashMap<>();
+        int expanded = 0;
+        for (Map.Entry<String, Map<Long, Posting>> entry
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            // Only terms that matched a wanted document count towards the expansion limit, so terms
+            // from other fields or entity types cannot crowd out the ones searched for
+            if (expanded >= MAX_PREFIX_EXPANSION) {
+                break;
+            }
+            String term = entry.getKey();
+            Map<Long, Posting> docs = entry.getValue();
+            double idf = Math.log(1.0 + (double) totalDocuments / docs.size());
+            double factor = term.equals(token)
+                    ? 1.0
+                    : PREFIX_FACTOR * token.length() / term.length();
+            boolean contributed = false;
+            for (Map.Entry<Long, Posting> doc : docs.entrySet()) {
+                Posting posting = doc.getValue();
+                if ((posting.fields & fieldMask) == 0 || !keyFilter.test(doc.getKey())) {
+                    continue;
+                }
+                double score = posting.weightFor(fieldMask) * idf * factor;
+                best.merge(doc.getKey(), score, Math::max);
+                contributed = true;
+            }
+            if (contributed) {
+                expanded++;
+            }
+        }
+        return best;
+    }
+
+    private void removeUnlocked(long key) {
+        Document previous = documents.remove(key);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms.keySet()) {
+            Map<Long, Posting> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(key);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    public static class Document {
+
+        private final long key;
+        private final String label;
+        private final long parent;
+        private final Map<String, Posting> terms = new HashMap<>();
+
+        public Document(long key, String label) {
+            this(key, label, -1L);
+        }
+
+        public Document(long key, String label, long parent) {
+            this.key = key;
+            this.label = label;
+            this.parent = parent;
+        }
+
+        /**
+         * Adds the tokens of {@code text} under {@code field} (0-31). Repeated tokens and tokens
+         * that appear in several fields accumulate weight.
+         */
+        public Document field(int field, String text, float weight) {
+            Set<String> seen = new HashSet<>();
+            for (String token : tokenize(text)) {
+                Posting posting = terms.computeIfAbsent(token, t -> new Posting());
+                // Diminishing returns for repeats within the same field
+                posting.add(field, seen.add(token) ? weight : weight * 0.25f);
+            }
+            return this;
+        }
+    }
+
+    private static final class Posting {
+
+        private int fields;
+        private float[] weights = new float[1];
+
+        private void add(int field, float weight) {
+            if (field >= weights.length) {
+                weights = Arrays.copyOf(weights, field + 1);
+            }
+            fields |= 1 << field;
+            weights[field] += weight;
+        }
+
+        private double weightFor(int fieldMask) {
+            double sum = 0;
+            int selected = fields & fieldMask;
+            while (selected != 0) {
+                int field = Integer.numberOfTrailingZeros(selected);
+                sum += weights[field];
+                selected &= selected - 1;
+            }
+            return sum;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Match {
+
+        private final long key;
+        private final double score;
+        private final String label;
+    }
+}
@@ -0,0 +1,59 @@
+package za.ac.styling.util;
+
+import za.ac.styling.domain.NotificationType;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Decides which new notifications are merged into an earlier unread one. Each type has a sliding
+ * window, measured from the last event merged into the row (zero turns coalescing off), and a key
+ * scope: {@link Scope#PROJECT} merges per (user, type, project) and keeps notifications without a
+ * project apart, {@link Scope#TYPE} merges per (user, type).
+ */
+public class NotificationCoalescingPolicy {
+
+    public enum Scope {
+        PROJECT,
+        TYPE
+    }
+
+    public record Key(Integer userId, NotificationType type, Integer projectId) {
+    }
+
+    private static final int MAX_MESSAGE_LENGTH = 255;
+
+    private final Map<NotificationType, Duration> windows = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Scope> scopes = new EnumMap<>(NotificationType.class);
+
+    public NotificationCoalescingPolicy(Map<NotificationType, Duration> windows, Map<NotificationType, Scope> scopes) {
+        this.windows.putAll(windows);
+        this.scopes.putAll(scopes);
+    }
+
+    public Duration windowOf(NotificationType type) {
+        return windows.getOrDefault(type, Duration.ZERO);
+    }
+
+    /** The key a notification merges on, or {@code null} when it always gets its own row */
+    public Key keyOf(Integer userId, NotificationType type, Integer projectId) {
+        if (!windowOf(type).isPositive()) {
+            return null;
+        }
+        return switch (scopes.getOrDefault(type, Scope.PROJECT)) {
+            case PROJECT -> projectId == null ? null : new Key(userId, type, projectId);
+            case TYPE -> new Key(userId, type, null);
+        };
+    }
+
+    /** The latest message with the number of earlier events merged into the same row */
+    public static String mergedMessage(String latest, int events) {
+        if (events <= 1) {
+            return latest;
+        }
+        String suffix = " (+" + (events - 1) + " more)";
+        int room = MAX_MESSAGE_LENGTH - suffix.length();
+        return (latest.length() > room ? latest.substring(0, room) : latest) + suffix;
+    }
+}
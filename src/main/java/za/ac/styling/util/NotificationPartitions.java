@@ -0,0 +1,117 @@
+package za.ac.styling.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Monthly range partitions of {@code notifications} on {@code sent_at}. Partition {@code p202610}
+ * ({@code notifications_p202610} on PostgreSQL) holds the rows sent before 1 November 2026 that no
+ * earlier partition holds, so dropping it only ever removes rows older than that bound. The tables
+ * are converted by {@code db/manual/<database>/005_notification_partitions.sql}.
+ */
+public class NotificationPartitions {
+
+    public enum Dialect {
+        MYSQL("p"),
+        POSTGRESQL("notifications_p");
+
+        private final String prefix;
+
+        Dialect(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /** {@code null} for databases without supported range partitioning */
+    public static Dialect dialectOf(String databaseProductName) {
+        if (databaseProductName == null) {
+            return null;
+        }
+        String name = databaseProductName.toLowerCase();
+        if (name.contains("mysql") || name.contains("mariadb")) {
+            return Dialect.MYSQL;
+        }
+        return name.contains("postgresql") ? Dialect.POSTGRESQL : null;
+    }
+
+    public static String nameOf(Dialect dialect, YearMonth month) {
+        return dialect.prefix + month.format(MONTH);
+    }
+
+    /** The month of a monthly partition, or empty for any other partition (e.g. the catch-all) */
+    public static Optional<YearMonth> monthOf(Dialect dialect, String partitionName) {
+        if (partitionName == null || !partitionName.startsWith(dialect.prefix)
+                || partitionName.length() != dialect.prefix.length() + 6) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partitionName.substring(dialect.prefix.length()), MONTH));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    /** Exclusive upper bound of {@code sent_at} in the partition for {@code month} */
+    public static LocalDate upperBound(YearMonth month) {
+        return month.plusMonths(1).atDay(1);
+    }
+
+    public static String listSql(Dialect dialect) {
+        return switch (dialect) {
+            case MYSQL -> "SELECT partition_name FROM information_schema.partitions "
+                    + "WHERE table_schema = DATABASE() AND table_name = 'notifications' AND partition_name IS NOT NULL";
+            case POSTGRESQL -> "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                    + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'notifications'";
+        };
+    }
+
+    public static String createSql(Dialect dialect, YearMonth month) {
+        return switch (dialect) {
+            // New months are split off the empty MAXVALUE partition, which only moves rows sent in the future
+            case MYSQL -> "ALTER TABLE notifications REORGANIZE PARTITION p_future INTO (PARTITION "
+                    + nameOf(dialect, month) + " VALUES LESS THAN ('" + upperBound(month)
+                    + "'), PARTITION p_future VALUES LESS THAN (MAXVALUE))";
+            case POSTGRESQL -> "CREATE TABLE IF NOT EXISTS " + nameOf(dialect, month)
+                    + " PARTITION OF notifications FOR VALUES FROM ('" + month.atDay(1)
+                    + "') TO ('" + upperBound(month) + "')";
+        };
+    }
+
+    public static String dropSql(Dialect dialect, YearMonth month) {
+        return switch (dialect) {
+            case MYSQL -> "ALTER TABLE notifications DROP PARTITION " + nameOf(dialect, month);
+            case POSTGRESQL -> "DROP TABLE IF EXISTS " + nameOf(dialect, month);
+        };
+    }
+
+    /**
+     * Months after the newest existing partition up to {@code through}, starting at {@code from}
+     * when there is no monthly partition yet. Partitions can only be added after the newest one.
+     */
+    public static List<YearMonth> missingMonths(Collection<YearMonth> existing, YearMonth from, YearMonth through) {
+        YearMonth next = existing.isEmpty() ? from : Collections.max(existing).plusMonths(1);
+        List<YearMonth> missing = new ArrayList<>();
+        for (; !next.isAfter(through); next = next.plusMonths(1)) {
+            missing.add(next);
+        }
+        return missing;
+    }
+
+    /** Existing months, oldest first, whose rows were all sent before {@code cutoff} */
+    public static List<YearMonth> expiredMonths(Collection<YearMonth> existing, LocalDateTime cutoff) {
+        return existing.stream()
+                .filter(month -> !upperBound(month).atStartOfDay().isAfter(cutoff))
+                .sorted()
+                .toList();
+    }
+}
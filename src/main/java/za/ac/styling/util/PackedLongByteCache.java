@@ -0,0 +1,270 @@
+package za.ac.styling.util;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+
+/**
+ * Bounded, thread-safe cache from primitive {@code long} keys to {@code byte} values.
+ * <p>
+ * Entries live in parallel primitive arrays (open addressing with linear probing), so a cached
+ * entry costs about ten bytes instead of the boxed keys, values and map nodes of a
+ * {@code Map<Integer, Map<Integer, ...>>}. The table is split into independently locked segments;
+ * when a segment is full, the CLOCK policy evicts an entry that has not been read since the hand
+ * last passed it.
+ * <p>
+ * A reader that loads a value from elsewhere takes a {@link #stamp(long)} first and stores the
+ * value with {@link #putIfUnchanged(long, byte, long)}: every removal bumps its segment's
+ * generation, so a value loaded before a concurrent removal is dropped instead of outliving it.
+ */
+public class PackedLongByteCache {
+
+    public static final byte ABSENT = -1;
+
+    private static final byte EMPTY = 0;
+    private static final byte PRESENT = 1;
+    private static final byte REFERENCED = 2;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PackedLongByteCache(int maxEntries, int segmentCount) {
+        int count = Integer.highestOneBit(Math.max(1, segmentCount));
+        int perSegment = Math.max(4, (maxEntries + count - 1) / count);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        this.segmentMask = count - 1;
+    }
+
+    public static long key(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    public static int highOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    public static int lowOf(long key) {
+        return (int) key;
+    }
+
+    public byte get(long key) {
+        int hash = hash(key);
+        byte value = segmentFor(hash).get(key, hash);
+        if (value == ABSENT) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    public void put(long key, byte value) {
+        if (value == ABSENT) {
+            throw new IllegalArgumentException("Cannot cache the ABSENT marker");
+        }
+        int hash = hash(key);
+        if (segmentFor(hash).put(key, hash, value)) {
+            evictions.increment();
+        }
+    }
+
+    /** The generation of the segment holding {@code key}; take it before loading the value */
+    public long stamp(long key) {
+        return segmentFor(hash(key)).generation();
+    }
+
+    /**
+     * Stores the value only if nothing was removed from its segment since {@code stamp} was taken.
+     * Returns whether the value was stored.
+     */
+    public boolean putIfUnchanged(long key, byte value, long stamp) {
+        if (value == ABSENT) {
+            throw new IllegalArgumentException("Cannot cache the ABSENT marker");
+        }
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            if (segment.generation != stamp) {
+                return false;
+            }
+            if (segment.put(key, hash, value)) {
+                evictions.increment();
+            }
+            return true;
+        }
+    }
+
+    public void remove(long key) {
+        int hash = hash(key);
+        segmentFor(hash).remove(key, hash);
+    }
+
+    public void removeIf(LongPredicate keyFilter) {
+        for (Segment segment : segments) {
+            segment.removeIf(keyFilter);
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash >>> 24) & segmentMask];
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Segment {
+
+        private final long[] keys;
+        private final byte[] values;
+        private final byte[] states;
+        private final int mask;
+        private final int maxSize;
+        private int size;
+        private int hand;
+        private long generation;
+
+        private Segment(int maxSize) {
+            int capacity = Integer.highestOneBit(maxSize * 4 / 3 + 1) << 1;
+            this.keys = new long[capacity];
+            this.values = new byte[capacity];
+            this.states = new byte[capacity];
+            this.mask = capacity - 1;
+            this.maxSize = maxSize;
+        }
+
+        private synchronized byte get(long key, int hash) {
+            int slot = find(key, hash);
+            if (slot < 0) {
+                return ABSENT;
+            }
+            states[slot] = REFERENCED;
+            return values[slot];
+        }
+
+        private synchronized boolean put(long key, int hash, byte value) {
+            int slot = find(key, hash);
+            if (slot >= 0) {
+                values[slot] = value;
+                states[slot] = REFERENCED;
+                return false;
+            }
+            boolean evicted = false;
+            if (size >= maxSize) {
+                evictOne();
+                evicted = true;
+            }
+            slot = hash & mask;
+            while (states[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            states[slot] = PRESENT;
+            size++;
+            return evicted;
+        }
+
+        private synchronized long generation() {
+            return generation;
+        }
+
+        private synchronized void remove(long key, int hash) {
+            generation++;
+            int slot = find(key, hash);
+            if (slot >= 0) {
+                delete(slot);
+            }
+        }
+
+        private synchronized void removeIf(LongPredicate keyFilter) {
+            generation++;
+            int slot = 0;
+            while (slot < keys.length) {
+                // Deleting shifts a later entry into this slot, so re-check it before moving on
+                if (states[slot] != EMPTY && keyFilter.test(keys[slot])) {
+                    delete(slot);
+                } else {
+                    slot++;
+                }
+            }
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+
+        private int find(long key, int hash) {
+            int slot = hash & mask;
+            while (states[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void evictOne() {
+            while (true) {
+                if (states[hand] == REFERENCED) {
+                    states[hand] = PRESENT;
+                } else if (states[hand] == PRESENT) {
+                    delete(hand);
+                    return;
+                }
+                hand = (hand + 1) & mask;
+            }
+        }
+
+        // Backward-shift deletion keeps probe sequences intact without tombstones
+        private void delete(int slot) {
+            int hole = slot;
+            int next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                if (states[next] == EMPTY) {
+                    break;
+                }
+                int home = hash(keys[next]) & mask;
+                boolean stays = hole <= next
+                        ? hole < home && home <= next
+                        : hole < home || home <= next;
+                if (!stays) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    states[hole] = states[next];
+                    hole = next;
+                }
+            }
+            states[hole] = EMPTY;
+            size--;
+        }
+    }
+}
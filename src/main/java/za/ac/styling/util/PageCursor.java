@@ -0,0 +1,84 @@
+package za.ac.styling.util;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination. A cursor carries the id of the last row
+ * returned and, for pages ordered by another column (due date, sent at), that column's value.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final char SEPARATOR = '|';
+
+    private final String key;
+    private final Integer id;
+
+    public static String encode(Integer id) {
+        return encode(null, id);
+    }
+
+    public static String encode(Object key, Integer id) {
+        String raw = (key == null ? "" : key.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        if (ValidationHelper.isNullOrEmpty(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            String key = split == 0 ? null : raw.substring(0, split);
+            return new PageCursor(key, Integer.valueOf(raw.substring(split + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public LocalDate keyAsDate() {
+        try {
+            return LocalDate.parse(requireKey());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor key: " + key);
+        }
+    }
+
+    public LocalDateTime keyAsDateTime() {
+        try {
+            return LocalDateTime.parse(requireKey());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor key: " + key);
+        }
+    }
+
+    private String requireKey() {
+        if (key == null) {
+            throw new IllegalArgumentException("Cursor does not carry a sort key");
+        }
+        return key;
+    }
+
+    public static int normalizeSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+}
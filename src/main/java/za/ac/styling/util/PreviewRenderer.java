@@ -0,0 +1,131 @@
+package za.ac.styling.util;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.http.MediaType;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Downscaled previews of images (any format ImageIO reads; the first frame of multi-frame ones) and
+ * of the first page of PDFs. Images are subsampled while they are decoded and PDF pages are
+ * rendered at the preview size, so memory use follows the preview rather than the source.
+ */
+public class PreviewRenderer {
+
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final float MAX_PDF_SCALE = 4f;
+
+    public static boolean supports(MediaType type) {
+        return MediaType.APPLICATION_PDF.equalsTypeAndSubtype(type)
+                || "image".equals(type.getType())
+                && ImageIO.getImageReadersByMIMEType(type.getType() + "/" + type.getSubtype()).hasNext();
+    }
+
+    /** Reads the first page or frame at roughly {@code maxDimension} pixels, or larger */
+    public static BufferedImage readFirstPage(Path file, MediaType type, int maxDimension) throws IOException {
+        return MediaType.APPLICATION_PDF.equalsTypeAndSubtype(type)
+                ? renderPdfPage(file, maxDimension)
+                : readImage(file, maxDimension);
+    }
+
+    /** Scales {@code source} so its longer side is at most {@code maxDimension}, never enlarging it */
+    public static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double factor = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * factor));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        // Halve in steps: a single bilinear pass from far above the target size aliases badly
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    /** PNG keeps transparency; everything else is smaller as JPEG */
+    public static String formatFor(BufferedImage image) {
+        return image.getColorModel().hasAlpha() ? "png" : "jpeg";
+    }
+
+    public static byte[] encode(BufferedImage image, String format) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static BufferedImage readImage(Path file, int maxDimension) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("No image reader for " + file.getFileName());
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                // Keep twice the target size so the final downscale still has detail to work with
+                int longer = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longer / (maxDimension * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage renderPdfPage(Path file, int maxDimension) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+            if (document.getNumberOfPages() == 0) {
+                throw new IOException("PDF has no pages");
+            }
+            PDRectangle page = document.getPage(0).getCropBox();
+            float scale = Math.min(MAX_PDF_SCALE, maxDimension / Math.max(page.getWidth(), page.getHeight()));
+            return new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+        }
+    }
+}
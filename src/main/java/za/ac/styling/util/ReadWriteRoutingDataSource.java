@@ -0,0 +1,200 @@
+package za.ac.styling.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends {@code readOnly} transactions to read replicas and everything else to the primary.
+ * <p>
+ * Connections are fetched lazily, on the first statement, by which point the transaction has
+ * marked them read-only. A replica that fails to hand out a connection is skipped for the retry
+ * period and the read tries the next one, then the primary. Clients that wrote within the
+ * read-your-writes window read from the primary as well.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        LEAST_LOADED
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Strategy strategy;
+    private final long retryAfterNanos;
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder pinnedReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, Strategy strategy,
+                                      Duration retryAfter, ReadYourWritesTracker tracker) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = primary;
+        this.replicas = new ArrayList<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica(i, replicas.get(i)));
+        }
+        this.strategy = strategy;
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.tracker = tracker;
+        setTargetDataSource(new WriteSide());
+        setReadOnlyDataSource(new ReadSide());
+        afterPropertiesSet();
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    public long getPinnedReads() {
+        return pinnedReads.sum();
+    }
+
+    public long getFallbackReads() {
+        return fallbackReads.sum();
+    }
+
+    public int getAvailableReplicas() {
+        long now = System.nanoTime();
+        return (int) replicas.stream().filter(replica -> replica.isAvailable(now)).count();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            closeQuietly(replica.dataSource);
+        }
+        closeQuietly(primary);
+    }
+
+    private Connection readConnection() throws SQLException {
+        if (tracker.isPinnedToPrimary()) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+        long now = System.nanoTime();
+        for (Replica replica : candidates(now)) {
+            try {
+                Connection connection = replica.open();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.downUntil = now + retryAfterNanos;
+                log.warn("Replica {} unavailable, retrying it in {} ms: {}", replica.index,
+                         retryAfterNanos / 1_000_000, e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    private List<Replica> candidates(long now) {
+        List<Replica> available = new ArrayList<>(replicas.size());
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isAvailable(now)) {
+                available.add(replica);
+            }
+        }
+        if (strategy == Strategy.LEAST_LOADED) {
+            // Stable sort keeps the round-robin order between equally loaded replicas
+            available.sort(Comparator.comparingInt(replica -> replica.active.get()));
+        }
+        return available;
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close data source: {}", e.getMessage());
+            }
+        }
+    }
+
+    private final class WriteSide extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            // Only reached when the connection is not read-only
+            if (TransactionHelper.isInWritableTransaction()) {
+                tracker.recordWrite();
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new UnsupportedOperationException("Routing data source does not take per-call credentials");
+        }
+    }
+
+    private final class ReadSide extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new UnsupportedOperationException("Routing data source does not take per-call credentials");
+        }
+    }
+
+    private static final class Replica {
+
+        private final int index;
+        private final DataSource dataSource;
+        private final AtomicInteger active = new AtomicInteger();
+        private volatile long downUntil;
+
+        private Replica(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+        }
+
+        private boolean isAvailable(long now) {
+            return downUntil == 0 || now - downUntil >= 0;
+        }
+
+        private Connection open() throws SQLException {
+            Connection connection = dataSource.getConnection();
+            downUntil = 0;
+            active.incrementAndGet();
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                            active.decrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
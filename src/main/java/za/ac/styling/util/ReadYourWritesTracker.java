@@ -0,0 +1,50 @@
+package za.ac.styling.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers which clients wrote recently so their reads can be kept on the primary until the
+ * replicas have had time to catch up. The client of the current thread is bound per request and
+ * a write also pins the rest of that request; threads with no bound client are never pinned.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+    private final ThreadLocal<String> currentClient = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> wroteInRequest = new ThreadLocal<>();
+
+    public ReadYourWritesTracker(Duration window, long maxClients) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void bind(String client) {
+        currentClient.set(client);
+    }
+
+    public void clear() {
+        currentClient.remove();
+        wroteInRequest.remove();
+    }
+
+    public void recordWrite() {
+        String client = currentClient.get();
+        if (client != null) {
+            wroteInRequest.set(Boolean.TRUE);
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+
+    public boolean isPinnedToPrimary() {
+        if (wroteInRequest.get() != null) {
+            return true;
+        }
+        String client = currentClient.get();
+        return client != null && recentWriters.getIfPresent(client) != null;
+    }
+}
@@ -0,0 +1,34 @@
+package za.ac.styling.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class SearchHelper {
+
+    /**
+     * Loads the entities for ranked search ids and returns them in rank order, skipping ids whose
+     * rows no longer exist.
+     */
+    public static <T> List<T> loadInRankOrder(List<Integer> ids,
+                                              Function<List<Integer>, List<T>> loader,
+                                              Function<T, Integer> idOf) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, T> byId = new HashMap<>();
+        for (T row : loader.apply(ids)) {
+            byId.put(idOf.apply(row), row);
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            T row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+}
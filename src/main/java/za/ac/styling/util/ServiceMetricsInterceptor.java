@@ -0,0 +1,127 @@
+package za.ac.styling.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import za.ac.styling.dto.CursorPageDto;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times service calls and counts their failures by exception type; methods returning collections
+ * or cursor pages also record the number of items returned.
+ * <p>
+ * Meters are resolved once per method and kept, so a call costs two {@code nanoTime()} reads and
+ * a timer update rather than a registry lookup with freshly built tags.
+ */
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+
+    public static final String CALLS = "service.calls";
+    public static final String ERRORS = "service.errors";
+    public static final String RESULT_SIZE = "service.result.size";
+
+    private final Supplier<MeterRegistry> registry;
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public ServiceMetricsInterceptor(Supplier<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MethodMeters methodMeters = meters.get(invocation.getMethod());
+        if (methodMeters == null) {
+            MeterRegistry meterRegistry = registry.get();
+            if (meterRegistry == null) {
+                return invocation.proceed();
+            }
+            methodMeters = meters.computeIfAbsent(invocation.getMethod(),
+                    method -> new MethodMeters(meterRegistry, serviceName(invocation), method));
+        }
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            methodMeters.failed(System.nanoTime() - start, e);
+            throw e;
+        }
+        methodMeters.succeeded(System.nanoTime() - start, result);
+        return result;
+    }
+
+    private static String serviceName(MethodInvocation invocation) {
+        Class<?> target = invocation.getThis() == null
+                ? invocation.getMethod().getDeclaringClass()
+                : AopUtils.getTargetClass(invocation.getThis());
+        String name = target.getSimpleName();
+        return name.endsWith("Impl") ? name.substring(0, name.length() - 4) : name;
+    }
+
+    private static final class MethodMeters {
+
+        private final MeterRegistry registry;
+        private final String service;
+        private final String method;
+        private final Timer success;
+        private final DistributionSummary resultSize;
+        private final Map<Class<?>, Counter> errors = new ConcurrentHashMap<>();
+        private volatile Timer failure;
+
+        private MethodMeters(MeterRegistry registry, String service, Method method) {
+            this.registry = registry;
+            this.service = service;
+            this.method = method.getName();
+            this.success = timer("success");
+            Class<?> returnType = method.getReturnType();
+            this.resultSize = Collection.class.isAssignableFrom(returnType)
+                    || CursorPageDto.class.isAssignableFrom(returnType)
+                    ? DistributionSummary.builder(RESULT_SIZE)
+                            .description("Items returned by list-returning service methods")
+                            .tags("service", service, "method", this.method)
+                            .register(registry)
+                    : null;
+        }
+
+        private void succeeded(long nanos, Object result) {
+            success.record(nanos, TimeUnit.NANOSECONDS);
+            if (resultSize != null) {
+                if (result instanceof Collection<?> collection) {
+                    resultSize.record(collection.size());
+                } else if (result instanceof CursorPageDto<?> page && page.getItems() != null) {
+                    resultSize.record(page.getItems().size());
+                }
+            }
+        }
+
+        private void failed(long nanos, Throwable e) {
+            Timer timer = failure;
+            if (timer == null) {
+                timer = timer("error");
+                failure = timer;
+            }
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            errors.computeIfAbsent(e.getClass(), type -> Counter.builder(ERRORS)
+                    .description("Service calls that threw, by exception type")
+                    .tags("service", service, "method", method, "exception", type.getSimpleName())
+                    .register(registry)).increment();
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder(CALLS)
+                    .description("Service call latency")
+                    .tags("service", service, "method", method, "outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
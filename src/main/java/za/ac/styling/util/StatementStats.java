@@ -0,0 +1,58 @@
+package za.ac.styling.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC statements executed on the current thread between {@link #start()} and {@link #stop()},
+ * typically one HTTP request. Statements are also counted per SQL string so a request that runs
+ * the same query over and over (an N+1 lazy load) can name it.
+ */
+public class StatementStats {
+
+    private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+    private static final int MAX_DISTINCT_SQL = 256;
+
+    private int statements;
+    private long nanos;
+    private final Map<String, Integer> countsBySql = new HashMap<>();
+
+    public static StatementStats start() {
+        StatementStats stats = new StatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void record(String sql, long elapsedNanos) {
+        StatementStats stats = CURRENT.get();
+        if (stats == null) {
+            return;
+        }
+        stats.statements++;
+        stats.nanos += elapsedNanos;
+        if (sql != null && (stats.countsBySql.size() < MAX_DISTINCT_SQL || stats.countsBySql.containsKey(sql))) {
+            stats.countsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return the SQL executed most often, or {@code null} when nothing ran
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        return countsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
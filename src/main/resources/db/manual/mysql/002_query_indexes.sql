@@ -0,0 +1,39 @@
+-- Indexes backing the derived queries in za.ac.styling.repository.
+-- Fresh schemas get these from the @Table(indexes = ...) mappings; run this once against
+-- databases created before those mappings existed. The statements are not idempotent on
+-- MySQL, so drop any index that already exists from the list before running it.
+
+-- project_users must be unique per (project_id, user_id); keep the oldest membership row.
+DELETE pu FROM project_users pu
+    JOIN project_users keep_row
+      ON keep_row.project_id = pu.project_id
+     AND keep_row.user_id = pu.user_id
+     AND keep_row.id < pu.id;
+
+ALTER TABLE project_users
+    ADD CONSTRAINT uk_project_users_project_user UNIQUE (project_id, user_id);
+CREATE INDEX idx_project_users_user ON project_users (user_id);
+CREATE INDEX idx_project_users_project_role ON project_users (project_id, role);
+
+CREATE INDEX idx_tasks_project_status ON tasks (project_id, status);
+CREATE INDEX idx_tasks_assigned_status ON tasks (assigned_to_id, status);
+CREATE INDEX idx_tasks_status ON tasks (status);
+CREATE INDEX idx_tasks_due_date ON tasks (due_date, task_id);
+
+CREATE INDEX idx_projects_client_status ON projects (client_id, status);
+CREATE INDEX idx_projects_status ON projects (status);
+CREATE INDEX idx_projects_due_date ON projects (due_date, project_id);
+
+CREATE INDEX idx_notifications_user_read_sent ON notifications (user_id, is_read, sent_at);
+CREATE INDEX idx_notifications_user_sent ON notifications (user_id, sent_at, notification_id);
+CREATE INDEX idx_notifications_type ON notifications (type);
+
+CREATE INDEX idx_deliverables_project_approved ON deliverables (project_id, approved);
+CREATE INDEX idx_deliverables_approved ON deliverables (approved);
+CREATE INDEX idx_deliverables_file_type ON deliverables (file_type);
+
+CREATE INDEX idx_feedbacks_deliverable ON feedbacks (deliverable_id);
+CREATE INDEX idx_feedbacks_user ON feedbacks (user_id);
+
+CREATE INDEX idx_users_role ON users (role);
+CREATE INDEX idx_users_company_name ON users (company_name);
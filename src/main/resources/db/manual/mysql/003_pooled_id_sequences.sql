@@ -0,0 +1,34 @@
+-- Backing tables for the pooled id generators (MySQL has no sequences, so Hibernate keeps
+-- the next value in a one-row table per entity). Run once against databases created while
+-- ids were AUTO_INCREMENT, before the first start on the new mapping. Each table is seeded
+-- one allocation block (50) past the current max id; the pooled optimizer hands out ids
+-- starting just above the max. IdSequenceChecker refuses to start the application until this
+-- has run.
+
+CREATE TABLE IF NOT EXISTS users_seq (next_val BIGINT);
+DELETE FROM users_seq;
+INSERT INTO users_seq (next_val) SELECT COALESCE(MAX(user_id), 0) + 50 FROM users;
+
+CREATE TABLE IF NOT EXISTS projects_seq (next_val BIGINT);
+DELETE FROM projects_seq;
+INSERT INTO projects_seq (next_val) SELECT COALESCE(MAX(project_id), 0) + 50 FROM projects;
+
+CREATE TABLE IF NOT EXISTS tasks_seq (next_val BIGINT);
+DELETE FROM tasks_seq;
+INSERT INTO tasks_seq (next_val) SELECT COALESCE(MAX(task_id), 0) + 50 FROM tasks;
+
+CREATE TABLE IF NOT EXISTS deliverables_seq (next_val BIGINT);
+DELETE FROM deliverables_seq;
+INSERT INTO deliverables_seq (next_val) SELECT COALESCE(MAX(deliverable_id), 0) + 50 FROM deliverables;
+
+CREATE TABLE IF NOT EXISTS feedbacks_seq (next_val BIGINT);
+DELETE FROM feedbacks_seq;
+INSERT INTO feedbacks_seq (next_val) SELECT COALESCE(MAX(feedback_id), 0) + 50 FROM feedbacks;
+
+CREATE TABLE IF NOT EXISTS notifications_seq (next_val BIGINT);
+DELETE FROM notifications_seq;
+INSERT INTO notifications_seq (next_val) SELECT COALESCE(MAX(notification_id), 0) + 50 FROM notifications;
+
+CREATE TABLE IF NOT EXISTS project_users_seq (next_val BIGINT);
+DELETE FROM project_users_seq;
+INSERT INTO project_users_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM project_users;
@@ -0,0 +1,28 @@
+-- Optional: turns notifications into monthly RANGE COLUMNS partitions on sent_at, so the
+-- retention job (app.notifications.retention.partitions.enabled=true) can drop whole months
+-- instead of deleting rows. Run once, after 004_notification_retention_index.sql, with the
+-- application stopped; the table is rebuilt.
+--
+-- MySQL requires every unique key of a partitioned table to include sent_at and does not allow
+-- foreign keys on one, so the primary key becomes (notification_id, sent_at) and the user_id
+-- foreign key is dropped. With spring.jpa.hibernate.ddl-auto=update Hibernate logs a warning each
+-- start when it tries to add that key back; use validate or none on a partitioned database.
+
+SET @fk = (SELECT constraint_name FROM information_schema.referential_constraints
+           WHERE constraint_schema = DATABASE() AND table_name = 'notifications' LIMIT 1);
+SET @ddl = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE notifications DROP FOREIGN KEY ', @fk));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+ALTER TABLE notifications DROP PRIMARY KEY, ADD PRIMARY KEY (notification_id, sent_at);
+
+-- Everything up to the end of the current month goes into that month's partition (p<yyyyMM>);
+-- the retention job splits later months off p_future ahead of time.
+SET @ddl = CONCAT('ALTER TABLE notifications PARTITION BY RANGE COLUMNS (sent_at) (',
+                  'PARTITION p', DATE_FORMAT(CURRENT_DATE, '%Y%m'),
+                  ' VALUES LESS THAN (''', DATE_FORMAT(CURRENT_DATE + INTERVAL 1 MONTH, '%Y-%m-01'), '''), ',
+                  'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
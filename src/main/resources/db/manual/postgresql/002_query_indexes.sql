@@ -0,0 +1,46 @@
+-- Indexes backing the derived queries in za.ac.styling.repository.
+-- Fresh schemas get these from the @Table(indexes = ...) mappings; run this once against
+-- databases created before those mappings existed. Safe to re-run.
+
+-- project_users must be unique per (project_id, user_id); keep the oldest membership row.
+DELETE FROM project_users pu
+    USING project_users keep_row
+    WHERE keep_row.project_id = pu.project_id
+      AND keep_row.user_id = pu.user_id
+      AND keep_row.id < pu.id;
+
+-- A constraint rather than a bare unique index, matching ProjectUser's @UniqueConstraint so
+-- ddl-auto=update sees it as already present.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_project_users_project_user') THEN
+        DROP INDEX IF EXISTS uk_project_users_project_user;
+        ALTER TABLE project_users
+            ADD CONSTRAINT uk_project_users_project_user UNIQUE (project_id, user_id);
+    END IF;
+END $$;
+CREATE INDEX IF NOT EXISTS idx_project_users_user ON project_users (user_id);
+CREATE INDEX IF NOT EXISTS idx_project_users_project_role ON project_users (project_id, role);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_project_status ON tasks (project_id, status);
+CREATE INDEX IF NOT EXISTS idx_tasks_assigned_status ON tasks (assigned_to_id, status);
+CREATE INDEX IF NOT EXISTS idx_tasks_status ON tasks (status);
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (due_date, task_id);
+
+CREATE INDEX IF NOT EXISTS idx_projects_client_status ON projects (client_id, status);
+CREATE INDEX IF NOT EXISTS idx_projects_status ON projects (status);
+CREATE INDEX IF NOT EXISTS idx_projects_due_date ON projects (due_date, project_id);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_user_read_sent ON notifications (user_id, is_read, sent_at);
+CREATE INDEX IF NOT EXISTS idx_notifications_user_sent ON notifications (user_id, sent_at, notification_id);
+CREATE INDEX IF NOT EXISTS idx_notifications_type ON notifications (type);
+
+CREATE INDEX IF NOT EXISTS idx_deliverables_project_approved ON deliverables (project_id, approved);
+CREATE INDEX IF NOT EXISTS idx_deliverables_approved ON deliverables (approved);
+CREATE INDEX IF NOT EXISTS idx_deliverables_file_type ON deliverables (file_type);
+
+CREATE INDEX IF NOT EXISTS idx_feedbacks_deliverable ON feedbacks (deliverable_id);
+CREATE INDEX IF NOT EXISTS idx_feedbacks_user ON feedbacks (user_id);
+
+CREATE INDEX IF NOT EXISTS idx_users_role ON users (role);
+CREATE INDEX IF NOT EXISTS idx_users_company_name ON users (company_name);
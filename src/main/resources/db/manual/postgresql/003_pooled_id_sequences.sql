@@ -0,0 +1,26 @@
+-- Sequences for the pooled id generators. Run once against databases created while ids were
+-- identity columns, before the first start on the new mapping. Each sequence is positioned
+-- one allocation block (50) past the current max id so the pooled optimizer hands out ids
+-- starting just above the max. IdSequenceChecker refuses to start the application until this
+-- has run. Safe to re-run.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(user_id) FROM users), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS projects_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('projects_seq', COALESCE((SELECT MAX(project_id) FROM projects), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('tasks_seq', COALESCE((SELECT MAX(task_id) FROM tasks), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS deliverables_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('deliverables_seq', COALESCE((SELECT MAX(deliverable_id) FROM deliverables), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS feedbacks_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('feedbacks_seq', COALESCE((SELECT MAX(feedback_id) FROM feedbacks), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS notifications_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('notifications_seq', COALESCE((SELECT MAX(notification_id) FROM notifications), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS project_users_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('project_users_seq', COALESCE((SELECT MAX(id) FROM project_users), 0) + 50, false);
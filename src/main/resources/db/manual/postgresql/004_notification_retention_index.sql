@@ -0,0 +1,7 @@
+-- Index for the notification retention job, which looks up read notifications of one type sent
+-- before a cutoff. It leads with type, so it replaces idx_notifications_type. Run once against
+-- databases created before the mapping changed; fresh schemas get it from @Table(indexes = ...).
+-- Safe to re-run.
+
+CREATE INDEX IF NOT EXISTS idx_notifications_type_read_sent ON notifications (type, is_read, sent_at);
+DROP INDEX IF EXISTS idx_notifications_type;
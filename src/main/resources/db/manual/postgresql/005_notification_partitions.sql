@@ -0,0 +1,29 @@
+-- Optional: turns notifications into monthly range partitions on sent_at, so the retention job
+-- (app.notifications.retention.partitions.enabled=true) can drop whole months instead of
+-- deleting rows. Run once, after 004_notification_retention_index.sql, with the application
+-- stopped; rows are copied into the new table. A partitioned table's primary key must include
+-- sent_at, so it becomes (notification_id, sent_at).
+
+ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+
+CREATE TABLE notifications (LIKE notifications_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (sent_at);
+ALTER TABLE notifications ADD PRIMARY KEY (notification_id, sent_at);
+ALTER TABLE notifications ADD FOREIGN KEY (user_id) REFERENCES users (user_id);
+
+-- Everything up to the end of the current month goes into that month's partition
+-- (notifications_p<yyyyMM>); the retention job creates later months ahead of time. Rows outside
+-- every partition land in notifications_default.
+DO $$
+BEGIN
+    EXECUTE format('CREATE TABLE notifications_p%s PARTITION OF notifications FOR VALUES FROM (MINVALUE) TO (%L)',
+                   to_char(current_date, 'YYYYMM'), (date_trunc('month', current_date) + interval '1 month')::date);
+END $$;
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+INSERT INTO notifications SELECT * FROM notifications_unpartitioned;
+DROP TABLE notifications_unpartitioned;
+
+CREATE INDEX idx_notifications_user_read_sent ON notifications (user_id, is_read, sent_at);
+CREATE INDEX idx_notifications_user_sent ON notifications (user_id, sent_at, notification_id);
+CREATE INDEX idx_notifications_type_read_sent ON notifications (type, is_read, sent_at);
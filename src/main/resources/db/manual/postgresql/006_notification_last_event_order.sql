@@ -0,0 +1,12 @@
+-- Inbox lists are ordered by last_event_at, which moves when an event is merged into an unread
+-- notification, so the (user_id, sent_at, notification_id) index is replaced by one on
+-- last_event_at. Run once after the coalescing columns exist (spring.jpa.hibernate.ddl-auto=update
+-- adds them as nullable columns); rows created before then take their sent_at, then the column is
+-- made NOT NULL. Safe to re-run.
+
+UPDATE notifications SET last_event_at = sent_at WHERE last_event_at IS NULL;
+UPDATE notifications SET event_count = 1 WHERE event_count IS NULL;
+ALTER TABLE notifications ALTER COLUMN last_event_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_notifications_user_last_event ON notifications (user_id, last_event_at, notification_id);
+DROP INDEX IF EXISTS idx_notifications_user_sent;
@@ -0,0 +1,90 @@
+package za.ac.styling.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import za.ac.styling.domain.Project;
+import za.ac.styling.dto.TaskCreateDto;
+import za.ac.styling.factory.ProjectFactory;
+import za.ac.styling.service.IProjectService;
+import za.ac.styling.service.ITaskService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares task inserts one row per call with {@link ITaskService#createTasks}, which batches
+ * inserts. Skipped by default; run with
+ * {@code mvn test -Dtest=BulkInsertBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=5000]}.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BulkInsertBenchmarkTest {
+
+    private static final int CHUNK = 500;
+
+    @Autowired
+    private ITaskService taskService;
+
+    @Autowired
+    private IProjectService projectService;
+
+    @Test
+    void compareRowByRowWithBulkInsert() {
+        int rows = Integer.getInteger("benchmark.rows", 5000);
+        Project project = projectService.save(ProjectFactory.createProject(1, "Bulk Insert Benchmark"));
+
+        // Warm up both paths so class loading and statement caches are not measured
+        insertRowByRow(project, 200);
+        insertBulk(project, 200);
+
+        long rowByRowNanos = insertRowByRow(project, rows);
+        long bulkNanos = insertBulk(project, rows);
+
+        double rowByRowRate = rows / (rowByRowNanos / 1e9);
+        double bulkRate = rows / (bulkNanos / 1e9);
+        System.out.printf("Row-by-row: %d rows in %d ms (%.0f rows/s)%n", rows, rowByRowNanos / 1_000_000, rowByRowRate);
+        System.out.printf("Bulk:       %d rows in %d ms (%.0f rows/s), %.1fx%n",
+                rows, bulkNanos / 1_000_000, bulkRate, bulkRate / rowByRowRate);
+        assertEquals(2 * (rows + 200), taskService.findByProjectId(project.getProjectId()).size());
+    }
+
+    private long insertRowByRow(Project project, int rows) {
+        long started = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            TaskCreateDto dto = task(project, i);
+            taskService.createTask(dto.getTitle(), dto.getDescription(), dto.getProjectId(),
+                    dto.getAssignedToId(), dto.getDueDate(), null, null);
+        }
+        return System.nanoTime() - started;
+    }
+
+    private long insertBulk(Project project, int rows) {
+        long started = System.nanoTime();
+        List<TaskCreateDto> chunk = new ArrayList<>(CHUNK);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(task(project, i));
+            if (chunk.size() == CHUNK || i == rows - 1) {
+                taskService.createTasks(chunk);
+                chunk = new ArrayList<>(CHUNK);
+            }
+        }
+        return System.nanoTime() - started;
+    }
+
+    private static TaskCreateDto task(Project project, int i) {
+        return TaskCreateDto.builder()
+                .title("Benchmark Task " + i)
+                .description("Inserted by BulkInsertBenchmarkTest")
+                .projectId(project.getProjectId())
+                .assignedToId(1)
+                .dueDate(LocalDate.now().plusDays(30))
+                .build();
+    }
+}
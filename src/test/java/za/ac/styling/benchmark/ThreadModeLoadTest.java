@@ -0,0 +1,148 @@
+package za.ac.styling.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import za.ac.styling.Main;
+import za.ac.styling.domain.Project;
+import za.ac.styling.dto.TaskCreateDto;
+import za.ac.styling.factory.ProjectFactory;
+import za.ac.styling.service.IProjectService;
+import za.ac.styling.service.ITaskService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application twice on an in-memory H2 database, once on platform threads and once
+ * on virtual threads, and drives the same HTTP load at both. Prints throughput and p50/p99
+ * latency. Skipped by default; run with
+ * {@code mvn test -Dtest=ThreadModeLoadTest -Dload=true [-Dload.concurrency=400]
+ * [-Dload.requests=20000] [-Dload.path=/api/tasks/page?size=20] [-Dload.tomcat-threads=200]}.
+ */
+@EnabledIfSystemProperty(named = "load", matches = "true")
+class ThreadModeLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20000);
+    private static final String PATH = System.getProperty("load.path", "/api/tasks/page?size=20");
+    private static final int TOMCAT_THREADS = Integer.getInteger("load.tomcat-threads", 200);
+
+    @Test
+    void comparePlatformWithVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("Load: %d requests, %d concurrent clients, GET %s%n", REQUESTS, CONCURRENCY, PATH);
+        System.out.println("Platform threads: " + platform);
+        System.out.println("Virtual threads:  " + virtual);
+        assertEquals(0, platform.errors);
+        assertEquals(0, virtual.errors);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtualThreads)) {
+            seed(context);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            drive(baseUrl, Math.min(REQUESTS, 2000));
+            return drive(baseUrl, REQUESTS);
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(Main.class).run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        Project project = context.getBean(IProjectService.class)
+                .save(ProjectFactory.createProject(1, "Load Test Project"));
+        List<TaskCreateDto> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tasks.add(TaskCreateDto.builder()
+                    .title("Load task " + i)
+                    .description("Seeded by ThreadModeLoadTest")
+                    .projectId(project.getProjectId())
+                    .assignedToId(1)
+                    .dueDate(LocalDate.now().plusDays(30))
+                    .build());
+        }
+        context.getBean(ITaskService.class).createTasks(tasks);
+    }
+
+    private Result drive(String baseUrl, int requests) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATH))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(clients).build()) {
+            long started = System.nanoTime();
+            List<Future<?>> workers = new ArrayList<>();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                workers.add(clients.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            long elapsed = System.nanoTime() - started;
+
+            Arrays.sort(latencies);
+            return new Result(requests / (elapsed / 1e9),
+                    latencies[(int) (requests * 0.50)] / 1e6,
+                    latencies[Math.min(requests - 1, (int) (requests * 0.99))] / 1e6,
+                    errors.get());
+        }
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, int errors) {
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50 %.1f ms, p99 %.1f ms, %d errors",
+                    throughput, p50Millis, p99Millis, errors);
+        }
+    }
+}
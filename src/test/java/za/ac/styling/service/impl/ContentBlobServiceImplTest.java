@@ -0,0 +1,91 @@
+package za.ac.styling.service.impl;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import za.ac.styling.dto.StoredContentDto;
+import za.ac.styling.repository.ContentBlobRepository;
+import za.ac.styling.service.IContentBlobService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ContentBlobServiceImplTest {
+
+    @Autowired
+    private IContentBlobService contentBlobService;
+
+    @Autowired
+    private ContentBlobRepository contentBlobRepository;
+
+    private static byte[] bytes;
+    private static String sha256;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        bytes = new byte[50_000];
+        new Random().nextBytes(bytes);
+        sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+
+    @Test
+    @Order(1)
+    void reference_UnknownContent_ReturnsEmpty() {
+        assertTrue(contentBlobService.reference(sha256, bytes.length).isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    void put_SameContentTwice_KeepsOneCopy() throws Exception {
+        Path first = Files.write(Files.createTempFile("blob", ".part"), bytes);
+        Path second = Files.write(Files.createTempFile("blob", ".part"), bytes);
+
+        StoredContentDto stored = contentBlobService.put(first, sha256, bytes.length);
+        StoredContentDto again = contentBlobService.put(second, sha256, bytes.length);
+
+        assertEquals(stored.getStoragePath(), again.getStoragePath());
+        assertFalse(Files.exists(first));
+        assertFalse(Files.exists(second));
+        assertArrayEquals(bytes, Files.readAllBytes(contentBlobService.resolve(stored.getStoragePath())));
+        assertEquals(2, contentBlobRepository.findById(sha256).orElseThrow().getReferenceCount());
+    }
+
+    @Test
+    @Order(3)
+    void reference_KnownContent_AddsReferenceOnlyWhenSizeMatches() {
+        assertTrue(contentBlobService.reference(sha256, bytes.length + 1).isEmpty());
+        assertTrue(contentBlobService.reference(sha256, bytes.length).isPresent());
+        assertEquals(3, contentBlobRepository.findById(sha256).orElseThrow().getReferenceCount());
+    }
+
+    @Test
+    @Order(4)
+    void release_LastReference_DeletesFile() {
+        Path file = contentBlobService.resolve(contentBlobService.reference(sha256, bytes.length).orElseThrow()
+                .getStoragePath());
+        for (int i = 0; i < 3; i++) {
+            contentBlobService.release(sha256);
+        }
+        assertTrue(Files.exists(file));
+
+        contentBlobService.release(sha256);
+        assertFalse(Files.exists(file));
+        assertFalse(contentBlobRepository.existsById(sha256));
+    }
+
+    @Test
+    @Order(5)
+    void resolve_RejectsPathsOutsideContentDirectory() {
+        assertThrows(IllegalArgumentException.class, () -> contentBlobService.resolve("../secrets"));
+        assertThrows(IllegalArgumentException.class, () -> contentBlobService.put(Path.of("x"), "../../etc", 1));
+    }
+}
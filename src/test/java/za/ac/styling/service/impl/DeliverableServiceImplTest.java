@@ -144,7 +144,7 @@ class DeliverableServiceImplTest {
     @Order(11)
     void uploadDeliverable() {
         Deliverable uploaded = deliverableService.uploadDeliverable("document.docx", "application/msword",
-                "http://example.com/document.docx", testProject.getProjectId());
+                "http://example.com/document.docx", testProject.getProjectId(), null);
         assertNotNull(uploaded);
         assertNotNull(uploaded.getDeliverableId());
         assertEquals("document.docx", uploaded.getFileName());
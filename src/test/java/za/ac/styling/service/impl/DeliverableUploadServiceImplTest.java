@@ -0,0 +1,226 @@
+package za.ac.styling.service.impl;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import za.ac.styling.domain.Deliverable;
+import za.ac.styling.domain.Project;
+import za.ac.styling.dto.DeliverableContentDto;
+import za.ac.styling.dto.UploadSessionDto;
+import za.ac.styling.dto.UploadStartDto;
+import za.ac.styling.factory.DeliverableFactory;
+import za.ac.styling.factory.ProjectFactory;
+import za.ac.styling.service.IDeliverableService;
+import za.ac.styling.service.IDeliverableUploadService;
+import za.ac.styling.service.IProjectService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class DeliverableUploadServiceImplTest {
+
+    @Autowired
+    private IDeliverableUploadService deliverableUploadService;
+
+    @Autowired
+    private IDeliverableService deliverableService;
+
+    @Autowired
+    private IProjectService projectService;
+
+    @Value("${app.deliverables.content-dir:${java.io.tmpdir}/styling-app/deliverables}")
+    private Path contentDir;
+
+    private static Project testProject;
+    private static byte[] file;
+
+    @BeforeAll
+    static void setUp() {
+        testProject = ProjectFactory.createProject(1, "Upload Project");
+        file = new byte[300_000];
+        new Random(42).nextBytes(file);
+    }
+
+    @Test
+    @Order(1)
+    void setupProject() {
+        testProject = projectService.save(testProject);
+        assertNotNull(testProject.getProjectId());
+    }
+
+    @Test
+    @Order(2)
+    void upload_InChunks_CreatesDeliverableOnlyOnCompletion() throws Exception {
+        UploadSessionDto session = start(file.length, sha256(file));
+        assertEquals(0, session.getOffset());
+
+        session = append(session.getUploadId(), 0, 100_000);
+        session = append(session.getUploadId(), 100_000, 250_000);
+        assertEquals(250_000, session.getOffset());
+        String uploadId = session.getUploadId();
+        assertThrows(IllegalStateException.class, () -> deliverableUploadService.completeUpload(uploadId));
+
+        session = append(uploadId, 250_000, file.length);
+        assertEquals(file.length, session.getOffset());
+
+        Deliverable deliverable = deliverableUploadService.completeUpload(uploadId);
+        assertNotNull(deliverable.getDeliverableId());
+        assertEquals(file.length, deliverable.getFileSize());
+        assertEquals(sha256(file), deliverable.getContentSha256());
+        assertArrayEquals(file, Files.readAllBytes(contentDir.resolve(deliverable.getStoragePath())));
+        assertThrows(IllegalArgumentException.class, () -> deliverableUploadService.getUpload(uploadId));
+    }
+
+    @Test
+    @Order(3)
+    void appendChunk_RejectsWrongOffsetAndBadChecksum_ThenResumes() {
+        UploadSessionDto session = start(file.length, null);
+        String uploadId = session.getUploadId();
+        append(uploadId, 0, 1000);
+
+        assertThrows(IllegalStateException.class, () -> append(uploadId, 500, 1500));
+        byte[] chunk = Arrays.copyOfRange(file, 1000, 2000);
+        assertThrows(IllegalArgumentException.class, () -> deliverableUploadService.appendChunk(uploadId, 1000,
+                sha256(new byte[1]), new ByteArrayInputStream(chunk)));
+        assertEquals(1000, deliverableUploadService.getUpload(uploadId).getOffset());
+
+        append(uploadId, 1000, file.length);
+        assertEquals(file.length, deliverableUploadService.completeUpload(uploadId).getFileSize());
+    }
+
+    @Test
+    @Order(4)
+    void completeUpload_WithWrongAnnouncedChecksum_KeepsSession() {
+        String uploadId = start(file.length, sha256(new byte[1])).getUploadId();
+        append(uploadId, 0, file.length);
+
+        assertThrows(IllegalArgumentException.class, () -> deliverableUploadService.completeUpload(uploadId));
+        assertEquals(file.length, deliverableUploadService.getUpload(uploadId).getOffset());
+    }
+
+    @Test
+    @Order(5)
+    void abortUpload_RemovesSessionAndPartFile() throws Exception {
+        String uploadId = start(file.length, null).getUploadId();
+        append(uploadId, 0, 5000);
+        Path part = contentDir.resolve(DeliverableUploadServiceImpl.UPLOADS_DIR).resolve(uploadId + ".part");
+        assertEquals(5000, Files.size(part));
+
+        deliverableUploadService.abortUpload(uploadId);
+        assertFalse(Files.exists(part));
+        assertThrows(IllegalArgumentException.class, () -> deliverableUploadService.getUpload(uploadId));
+    }
+
+    @Test
+    @Order(6)
+    void findContent_ResolvesStoredFileAndExternalLinks() {
+        String uploadId = start(file.length, null).getUploadId();
+        append(uploadId, 0, file.length);
+        Deliverable stored = deliverableUploadService.completeUpload(uploadId);
+
+        DeliverableContentDto content = deliverableService.findContent(stored.getDeliverableId()).orElseThrow();
+        assertEquals(contentDir.resolve(stored.getStoragePath()).toAbsolutePath().normalize(), content.getFile());
+        assertEquals(file.length, content.getSize());
+        assertEquals("\"" + sha256(file) + "\"", content.getEtag());
+        assertEquals("application/pdf", content.getContentType());
+        assertNull(content.getExternalUrl());
+
+        Deliverable linked = deliverableService.uploadDeliverable("mockup.png", "PNG",
+                "https://example.com/mockup.png", testProject.getProjectId(), null);
+        content = deliverableService.findContent(linked.getDeliverableId()).orElseThrow();
+        assertEquals("https://example.com/mockup.png", content.getExternalUrl());
+        assertEquals("image/png", content.getContentType());
+
+        assertTrue(deliverableService.findContent(-1).isEmpty());
+    }
+
+    @Test
+    @Order(7)
+    void startUpload_WithKnownContent_CompletesInstantlyAndDeleteCollectsLastCopy() throws Exception {
+        byte[] other = Arrays.copyOf(file, 1000);
+        String uploadId = start(other.length, null).getUploadId();
+        byte[] chunk = other.clone();
+        deliverableUploadService.appendChunk(uploadId, 0, sha256(chunk), new ByteArrayInputStream(chunk));
+        Deliverable first = deliverableUploadService.completeUpload(uploadId);
+
+        UploadSessionDto repeat = start(other.length, sha256(other).toUpperCase());
+        assertNull(repeat.getUploadId());
+        assertEquals(other.length, repeat.getOffset());
+        Deliverable second = deliverableService.findById(repeat.getDeliverableId()).orElseThrow();
+        assertEquals(first.getStoragePath(), second.getStoragePath());
+
+        Path stored = contentDir.resolve(first.getStoragePath());
+        deliverableService.deleteById(first.getDeliverableId());
+        assertTrue(Files.exists(stored));
+        deliverableService.deleteById(second.getDeliverableId());
+        assertFalse(Files.exists(stored));
+    }
+
+    @Test
+    @Order(8)
+    void forgedStoredContent_IsRejectedAndCannotReleaseAnotherDeliverablesBlob() throws Exception {
+        byte[] other = Arrays.copyOf(file, 2000);
+        String uploadId = start(other.length, null).getUploadId();
+        deliverableUploadService.appendChunk(uploadId, 0, sha256(other), new ByteArrayInputStream(other));
+        Deliverable real = deliverableUploadService.completeUpload(uploadId);
+        Path stored = contentDir.resolve(real.getStoragePath());
+
+        assertThrows(IllegalArgumentException.class, () -> deliverableService.uploadDeliverable("forged.pdf", "PDF",
+                real.getFileUrl(), testProject.getProjectId(), null));
+        Deliverable forged = DeliverableFactory.createDeliverable("forged.pdf", "PDF", real.getFileUrl(), testProject);
+        forged.setContentSha256(real.getContentSha256());
+        assertThrows(IllegalArgumentException.class, () -> deliverableService.save(forged));
+
+        // An external link carrying the hash of stored content is kept, without the hash
+        Deliverable linked = DeliverableFactory.createDeliverable("forged.pdf", "PDF",
+                "https://example.com/forged.pdf", testProject);
+        linked.setContentSha256(real.getContentSha256());
+        linked.setFileSize((long) other.length);
+        linked = deliverableService.save(linked);
+        assertNull(linked.getContentSha256());
+        assertNull(linked.getFileSize());
+
+        linked.setFileUrl(real.getFileUrl());
+        Deliverable retargeted = linked;
+        assertThrows(IllegalArgumentException.class, () -> deliverableService.update(retargeted));
+
+        deliverableService.deleteById(linked.getDeliverableId());
+        assertTrue(Files.exists(stored));
+        assertArrayEquals(other, Files.readAllBytes(stored));
+    }
+
+    private UploadSessionDto start(long size, String sha256) {
+        return deliverableUploadService.startUpload(UploadStartDto.builder()
+                .fileName("brand-guide.pdf")
+                .fileType("application/pdf")
+                .projectId(testProject.getProjectId())
+                .size(size)
+                .sha256(sha256)
+                .build());
+    }
+
+    private UploadSessionDto append(String uploadId, int from, int to) {
+        byte[] chunk = Arrays.copyOfRange(file, from, to);
+        return deliverableUploadService.appendChunk(uploadId, from, sha256(chunk), new ByteArrayInputStream(chunk));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
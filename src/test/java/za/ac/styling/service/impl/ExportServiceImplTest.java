@@ -0,0 +1,90 @@
+package za.ac.styling.service.impl;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import za.ac.styling.domain.Project;
+import za.ac.styling.factory.ProjectFactory;
+import za.ac.styling.factory.TaskFactory;
+import za.ac.styling.service.IExportService;
+import za.ac.styling.service.IProjectService;
+import za.ac.styling.service.ITaskService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ExportServiceImplTest {
+
+    @Autowired
+    private IExportService exportService;
+
+    @Autowired
+    private IProjectService projectService;
+
+    @Autowired
+    private ITaskService taskService;
+
+    @Test
+    @Order(1)
+    void setupData() {
+        Project project = projectService.save(ProjectFactory.createProject(1, "Export Project"));
+        taskService.save(TaskFactory.createTask("Export Task 1", project));
+        taskService.save(TaskFactory.createTask("Export Task 2", project));
+    }
+
+    @Test
+    @Order(2)
+    void exportTasks() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = exportService.exportTasks(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(taskService.count(), written);
+        assertEquals(written, lines.length);
+        assertTrue(lines[0].startsWith("{"));
+    }
+
+    @Test
+    @Order(3)
+    void exportProjects() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = exportService.exportProjects(out);
+
+        assertEquals(projectService.count(), written);
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("Export Project"));
+    }
+
+    @Test
+    @Order(4)
+    void exportTasks_FlushesOncePerBatchAndLeavesStreamOpen() throws IOException {
+        FlushCountingOutputStream out = new FlushCountingOutputStream();
+        long written = exportService.exportTasks(out);
+
+        assertTrue(written >= 2);
+        assertEquals(1, out.flushes);
+        assertFalse(out.closed);
+    }
+
+    private static class FlushCountingOutputStream extends ByteArrayOutputStream {
+
+        private int flushes;
+        private boolean closed;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package za.ac.styling.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import za.ac.styling.domain.Notification;
+import za.ac.styling.domain.NotificationType;
+import za.ac.styling.domain.User;
+import za.ac.styling.domain.UserRole;
+import za.ac.styling.factory.UserFactory;
+import za.ac.styling.service.INotificationRetentionService;
+import za.ac.styling.service.INotificationService;
+import za.ac.styling.service.IUserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class NotificationRetentionServiceImplTest {
+
+    @Autowired
+    private INotificationRetentionService notificationRetentionService;
+
+    @Autowired
+    private INotificationService notificationService;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static User testUser;
+
+    @BeforeAll
+    static void setUp() {
+        testUser = UserFactory.createUser("Retention User", "retention@example.com", "password123", UserRole.CLIENT);
+    }
+
+    @Test
+    @Order(1)
+    void setupUser() {
+        testUser = userService.save(testUser);
+        assertNotNull(testUser.getUserId());
+    }
+
+    @Test
+    @Order(2)
+    void purgeExpiredNotifications_DeletesOnlyOldReadNotifications() {
+        Notification oldRead = create(NotificationType.FEEDBACK, 120, true);
+        Notification oldUnread = create(NotificationType.FEEDBACK, 120, false);
+        Notification recentRead = create(NotificationType.FEEDBACK, 10, true);
+        double deletedBefore = deletedCount();
+
+        int deleted = notificationRetentionService.purgeExpiredNotifications();
+
+        assertTrue(deleted >= 1);
+        assertTrue(notificationService.findById(oldRead.getNotificationId()).isEmpty());
+        assertTrue(notificationService.findById(oldUnread.getNotificationId()).isPresent());
+        assertTrue(notificationService.findById(recentRead.getNotificationId()).isPresent());
+        assertTrue(deletedCount() - deletedBefore >= 1);
+        assertEquals(0, meterRegistry.get("notifications.retention.behind").gauge().value());
+    }
+
+    @Test
+    @Order(3)
+    void maintainPartitions_IsNoOpWhenDisabled() {
+        assertEquals(0, notificationRetentionService.maintainPartitions());
+    }
+
+    private Notification create(NotificationType type, int daysAgo, boolean read) {
+        Notification notification = notificationService.createNotification("Retention check", type, testUser.getUserId());
+        if (read) {
+            notificationService.markAsRead(notification.getNotificationId());
+        }
+        jdbcTemplate.update("UPDATE notifications SET sent_at = ? WHERE notification_id = ?",
+                LocalDateTime.now().minusDays(daysAgo), notification.getNotificationId());
+        return notification;
+    }
+
+    private double deletedCount() {
+        return meterRegistry.get("notifications.retention.deleted").tag("type", NotificationType.FEEDBACK.name())
+                .counter().count();
+    }
+}
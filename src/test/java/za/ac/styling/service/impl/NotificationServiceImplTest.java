@@ -8,10 +8,15 @@ import za.ac.styling.domain.Notification;
 import za.ac.styling.domain.NotificationType;
 import za.ac.styling.domain.User;
 import za.ac.styling.domain.UserRole;
+import za.ac.styling.dto.CursorPageDto;
+import za.ac.styling.dto.NotificationCreateDto;
+import za.ac.styling.dto.NotificationSummary;
 import za.ac.styling.factory.UserFactory;
 import za.ac.styling.service.INotificationService;
+import za.ac.styling.service.IUnreadCountService;
 import za.ac.styling.service.IUserService;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +33,9 @@ class NotificationServiceImplTest {
     @Autowired
     private IUserService userService;
 
+    @Autowired
+    private IUnreadCountService unreadCountService;
+
     private static User testUser;
     private static Notification testNotification1;
     private static Notification testNotification2;
@@ -138,7 +146,8 @@ class NotificationServiceImplTest {
     @Test
     @Order(11)
     void markAllAsRead() {
-        notificationService.markAllAsRead(testUser.getUserId());
+        int updated = notificationService.markAllAsRead(testUser.getUserId());
+        assertTrue(updated >= 1);
 
         List<Notification> unread = notificationService.findByUserIdAndReadStatus(testUser.getUserId(), false);
         assertTrue(unread.isEmpty());
@@ -185,4 +194,149 @@ class NotificationServiceImplTest {
         Optional<Notification> deleted = notificationService.findById(testNotification2.getNotificationId());
         assertFalse(deleted.isPresent());
     }
+
+    @Test
+    @Order(17)
+    void findPageByUserId() {
+        notificationService.createNotification("Page one", NotificationType.TASK_UPDATE, testUser.getUserId());
+        notificationService.createNotification("Page two", NotificationType.TASK_UPDATE, testUser.getUserId());
+
+        CursorPageDto<Notification> first = notificationService.findPageByUserId(testUser.getUserId(), null, 1);
+        assertEquals(1, first.getItems().size());
+        assertTrue(first.isHasMore());
+
+        CursorPageDto<Notification> rest = notificationService.findPageByUserId(testUser.getUserId(),
+                first.getNextCursor(), 100);
+        assertFalse(rest.getItems().isEmpty());
+        assertFalse(rest.isHasMore());
+        assertTrue(rest.getItems().stream()
+                .noneMatch(n -> n.getNotificationId().equals(first.getItems().get(0).getNotificationId())));
+    }
+
+    @Test
+    @Order(18)
+    void markAllAsReadUpTo() {
+        Notification older = notificationService.createNotification("Older", NotificationType.FEEDBACK, testUser.getUserId());
+        Notification seen = notificationService.createNotification("Seen", NotificationType.FEEDBACK, testUser.getUserId());
+        Notification newer = notificationService.createNotification("Newer", NotificationType.FEEDBACK, testUser.getUserId());
+
+        int updated = notificationService.markAllAsReadUpTo(testUser.getUserId(), seen.getNotificationId());
+        assertTrue(updated >= 2);
+
+        assertTrue(notificationService.findById(older.getNotificationId()).orElseThrow().getIsRead());
+        assertTrue(notificationService.findById(seen.getNotificationId()).orElseThrow().getIsRead());
+        assertFalse(notificationService.findById(newer.getNotificationId()).orElseThrow().getIsRead());
+    }
+
+    @Test
+    @Order(19)
+    void countUnreadNotifications_TracksWritesWithoutDrift() {
+        long before = notificationService.countUnreadNotifications(testUser.getUserId());
+
+        Notification created = notificationService.createNotification("Counted", NotificationType.APPROVAL,
+                testUser.getUserId());
+        assertEquals(before + 1, notificationService.countUnreadNotifications(testUser.getUserId()));
+
+        notificationService.markAsRead(created.getNotificationId());
+        assertEquals(before, notificationService.countUnreadNotifications(testUser.getUserId()));
+
+        assertEquals(0, unreadCountService.checkConsistency(100));
+        assertTrue(unreadCountService.getStats().getHits() > 0);
+    }
+
+    @Test
+    @Order(20)
+    void findSummaryPageByUserId_MatchesEntityPage() {
+        List<Integer> expected = notificationService.findPageByUserId(testUser.getUserId(), null, 100).getItems()
+                .stream().map(Notification::getNotificationId).toList();
+
+        CursorPageDto<NotificationSummary> first = notificationService.findSummaryPageByUserId(testUser.getUserId(), null, 2);
+        CursorPageDto<NotificationSummary> rest = notificationService.findSummaryPageByUserId(testUser.getUserId(),
+                first.getNextCursor(), 100);
+
+        List<Integer> actual = new ArrayList<>();
+        first.getItems().forEach(n -> actual.add(n.getNotificationId()));
+        rest.getItems().forEach(n -> actual.add(n.getNotificationId()));
+        assertEquals(expected, actual);
+
+        NotificationSummary latest = first.getItems().get(0);
+        assertEquals("Counted", latest.getMessage());
+        assertTrue(latest.getIsRead());
+        assertNotNull(latest.getSentAt());
+        assertEquals(notificationService.findByUserId(testUser.getUserId()).size(),
+                notificationService.findSummariesByUserId(testUser.getUserId()).size());
+    }
+
+    @Test
+    @Order(21)
+    void createNotifications_CoalescesSameProjectWithinWindow() {
+        long unreadBefore = notificationService.countUnreadNotifications(testUser.getUserId());
+
+        List<Notification> created = notificationService.createNotifications(List.of(
+                new NotificationCreateDto("Task \"A\" is now done", NotificationType.TASK_UPDATE, testUser.getUserId(), 901),
+                new NotificationCreateDto("Task \"B\" is now done", NotificationType.TASK_UPDATE, testUser.getUserId(), 901),
+                new NotificationCreateDto("Task \"C\" is now done", NotificationType.TASK_UPDATE, testUser.getUserId(), 902)));
+        assertEquals(2, created.size());
+        Notification burst = created.get(0);
+        assertEquals(2, burst.getEventCount());
+        assertEquals("Task \"B\" is now done (+1 more)", burst.getMessage());
+
+        Notification merged = notificationService.createNotifications(List.of(new NotificationCreateDto(
+                "Task \"D\" is now done", NotificationType.TASK_UPDATE, testUser.getUserId(), 901))).get(0);
+        assertEquals(burst.getNotificationId(), merged.getNotificationId());
+        Notification stored = notificationService.findById(burst.getNotificationId()).orElseThrow();
+        assertEquals(3, stored.getEventCount());
+        assertEquals("Task \"D\" is now done (+2 more)", stored.getMessage());
+        assertEquals(901, stored.getProjectId());
+        assertEquals(unreadBefore + 2, notificationService.countUnreadNotifications(testUser.getUserId()));
+        assertEquals(0, unreadCountService.checkConsistency(100));
+    }
+
+    @Test
+    @Order(22)
+    void createNotifications_StartsNewRowOnceMergedNotificationIsRead() {
+        Notification first = notificationService.createNotifications(List.of(new NotificationCreateDto(
+                "Task \"E\" is now done", NotificationType.TASK_UPDATE, testUser.getUserId(), 903))).get(0);
+        notificationService.markAsRead(first.getNotificationId());
+
+        Notification next = notificationService.createNotifications(List.of(new NotificationCreateDto(
+                "Task \"F\" is now done", NotificationType.TASK_UPDATE, testUser.getUserId(), 903))).get(0);
+        assertNotEquals(first.getNotificationId(), next.getNotificationId());
+        assertEquals(1, next.getEventCount());
+
+        // Without a project there is no key, so nothing is merged
+        Notification a = notificationService.createNotification("No project", NotificationType.TASK_UPDATE, testUser.getUserId());
+        Notification b = notificationService.createNotification("No project", NotificationType.TASK_UPDATE, testUser.getUserId());
+        assertNotEquals(a.getNotificationId(), b.getNotificationId());
+    }
+
+    @Test
+    @Order(23)
+    void findPageByUserId_MovesMergedNotificationToTop() throws InterruptedException {
+        Notification older = notificationService.createNotification("Task \"G\" is now done",
+                NotificationType.TASK_UPDATE, testUser.getUserId(), 904);
+        Notification newer = notificationService.createNotification("Unrelated", NotificationType.FEEDBACK,
+                testUser.getUserId());
+        Thread.sleep(10);
+        Notification merged = notificationService.createNotification("Task \"H\" is now done",
+                NotificationType.TASK_UPDATE, testUser.getUserId(), 904);
+        assertEquals(older.getNotificationId(), merged.getNotificationId());
+
+        CursorPageDto<Notification> first = notificationService.findPageByUserId(testUser.getUserId(), null, 1);
+        assertEquals(older.getNotificationId(), first.getItems().get(0).getNotificationId());
+        CursorPageDto<Notification> second = notificationService.findPageByUserId(testUser.getUserId(),
+                first.getNextCursor(), 1);
+        assertEquals(newer.getNotificationId(), second.getItems().get(0).getNotificationId());
+
+        CursorPageDto<NotificationSummary> summaries =
+                notificationService.findSummaryPageByUserId(testUser.getUserId(), null, 2);
+        assertEquals(List.of(older.getNotificationId(), newer.getNotificationId()),
+                summaries.getItems().stream().map(NotificationSummary::getNotificationId).toList());
+        assertTrue(summaries.getItems().get(0).getLastEventAt().isAfter(summaries.getItems().get(0).getSentAt()));
+
+        // The merged notification is above the marker now, so it stays unread
+        notificationService.markAllAsReadUpTo(testUser.getUserId(), newer.getNotificationId());
+        assertFalse(notificationService.findById(older.getNotificationId()).orElseThrow().getIsRead());
+        assertTrue(notificationService.findById(newer.getNotificationId()).orElseThrow().getIsRead());
+    }
 }
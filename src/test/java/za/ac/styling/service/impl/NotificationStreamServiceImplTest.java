@@ -0,0 +1,93 @@
+package za.ac.styling.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.BaseSubscriber;
+import za.ac.styling.domain.Notification;
+import za.ac.styling.domain.NotificationType;
+import za.ac.styling.dto.NotificationStreamStateDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationStreamServiceImplTest {
+
+    private NotificationStreamServiceImpl streamService;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new NotificationStreamServiceImpl(2, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void subscribe_ShouldStartWithUnreadCountAndReceiveNotifications() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        streamService.subscribe(7, 3).subscribe(subscriber);
+
+        assertTrue(streamService.hasSubscribers(7));
+        streamService.publishNotification(7, notification("Task updated"));
+        streamService.publishUnreadCount(7, 4);
+
+        assertEquals(3, subscriber.events.size());
+        assertEquals("unread-count", subscriber.events.get(0).event());
+        assertEquals(3, ((NotificationStreamStateDto) subscriber.events.get(0).data()).getUnreadCount());
+        assertEquals("notification", subscriber.events.get(1).event());
+        assertEquals(4, ((NotificationStreamStateDto) subscriber.events.get(2).data()).getUnreadCount());
+
+        subscriber.dispose();
+        assertFalse(streamService.hasSubscribers(7));
+    }
+
+    @Test
+    void publishNotification_WithSlowSubscriber_ShouldDropAndCoalesce() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        streamService.subscribe(9, 0).subscribe(subscriber);
+
+        for (int i = 0; i < 5; i++) {
+            streamService.publishNotification(9, notification("Update " + i));
+            streamService.publishUnreadCount(9, i + 1);
+        }
+        subscriber.request(Long.MAX_VALUE);
+
+        long notifications = subscriber.events.stream().filter(e -> "notification".equals(e.event())).count();
+        NotificationStreamStateDto last = (NotificationStreamStateDto) subscriber.events.stream()
+                .filter(e -> "unread-count".equals(e.event()))
+                .reduce((first, second) -> second)
+                .orElseThrow()
+                .data();
+        assertTrue(notifications < 5);
+        assertEquals(5, notifications + last.getDroppedNotifications());
+        assertEquals(5, last.getUnreadCount());
+        subscriber.dispose();
+    }
+
+    private static Notification notification(String message) {
+        return Notification.builder().message(message).type(NotificationType.TASK_UPDATE).build();
+    }
+
+    private static class RecordingSubscriber extends BaseSubscriber<ServerSentEvent<Object>> {
+
+        private final List<ServerSentEvent<Object>> events = new CopyOnWriteArrayList<>();
+        private final long initialRequest;
+
+        private RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        protected void hookOnSubscribe(org.reactivestreams.Subscription subscription) {
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        protected void hookOnNext(ServerSentEvent<Object> value) {
+            events.add(value);
+        }
+    }
+}
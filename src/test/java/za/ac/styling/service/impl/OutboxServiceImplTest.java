@@ -0,0 +1,194 @@
+package za.ac.styling.service.impl;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import za.ac.styling.domain.*;
+import za.ac.styling.factory.ProjectFactory;
+import za.ac.styling.factory.TaskFactory;
+import za.ac.styling.factory.UserFactory;
+import za.ac.styling.repository.OutboxEventRepository;
+import za.ac.styling.service.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class OutboxServiceImplTest {
+
+    @Autowired
+    private IOutboxService outboxService;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private IProjectService projectService;
+
+    @Autowired
+    private IProjectUserService projectUserService;
+
+    @Autowired
+    private ITaskService taskService;
+
+    @Autowired
+    private IDeliverableService deliverableService;
+
+    @Autowired
+    private IFeedbackService feedbackService;
+
+    @Autowired
+    private INotificationService notificationService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static User owner;
+    private static User client;
+    private static Project testProject;
+
+    @BeforeAll
+    static void setUp() {
+        owner = UserFactory.createUser("Outbox Owner", "outbox-owner@example.com", "password123", UserRole.ADMIN);
+        client = UserFactory.createUser("Outbox Client", "outbox-client@example.com", "password123", UserRole.CLIENT);
+        testProject = ProjectFactory.createProject(1, "Outbox Project");
+    }
+
+    @Test
+    @Order(1)
+    void setupProjectWithMembers() {
+        owner = userService.save(owner);
+        client = userService.save(client);
+        testProject = projectService.save(testProject);
+        projectUserService.addUserToProject(testProject.getProjectId(), owner.getUserId(), ProjectAccessRole.OWNER);
+        projectUserService.addUserToProject(testProject.getProjectId(), client.getUserId(), ProjectAccessRole.VIEWER);
+        drain();
+        assertEquals(0, notificationService.findByUserId(client.getUserId()).size());
+    }
+
+    @Test
+    @Order(2)
+    void projectAndTaskStatusChanges_NotifyEveryMember() {
+        projectService.updateProjectStatus(testProject.getProjectId(), ProjectStatus.IN_PROGRESS);
+        // Setting the same status again is not an event
+        projectService.updateProjectStatus(testProject.getProjectId(), ProjectStatus.IN_PROGRESS);
+        Task task = taskService.save(TaskFactory.createTask("Moodboard", testProject));
+        taskService.updateTaskStatus(task.getTaskId(), TaskStatus.IN_PROGRESS);
+        drain();
+
+        for (User member : new User[]{owner, client}) {
+            assertEquals(1, notificationService.findByUserId(member.getUserId()).stream()
+                    .filter(n -> n.getType() == NotificationType.PROJECT_UPDATE).count());
+            assertEquals(1, notificationService.findByUserId(member.getUserId()).stream()
+                    .filter(n -> n.getType() == NotificationType.TASK_UPDATE).count());
+        }
+        assertEquals("Project \"Outbox Project\" is now in progress", notificationService
+                .findByUserIdOrderedByDate(client.getUserId()).stream()
+                .filter(n -> n.getType() == NotificationType.PROJECT_UPDATE).findFirst().orElseThrow().getMessage());
+    }
+
+    @Test
+    @Order(3)
+    void uploadFeedbackAndApproval_NotifyMembersExceptActor() {
+        Deliverable deliverable = deliverableService.uploadDeliverable("logo.png", "PNG",
+                "https://example.com/logo.png", testProject.getProjectId(), null);
+        feedbackService.addFeedback("Make it bigger", deliverable.getDeliverableId(), client.getUserId());
+        deliverableService.approveDeliverable(deliverable.getDeliverableId());
+        deliverableService.approveDeliverable(deliverable.getDeliverableId());
+        drain();
+
+        assertEquals(1, count(owner, NotificationType.FILE_UPLOAD));
+        assertEquals(1, count(client, NotificationType.FILE_UPLOAD));
+        assertEquals(1, count(owner, NotificationType.FEEDBACK));
+        assertEquals(0, count(client, NotificationType.FEEDBACK));
+        assertEquals(1, count(owner, NotificationType.APPROVAL));
+        assertEquals(1, count(client, NotificationType.APPROVAL));
+    }
+
+    @Test
+    @Order(4)
+    void rolledBackChange_LeavesNoEvent() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            projectService.updateProjectStatus(testProject.getProjectId(), ProjectStatus.COMPLETED);
+            status.setRollbackOnly();
+        });
+        drain();
+
+        assertEquals(1, count(client, NotificationType.PROJECT_UPDATE));
+        assertEquals(ProjectStatus.IN_PROGRESS,
+                projectService.findById(testProject.getProjectId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @Order(5)
+    void record_OutsideTransaction_Throws() {
+        assertThrows(RuntimeException.class, () -> outboxService.record(NotificationType.PROJECT_UPDATE,
+                testProject.getProjectId(), null, "Not part of any change"));
+    }
+
+    @Test
+    @Order(6)
+    void statusChangesWithActor_NotifyMembersExceptActor() {
+        long ownerProjectEvents = events(owner, NotificationType.PROJECT_UPDATE);
+        long clientProjectEvents = events(client, NotificationType.PROJECT_UPDATE);
+        long ownerTaskEvents = events(owner, NotificationType.TASK_UPDATE);
+        long clientTaskEvents = events(client, NotificationType.TASK_UPDATE);
+        Task task = taskService.save(TaskFactory.createTask("Palette", testProject));
+
+        projectService.updateProjectStatus(testProject.getProjectId(), ProjectStatus.ON_HOLD, owner.getUserId());
+        taskService.updateTaskStatus(task.getTaskId(), TaskStatus.IN_PROGRESS, owner.getUserId());
+        drain();
+
+        assertEquals(ownerProjectEvents, events(owner, NotificationType.PROJECT_UPDATE));
+        assertEquals(clientProjectEvents + 1, events(client, NotificationType.PROJECT_UPDATE));
+        assertEquals(ownerTaskEvents, events(owner, NotificationType.TASK_UPDATE));
+        assertEquals(clientTaskEvents + 1, events(client, NotificationType.TASK_UPDATE));
+    }
+
+    @Test
+    @Order(7)
+    void failingEvent_IsSetAsideWithoutBlockingLaterEvents() {
+        // A fresh project, so the blank message cannot be merged into an existing notification
+        Project project = projectService.save(ProjectFactory.createProject(1, "Outbox Failure Project"));
+        projectUserService.addUserToProject(project.getProjectId(), client.getUserId(), ProjectAccessRole.VIEWER);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // A blank message is rejected when the notification is created
+            outboxService.record(NotificationType.PROJECT_UPDATE, project.getProjectId(), null, " ");
+            outboxService.record(NotificationType.TASK_UPDATE, project.getProjectId(), null, "After the bad one");
+        });
+
+        drain();
+
+        assertEquals(1, notificationService.findByUserId(client.getUserId()).stream()
+                .filter(n -> project.getProjectId().equals(n.getProjectId())).count());
+        OutboxEvent failed = outboxEventRepository.findAll().stream()
+                .filter(event -> event.getFailedAt() != null).findFirst().orElseThrow();
+        assertEquals(" ", failed.getMessage());
+        assertEquals(5, failed.getAttempts());
+        assertNotNull(failed.getLastError());
+    }
+
+    private long count(User user, NotificationType type) {
+        return notificationService.findByUserId(user.getUserId()).stream().filter(n -> n.getType() == type).count();
+    }
+
+    // Events of one type in a project may be merged into a single row, so rows are not counted
+    private long events(User user, NotificationType type) {
+        return notificationService.findByUserId(user.getUserId()).stream().filter(n -> n.getType() == type)
+                .mapToLong(Notification::getEventCount).sum();
+    }
+
+    private void drain() {
+        // The scheduled relay may hold part of the batch; its notifications commit with the delete
+        do {
+            outboxService.relayPendingEvents();
+        } while (outboxEventRepository.countByFailedAtIsNull() > 0);
+    }
+}
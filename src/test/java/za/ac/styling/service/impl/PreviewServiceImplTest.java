@@ -0,0 +1,178 @@
+package za.ac.styling.service.impl;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import za.ac.styling.domain.Deliverable;
+import za.ac.styling.domain.PreviewJob;
+import za.ac.styling.domain.PreviewSize;
+import za.ac.styling.domain.PreviewStatus;
+import za.ac.styling.domain.Project;
+import za.ac.styling.dto.PreviewDto;
+import za.ac.styling.dto.StoredContentDto;
+import za.ac.styling.factory.ProjectFactory;
+import za.ac.styling.repository.PreviewJobRepository;
+import za.ac.styling.service.IContentBlobService;
+import za.ac.styling.service.IDeliverableService;
+import za.ac.styling.service.IPreviewService;
+import za.ac.styling.service.IProjectService;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PreviewServiceImplTest {
+
+    @Autowired
+    private IPreviewService previewService;
+
+    @Autowired
+    private IDeliverableService deliverableService;
+
+    @Autowired
+    private IContentBlobService contentBlobService;
+
+    @Autowired
+    private IProjectService projectService;
+
+    @Autowired
+    private PreviewJobRepository previewJobRepository;
+
+    private static Project testProject;
+    private static Deliverable image;
+    private static Deliverable copy;
+
+    @BeforeAll
+    static void setUp() {
+        testProject = ProjectFactory.createProject(1, "Preview Project");
+    }
+
+    @Test
+    @Order(1)
+    void setupProject() {
+        testProject = projectService.save(testProject);
+        assertNotNull(testProject.getProjectId());
+    }
+
+    @Test
+    @Order(2)
+    void uploadDeliverable_Image_RendersThumbnailAndPreviewInBackground() throws Exception {
+        image = upload("moodboard.jpg", "image/jpeg", jpeg(2400, 1600));
+        assertTrue(previewJobRepository.existsBySha256(image.getContentSha256()));
+
+        PreviewDto thumbnail = awaitPreview(image.getDeliverableId(), PreviewSize.THUMBNAIL);
+        assertEquals("image/jpeg", thumbnail.getContentType());
+        assertEquals("\"" + image.getContentSha256() + "-thumbnail\"", thumbnail.getEtag());
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(thumbnail.getContent()));
+        assertEquals(256, decoded.getWidth());
+        assertEquals(171, decoded.getHeight());
+
+        PreviewDto preview = previewService.findPreview(image.getDeliverableId(), PreviewSize.PREVIEW).orElseThrow();
+        assertEquals(1024, ImageIO.read(new ByteArrayInputStream(preview.getContent())).getWidth());
+        assertNotEquals(thumbnail.getEtag(), preview.getEtag());
+    }
+
+    @Test
+    @Order(3)
+    void uploadDeliverable_SameContent_ReusesRenderedFiles() throws Exception {
+        StoredContentDto stored = contentBlobService.reference(image.getContentSha256(), image.getFileSize()).orElseThrow();
+        copy = deliverableService.uploadDeliverable("moodboard-copy.jpg", "image/jpeg", stored,
+                testProject.getProjectId(), null);
+
+        PreviewDto thumbnail = awaitPreview(copy.getDeliverableId(), PreviewSize.THUMBNAIL);
+        assertEquals("\"" + image.getContentSha256() + "-thumbnail\"", thumbnail.getEtag());
+    }
+
+    @Test
+    @Order(4)
+    void uploadDeliverable_UnsupportedType_QueuesNothing() throws Exception {
+        byte[] bytes = new byte[2048];
+        new Random().nextBytes(bytes);
+        Deliverable archive = upload("assets.zip", "application/zip", bytes);
+        assertFalse(previewJobRepository.existsBySha256(archive.getContentSha256()));
+        assertTrue(previewService.findPreview(archive.getDeliverableId(), PreviewSize.THUMBNAIL).isEmpty());
+    }
+
+    @Test
+    @Order(5)
+    void deleteDeliverable_HidesPreviewAndPurgeRemovesJob() {
+        deliverableService.deleteById(copy.getDeliverableId());
+        assertTrue(previewService.findPreview(copy.getDeliverableId(), PreviewSize.THUMBNAIL).isEmpty());
+        assertTrue(previewService.findPreview(image.getDeliverableId(), PreviewSize.THUMBNAIL).isPresent());
+
+        assertTrue(previewService.purgeOrphanedPreviews() >= 1);
+        assertTrue(previewJobRepository.existsBySha256(image.getContentSha256()));
+    }
+
+    @Test
+    @Order(6)
+    void dispatchPendingJobs_StaleJobOnLastAttempt_FailsInsteadOfRequeueing() {
+        LocalDateTime stale = LocalDateTime.now().minusDays(1);
+        // Not due until tomorrow, so the requeued job is left PENDING rather than run again
+        PreviewJob.PreviewJobBuilder job = PreviewJob.builder()
+                .deliverableId(image.getDeliverableId())
+                .sha256("f".repeat(64))
+                .storagePath(image.getStoragePath())
+                .contentType("image/jpeg")
+                .status(PreviewStatus.RUNNING)
+                .availableAt(LocalDateTime.now().plusDays(1))
+                .updatedAt(stale);
+        PreviewJob retried = previewJobRepository.save(job.attempts(1).build());
+        PreviewJob exhausted = previewJobRepository.save(job.attempts(3).build());
+
+        previewService.dispatchPendingJobs();
+
+        assertEquals(PreviewStatus.PENDING, previewJobRepository.findById(retried.getId()).orElseThrow().getStatus());
+        PreviewJob failed = previewJobRepository.findById(exhausted.getId()).orElseThrow();
+        assertEquals(PreviewStatus.FAILED, failed.getStatus());
+        assertTrue(failed.getLastError().startsWith("Timed out"));
+        previewJobRepository.deleteAll(List.of(retried, failed));
+    }
+
+    private Deliverable upload(String fileName, String fileType, byte[] bytes) throws Exception {
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        Path part = Files.write(Files.createTempFile("preview", ".part"), bytes);
+        StoredContentDto stored = contentBlobService.put(part, sha256, bytes.length);
+        return deliverableService.uploadDeliverable(fileName, fileType, stored, testProject.getProjectId(), null);
+    }
+
+    private PreviewDto awaitPreview(Integer deliverableId, PreviewSize size) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            previewService.dispatchPendingJobs();
+            Optional<PreviewDto> preview = previewService.findPreview(deliverableId, size);
+            if (preview.isPresent()) {
+                return preview.get();
+            }
+            Thread.sleep(100);
+        }
+        return fail("Preview of deliverable " + deliverableId + " was not rendered");
+    }
+
+    private static byte[] jpeg(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(new Random().nextInt()));
+        graphics.fillRect(0, 0, width / 2, height / 2);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+}
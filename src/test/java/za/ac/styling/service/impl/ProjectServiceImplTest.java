@@ -124,16 +124,6 @@ class ProjectServiceImplTest {
         assertEquals(ProjectStatus.IN_PROGRESS, updated.get().getStatus());
     }
 
-    @Test
-    @Order(10)
-    void updateProjectProgress() {
-        projectService.updateProjectProgress(testProject1.getProjectId(), 50.0);
-
-        Optional<Project> updated = projectService.findById(testProject1.getProjectId());
-        assertTrue(updated.isPresent());
-        assertEquals(50.0, updated.get().getProgress());
-    }
-
     @Test
     @Order(11)
     void createProject() {
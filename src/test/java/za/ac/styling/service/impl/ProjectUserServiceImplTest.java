@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import za.ac.styling.domain.*;
+import za.ac.styling.dto.MembershipCacheStatsDto;
 import za.ac.styling.factory.ProjectFactory;
 import za.ac.styling.factory.UserFactory;
 import za.ac.styling.service.IProjectService;
@@ -211,4 +212,50 @@ class ProjectUserServiceImplTest {
                 () -> projectUserService.addUserToProject(testProject.getProjectId(),
                         testUser1.getUserId(), ProjectAccessRole.VIEWER));
     }
+
+    @Test
+    @Order(18)
+    void findRole_IsCachedAndInvalidatedOnRoleChanges() {
+        Integer projectId = testProject.getProjectId();
+        Integer userId = testUser2.getUserId();
+
+        assertTrue(projectUserService.findRole(projectId, userId).isEmpty());
+        MembershipCacheStatsDto before = projectUserService.getCacheStats();
+        assertFalse(projectUserService.existsByProjectIdAndUserId(projectId, userId));
+        assertEquals(before.getHits() + 1, projectUserService.getCacheStats().getHits());
+
+        projectUserService.addUserToProject(projectId, userId, ProjectAccessRole.VIEWER);
+        assertEquals(Optional.of(ProjectAccessRole.VIEWER), projectUserService.findRole(projectId, userId));
+
+        projectUserService.changeUserRole(projectId, userId, ProjectAccessRole.APPROVER);
+        assertEquals(Optional.of(ProjectAccessRole.APPROVER), projectUserService.findRole(projectId, userId));
+
+        projectUserService.removeUserFromProject(projectId, userId);
+        assertTrue(projectUserService.findRole(projectId, userId).isEmpty());
+        assertTrue(projectUserService.findByProjectIdAndUserId(projectId, userId).isEmpty());
+    }
+
+    @Test
+    @Order(19)
+    void listings_LoadUserAndProjectWithoutOpenSession() {
+        Integer projectId = testProject.getProjectId();
+        Integer userId = testUser1.getUserId();
+
+        // No transaction is open here, so a lazy association would throw LazyInitializationException
+        List<ProjectUser> byProject = projectUserService.findByProjectId(projectId);
+        assertFalse(byProject.isEmpty());
+        byProject.forEach(member -> {
+            assertNotNull(member.getUser().getName());
+            assertEquals("Collaborative Project", member.getProject().getTitle());
+        });
+
+        projectUserService.findByUserId(userId)
+                .forEach(member -> assertEquals(userId, member.getUser().getUserId()));
+        ProjectUser member = projectUserService.findById(testProjectUser1.getId()).orElseThrow();
+        assertEquals("User One", member.getUser().getName());
+        assertEquals("User One", projectUserService.findByProjectIdAndUserId(projectId, userId)
+                .orElseThrow().getUser().getName());
+        projectUserService.findPage(null, 10).getItems()
+                .forEach(row -> assertNotNull(row.getProject().getTitle()));
+    }
 }
@@ -0,0 +1,119 @@
+package za.ac.styling.service.impl;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import za.ac.styling.domain.Project;
+import za.ac.styling.domain.SearchEntityType;
+import za.ac.styling.domain.Task;
+import za.ac.styling.dto.SearchHitDto;
+import za.ac.styling.factory.ProjectFactory;
+import za.ac.styling.factory.TaskFactory;
+import za.ac.styling.service.IProjectService;
+import za.ac.styling.service.ISearchService;
+import za.ac.styling.service.ITaskService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SearchServiceImplTest {
+
+    @Autowired
+    private ISearchService searchService;
+
+    @Autowired
+    private IProjectService projectService;
+
+    @Autowired
+    private ITaskService taskService;
+
+    private static Project titleMatch;
+    private static Project descriptionMatch;
+    private static Task task;
+
+    @Test
+    @Order(1)
+    void setupData() {
+        titleMatch = projectService.save(ProjectFactory.createProject(1, "Zorblax Rebrand",
+                "Refresh the brand", LocalDate.now(), LocalDate.now().plusDays(30)));
+        descriptionMatch = projectService.save(ProjectFactory.createProject(1, "Storefront",
+                "Storefront for the zorblax campaign", LocalDate.now(), LocalDate.now().plusDays(30)));
+        task = taskService.save(TaskFactory.createTask("Zorblax moodboard", titleMatch));
+    }
+
+    @Test
+    @Order(2)
+    void search_RanksTitleMatchesFirst() {
+        List<SearchHitDto> hits = searchService.search("zorblax", Set.of(SearchEntityType.PROJECT), null);
+        assertEquals(2, hits.size());
+        assertEquals(titleMatch.getProjectId(), hits.get(0).getId());
+        assertEquals(descriptionMatch.getProjectId(), hits.get(1).getId());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    @Order(3)
+    void search_AcrossTypesWithPrefix() {
+        List<SearchHitDto> hits = searchService.search("zorbl", null, 10);
+        assertEquals(3, hits.size());
+        assertTrue(hits.stream().anyMatch(hit -> hit.getType() == SearchEntityType.TASK
+                && hit.getId().equals(task.getTaskId())));
+
+        List<SearchHitDto> both = searchService.search("zorblax mood", null, 10);
+        assertEquals(1, both.size());
+        assertEquals("Zorblax moodboard", both.get(0).getLabel());
+    }
+
+    @Test
+    @Order(4)
+    void searchByTitle_UsesIndex() {
+        List<Project> projects = projectService.searchByTitle("zorblax");
+        assertEquals(1, projects.size());
+        assertEquals(titleMatch.getProjectId(), projects.get(0).getProjectId());
+    }
+
+    @Test
+    @Order(5)
+    void rebuild_KeepsIndexedDocuments() {
+        int documents = searchService.rebuild();
+        assertTrue(documents >= 3);
+        assertEquals(3, searchService.search("zorblax", null, 10).size());
+    }
+
+    @Test
+    @Order(6)
+    void deleteProject_RemovesProjectAndItsTasks() {
+        projectService.deleteById(titleMatch.getProjectId());
+
+        List<SearchHitDto> hits = searchService.search("zorblax", null, 10);
+        assertEquals(1, hits.size());
+        assertEquals(descriptionMatch.getProjectId(), hits.get(0).getId());
+    }
+
+    @Test
+    @Order(7)
+    void search_WithBlankQuery_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(" ", null, null));
+    }
+
+    @Test
+    @Order(8)
+    void findIds_StopsAtConfiguredMaximum() {
+        SearchServiceImpl limited = new SearchServiceImpl(null, null, null, null, null, 2);
+        for (int id = 1; id <= 3; id++) {
+            Project project = ProjectFactory.createProject(1, "Quillon " + id);
+            project.setProjectId(id);
+            limited.indexProject(project);
+        }
+
+        assertEquals(2, limited.findIds(SearchEntityType.PROJECT, "quillon").size());
+        assertTrue(limited.findIds(SearchEntityType.TASK, "quillon").isEmpty());
+    }
+}
@@ -1,18 +1,25 @@
 package za.ac.styling.service.impl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.TestPropertySource;
 import za.ac.styling.domain.Project;
 import za.ac.styling.domain.Task;
 import za.ac.styling.domain.TaskStatus;
+import za.ac.styling.dto.CursorPageDto;
+import za.ac.styling.dto.TaskCreateDto;
+import za.ac.styling.dto.TaskSummary;
 import za.ac.styling.factory.ProjectFactory;
 import za.ac.styling.factory.TaskFactory;
+import za.ac.styling.service.IProjectProgressService;
 import za.ac.styling.service.IProjectService;
 import za.ac.styling.service.ITaskService;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +36,15 @@ class TaskServiceImplTest {
     @Autowired
     private IProjectService projectService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IProjectProgressService projectProgressService;
+
     private static Project testProject;
     private static Task testTask1;
     private static Task testTask2;
@@ -163,7 +179,7 @@ class TaskServiceImplTest {
     @Order(13)
     void createTask() {
         Task created = taskService.createTask("New Task", "Task description",
-                testProject.getProjectId(), 3, LocalDate.now().plusDays(7));
+                testProject.getProjectId(), 3, LocalDate.now().plusDays(7), null, null);
         assertNotNull(created);
         assertNotNull(created.getTaskId());
         assertEquals("New Task", created.getTitle());
@@ -211,4 +227,214 @@ class TaskServiceImplTest {
         Optional<Task> deleted = taskService.findById(testTask2.getTaskId());
         assertFalse(deleted.isPresent());
     }
+
+    @Test
+    @Order(19)
+    void findPage() {
+        CursorPageDto<Task> first = taskService.findPage(null, 1);
+        assertEquals(1, first.getItems().size());
+        assertTrue(first.isHasMore());
+        assertNotNull(first.getNextCursor());
+
+        CursorPageDto<Task> second = taskService.findPage(first.getNextCursor(), 1);
+        assertEquals(1, second.getItems().size());
+        assertTrue(second.getItems().get(0).getTaskId() > first.getItems().get(0).getTaskId());
+    }
+
+    @Test
+    @Order(20)
+    void findPageByDueDate() {
+        CursorPageDto<Task> page = taskService.findPageByDueDate(null, 100);
+        assertFalse(page.getItems().isEmpty());
+        for (int i = 1; i < page.getItems().size(); i++) {
+            assertFalse(page.getItems().get(i).getDueDate().isBefore(page.getItems().get(i - 1).getDueDate()));
+        }
+    }
+
+    @Test
+    @Order(21)
+    void findPage_WithInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.findPage("not-a-cursor", 10));
+    }
+
+    @Test
+    @Order(22)
+    void updateTaskStatus_RecomputesProjectProgress() {
+        taskService.updateTaskStatus(testTask1.getTaskId(), TaskStatus.DONE);
+
+        Project project = projectService.findById(testProject.getProjectId()).orElseThrow();
+        assertEquals(1, project.getDoneTaskCount());
+        assertEquals(1, project.getNotStartedTaskCount());
+        assertEquals(0, project.getInProgressTaskCount());
+        assertEquals(50.0, project.getProgress(), 0.001);
+    }
+
+    @Test
+    @Order(23)
+    void createTasks() {
+        List<TaskCreateDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            dtos.add(TaskCreateDto.builder()
+                    .title("Bulk Task " + i)
+                    .description("Created in bulk")
+                    .projectId(testProject.getProjectId())
+                    .assignedToId(1)
+                    .dueDate(LocalDate.now().plusDays(7))
+                    .build());
+        }
+
+        List<Task> created = taskService.createTasks(dtos);
+        assertEquals(120, created.size());
+        assertEquals(120, created.stream().map(Task::getTaskId).distinct().count());
+        assertEquals(122, taskService.findByProjectId(testProject.getProjectId()).size());
+
+        Project project = projectService.findById(testProject.getProjectId()).orElseThrow();
+        assertEquals(121, project.getNotStartedTaskCount());
+        assertEquals(1, project.getDoneTaskCount());
+    }
+
+    @Test
+    @Order(24)
+    void createTasks_WithUnknownProject_ShouldThrowException() {
+        TaskCreateDto dto = TaskCreateDto.builder()
+                .title("Orphan Task")
+                .description("No project")
+                .projectId(Integer.MAX_VALUE)
+                .assignedToId(1)
+                .dueDate(LocalDate.now().plusDays(7))
+                .build();
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(List.of(dto)));
+    }
+
+    @Test
+    @Order(25)
+    void findSummariesByProjectId() {
+        List<TaskSummary> summaries = taskService.findSummariesByProjectId(testProject.getProjectId());
+        assertEquals(122, summaries.size());
+
+        TaskSummary summary = summaries.stream()
+                .filter(task -> task.getTaskId().equals(testTask1.getTaskId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Setup Environment", summary.getTitle());
+        assertEquals(TaskStatus.DONE, summary.getStatus());
+        assertEquals(testTask1.getDueDate(), summary.getDueDate());
+        assertEquals(1, summary.getAssignedToId());
+    }
+
+    @Test
+    @Order(26)
+    void findSummaryPage_WalksAllTasksInIdOrder() {
+        List<Integer> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<TaskSummary> page = taskService.findSummaryPage(cursor, 50);
+            page.getItems().forEach(task -> seen.add(task.getTaskId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(taskService.count(), seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i) > seen.get(i - 1));
+        }
+        assertEquals(taskService.findByStatus(TaskStatus.DONE).size(),
+                taskService.findSummariesByStatus(TaskStatus.DONE).size());
+    }
+
+    @Test
+    @Order(27)
+    void serviceCalls_AreTimedAndCounted() {
+        assertTrue(meterRegistry.get("service.calls")
+                .tags("service", "TaskService", "method", "findSummaryPage", "outcome", "success")
+                .timer().count() > 0);
+        assertEquals(1.0, meterRegistry.get("service.errors")
+                .tags("service", "TaskService", "method", "findPage", "exception", "IllegalArgumentException")
+                .counter().count());
+        assertEquals(120.0, meterRegistry.get("service.result.size")
+                .tags("service", "TaskService", "method", "createTasks")
+                .summary().max());
+    }
+
+    @Test
+    @Order(28)
+    void update_MovingTaskToAnotherProject_MovesItsCount() {
+        Project other = projectService.save(ProjectFactory.createProject(1, "Other Project"));
+        Task task = taskService.save(TaskFactory.createTask("Moving Task", testProject));
+        taskService.updateTaskStatus(task.getTaskId(), TaskStatus.IN_PROGRESS);
+        int sourceBefore = projectService.findById(testProject.getProjectId()).orElseThrow().getInProgressTaskCount();
+
+        task = taskService.findById(task.getTaskId()).orElseThrow();
+        task.setProject(other);
+        task.updateStatus(TaskStatus.DONE);
+        taskService.update(task);
+
+        Project source = projectService.findById(testProject.getProjectId()).orElseThrow();
+        Project target = projectService.findById(other.getProjectId()).orElseThrow();
+        assertEquals(sourceBefore - 1, source.getInProgressTaskCount());
+        assertEquals(0, target.getInProgressTaskCount());
+        assertEquals(1, target.getDoneTaskCount());
+        assertEquals(100.0, target.getProgress());
+    }
+
+    @Test
+    @Order(29)
+    void projectSaveAndUpdate_IgnoreClientProgressAndCounters() {
+        Project seeded = ProjectFactory.createProject(1, "Seeded Project");
+        seeded.setProgress(55.0);
+        seeded.setDoneTaskCount(7);
+        Integer seededId = projectService.save(seeded).getProjectId();
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT done_task_count FROM projects WHERE project_id = ?", Integer.class, seededId));
+        assertEquals(0.0, jdbcTemplate.queryForObject(
+                "SELECT progress FROM projects WHERE project_id = ?", Double.class, seededId));
+
+        Double progressBefore = jdbcTemplate.queryForObject(
+                "SELECT progress FROM projects WHERE project_id = ?", Double.class, testProject.getProjectId());
+        Project request = ProjectFactory.createProject(1, "Renamed Test Project");
+        request.setProjectId(testProject.getProjectId());
+        request.setProgress(3.0);
+        request.setDoneTaskCount(42);
+        projectService.update(request);
+
+        assertEquals("Renamed Test Project", jdbcTemplate.queryForObject(
+                "SELECT title FROM projects WHERE project_id = ?", String.class, testProject.getProjectId()));
+        assertEquals(progressBefore, jdbcTemplate.queryForObject(
+                "SELECT progress FROM projects WHERE project_id = ?", Double.class, testProject.getProjectId()));
+    }
+
+    @Test
+    @Order(30)
+    void rebuildAll_RestoresCountersFromTasks() {
+        String countSql = "SELECT not_started_task_count + in_progress_task_count + done_task_count "
+                + "FROM projects WHERE project_id = ?";
+        Integer expected = jdbcTemplate.queryForObject(countSql, Integer.class, testProject.getProjectId());
+        jdbcTemplate.update("UPDATE projects SET done_task_count = done_task_count + 5 WHERE project_id = ?",
+                testProject.getProjectId());
+
+        assertTrue(projectProgressService.rebuildAll() > 0);
+
+        assertEquals(expected, jdbcTemplate.queryForObject(countSql, Integer.class, testProject.getProjectId()));
+        assertEquals(taskService.findByProjectId(testProject.getProjectId()).size(), expected);
+    }
+
+    @Test
+    @Order(31)
+    void projectUpdate_KeepsCachedCountersInStepWithTasks() {
+        Project before = projectService.findById(testProject.getProjectId()).orElseThrow();
+        int tasks = taskService.findByProjectId(testProject.getProjectId()).size();
+        assertEquals(tasks, before.getNotStartedTaskCount() + before.getInProgressTaskCount() + before.getDoneTaskCount());
+
+        // A request body without counters would deserialize them as 0
+        Project request = ProjectFactory.createProject(1, "Cached Test Project");
+        request.setProjectId(testProject.getProjectId());
+        projectService.update(request);
+
+        // Served from the second-level cache the update populated
+        Project after = projectService.findById(testProject.getProjectId()).orElseThrow();
+        assertEquals("Cached Test Project", after.getTitle());
+        assertEquals(before.getNotStartedTaskCount(), after.getNotStartedTaskCount());
+        assertEquals(before.getInProgressTaskCount(), after.getInProgressTaskCount());
+        assertEquals(before.getDoneTaskCount(), after.getDoneTaskCount());
+        assertEquals(before.getProgress(), after.getProgress());
+    }
 }
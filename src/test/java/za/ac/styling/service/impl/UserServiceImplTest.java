@@ -1,5 +1,6 @@
 package za.ac.styling.service.impl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -8,6 +9,7 @@ import za.ac.styling.domain.User;
 import za.ac.styling.domain.UserRole;
 import za.ac.styling.factory.UserFactory;
 import za.ac.styling.service.IUserService;
+import za.ac.styling.util.CacheRegionMetrics;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +24,9 @@ class UserServiceImplTest {
     @Autowired
     private IUserService userService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private static User testAdmin;
     private static User testClient;
 
@@ -224,4 +229,28 @@ class UserServiceImplTest {
         assertThrows(IllegalArgumentException.class, 
             () -> userService.updateProfile(testAdmin.getUserId(), "", "Company", "+27123456789"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(21)
+    void findById_AndFindByEmail_AreServedFromSecondLevelCache() {
+        Integer id = testClient.getUserId();
+        String name = userService.findById(id).orElseThrow().getName();
+        double userHits = cacheHits("users");
+        double emailHits = cacheHits("user-by-email");
+
+        assertEquals(name, userService.findById(id).orElseThrow().getName());
+        assertEquals(userHits + 1, cacheHits("users"));
+        userService.findByEmail("client@example.com");
+        userService.findByEmail("client@example.com");
+        assertTrue(cacheHits("user-by-email") > emailHits);
+        assertTrue(meterRegistry.get(CacheRegionMetrics.HIT_RATIO).tag("cache", "users").gauge().value() > 0);
+
+        userService.updateProfile(id, "Client Renamed", "ABC Corp", "+27123456789");
+        assertEquals("Client Renamed", userService.findById(id).orElseThrow().getName());
+        assertEquals("Client Renamed", userService.findByEmail("client@example.com").orElseThrow().getName());
+    }
+
+    private double cacheHits(String region) {
+        return meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit").functionCounter().count();
+    }
+}
@@ -0,0 +1,149 @@
+package za.ac.styling.util;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownloadHelperTest {
+
+    private static final String ETAG = "\"abc123\"";
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    @TempDir
+    static Path dir;
+
+    private static Path file;
+    private static byte[] bytes;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        bytes = new byte[10_000];
+        new Random(7).nextBytes(bytes);
+        file = Files.write(dir.resolve("guide.pdf"), bytes);
+    }
+
+    @Test
+    void send_WithoutRange_SendsWholeFile() throws Exception {
+        MockHttpServletResponse response = send(new MockHttpServletRequest("GET", "/"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("application/pdf", response.getContentType());
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals(ETAG, response.getHeader("ETag"));
+        assertEquals(bytes.length, response.getContentLengthLong());
+        assertArrayEquals(bytes, response.getContentAsByteArray());
+    }
+
+    @Test
+    void send_WithRange_SendsPartialContent() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=100-199");
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 100-199/10000", response.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(bytes, 100, 200), response.getContentAsByteArray());
+
+        request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=-500");
+        response = send(request);
+        assertEquals("bytes 9500-9999/10000", response.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(bytes, 9500, 10_000), response.getContentAsByteArray());
+    }
+
+    @Test
+    void send_WithUnsatisfiableRange_Returns416() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=10000-");
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10000", response.getHeader("Content-Range"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void send_WithStaleIfRange_SendsWholeFile() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=100-199");
+        request.addHeader("If-Range", "\"other\"");
+        MockHttpServletResponse response = send(request);
+        assertEquals(200, response.getStatus());
+        assertEquals(bytes.length, response.getContentAsByteArray().length);
+
+        request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=100-199");
+        request.addHeader("If-Range", ETAG);
+        assertEquals(206, send(request).getStatus());
+    }
+
+    @Test
+    void send_WithMatchingValidators_Returns304() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", ETAG);
+        MockHttpServletResponse response = send(request);
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+
+        request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-Modified-Since", LAST_MODIFIED);
+        assertEquals(304, send(request).getStatus());
+    }
+
+    @Test
+    void send_OnTomcat_HandsFileToSendfile() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=100-");
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(100L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(10_000L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private static MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        DownloadHelper.send(request, response, file, bytes.length, ETAG, LAST_MODIFIED, "application/pdf", "guide.pdf");
+        return response;
+    }
+
+    @Test
+    void sendExternal_RedirectsOnlyToAllowedHosts() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        DownloadHelper.sendExternal(response, "https://CDN.example.com/logo.png", List.of("cdn.example.com"));
+        assertEquals(302, response.getStatus());
+        assertEquals("https://CDN.example.com/logo.png", response.getRedirectedUrl());
+
+        response = new MockHttpServletResponse();
+        DownloadHelper.sendExternal(response, "https://evil.example.net/login", List.of("cdn.example.com"));
+        assertEquals(200, response.getStatus());
+        assertNull(response.getRedirectedUrl());
+        assertEquals("text/uri-list;charset=UTF-8", response.getContentType());
+        assertEquals("https://evil.example.net/login\r\n", response.getContentAsString());
+    }
+
+    @Test
+    void isAllowedRedirect_RejectsOtherSchemesAndDisguisedHosts() {
+        List<String> hosts = List.of("cdn.example.com");
+        assertTrue(DownloadHelper.isAllowedRedirect("http://cdn.example.com/a.png", hosts));
+        assertFalse(DownloadHelper.isAllowedRedirect("javascript:alert(1)", hosts));
+        assertFalse(DownloadHelper.isAllowedRedirect("//cdn.example.com/a.png", hosts));
+        assertFalse(DownloadHelper.isAllowedRedirect("https://cdn.example.com@evil.example.net/", hosts));
+        assertFalse(DownloadHelper.isAllowedRedirect("https://cdn.example.com.evil.example.net/", hosts));
+        assertFalse(DownloadHelper.isAllowedRedirect("https://cdn.example.com/a b", hosts));
+        assertFalse(DownloadHelper.isAllowedRedirect("https://cdn.example.com/a.png", List.of()));
+    }
+}
@@ -0,0 +1,70 @@
+package za.ac.styling.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InspectingDataSourceTest {
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource target = new DriverManagerDataSource(
+                "jdbc:h2:mem:inspect-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(new InspectingDataSource(target, Duration.ofMinutes(1)));
+        jdbc.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(50))");
+        jdbc.batchUpdate("INSERT INTO item VALUES (?, ?)", List.of(new Object[]{1, "a"}, new Object[]{2, "b"}));
+    }
+
+    @AfterEach
+    void tearDown() {
+        StatementStats.stop();
+        jdbc.execute("SHUTDOWN");
+    }
+
+    @Test
+    void countsStatementsOnlyWhileStarted() {
+        jdbc.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+
+        StatementStats stats = StatementStats.start();
+        jdbc.queryForObject("SELECT name FROM item WHERE id = ?", String.class, 1);
+        jdbc.update("UPDATE item SET name = ? WHERE id = ?", "c", 2);
+        StatementStats.stop();
+        jdbc.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+
+        assertEquals(2, stats.getStatements());
+        assertTrue(stats.getNanos() > 0);
+    }
+
+    @Test
+    void mostRepeated_NamesTheQueryRunPerRow() {
+        StatementStats stats = StatementStats.start();
+        jdbc.queryForList("SELECT id FROM item", Integer.class)
+                .forEach(id -> jdbc.queryForObject("SELECT name FROM item WHERE id = ?", String.class, id));
+        StatementStats.stop();
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        assertEquals(3, stats.getStatements());
+        assertEquals("SELECT name FROM item WHERE id = ?", repeated.getKey());
+        assertEquals(2, repeated.getValue());
+    }
+
+    @Test
+    void mostRepeated_IsNullWhenNothingRan() {
+        StatementStats stats = StatementStats.start();
+        StatementStats.stop();
+
+        assertEquals(0, stats.getStatements());
+        assertNull(stats.mostRepeated());
+    }
+}
@@ -0,0 +1,44 @@
+package za.ac.styling.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private static final int TITLE = 0;
+    private static final int DESCRIPTION = 1;
+
+    @Test
+    void search_PrefixFindsTitleBehindManyDescriptionTerms() {
+        InvertedIndex index = new InvertedIndex();
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            // "braa000" .. "braa299" sort before the title's "brand"
+            description.append("braa").append(String.format("%03d", i)).append(' ');
+        }
+        index.put(new InvertedIndex.Document(1L, "Notes").field(DESCRIPTION, description.toString(), 1.0f));
+        index.put(new InvertedIndex.Document(2L, "Brand refresh").field(TITLE, "Brand refresh", 3.0f));
+
+        List<InvertedIndex.Match> matches = index.search("br", key -> true, 1 << TITLE, 10);
+
+        assertEquals(1, matches.size());
+        assertEquals(2L, matches.get(0).getKey());
+    }
+
+    @Test
+    void search_PrefixFindsWantedTypeBehindOtherKeys() {
+        InvertedIndex index = new InvertedIndex();
+        for (long key = 100; key < 400; key++) {
+            index.put(new InvertedIndex.Document(key, "Other").field(TITLE, "braa" + key, 3.0f));
+        }
+        index.put(new InvertedIndex.Document(1L, "Brand refresh").field(TITLE, "Brand refresh", 3.0f));
+
+        List<InvertedIndex.Match> matches = index.search("br", key -> key < 100, InvertedIndex.ALL_FIELDS, 10);
+
+        assertEquals(1, matches.size());
+        assertEquals(1L, matches.get(0).getKey());
+    }
+}
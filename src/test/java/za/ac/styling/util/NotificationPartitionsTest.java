@@ -0,0 +1,70 @@
+package za.ac.styling.util;
+
+import org.junit.jupiter.api.Test;
+import za.ac.styling.util.NotificationPartitions.Dialect;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationPartitionsTest {
+
+    private static final YearMonth OCTOBER = YearMonth.of(2026, 10);
+
+    @Test
+    void dialectOf_RecognisesMySqlAndPostgreSql() {
+        assertEquals(Dialect.MYSQL, NotificationPartitions.dialectOf("MySQL"));
+        assertEquals(Dialect.MYSQL, NotificationPartitions.dialectOf("MariaDB"));
+        assertEquals(Dialect.POSTGRESQL, NotificationPartitions.dialectOf("PostgreSQL"));
+        assertNull(NotificationPartitions.dialectOf("H2"));
+        assertNull(NotificationPartitions.dialectOf(null));
+    }
+
+    @Test
+    void nameOf_AndMonthOf_RoundTrip() {
+        assertEquals("p202610", NotificationPartitions.nameOf(Dialect.MYSQL, OCTOBER));
+        assertEquals("notifications_p202610", NotificationPartitions.nameOf(Dialect.POSTGRESQL, OCTOBER));
+        assertEquals(Optional.of(OCTOBER), NotificationPartitions.monthOf(Dialect.MYSQL, "p202610"));
+        assertEquals(Optional.of(OCTOBER), NotificationPartitions.monthOf(Dialect.POSTGRESQL, "notifications_p202610"));
+
+        assertTrue(NotificationPartitions.monthOf(Dialect.MYSQL, "p_future").isEmpty());
+        assertTrue(NotificationPartitions.monthOf(Dialect.POSTGRESQL, "notifications_default").isEmpty());
+        assertTrue(NotificationPartitions.monthOf(Dialect.MYSQL, "p202613").isEmpty());
+    }
+
+    @Test
+    void createSql_UsesNextMonthAsUpperBound() {
+        assertEquals(LocalDate.of(2027, 1, 1), NotificationPartitions.upperBound(YearMonth.of(2026, 12)));
+        assertEquals("ALTER TABLE notifications REORGANIZE PARTITION p_future INTO (PARTITION p202610 "
+                        + "VALUES LESS THAN ('2026-11-01'), PARTITION p_future VALUES LESS THAN (MAXVALUE))",
+                NotificationPartitions.createSql(Dialect.MYSQL, OCTOBER));
+        assertEquals("CREATE TABLE IF NOT EXISTS notifications_p202610 PARTITION OF notifications "
+                        + "FOR VALUES FROM ('2026-10-01') TO ('2026-11-01')",
+                NotificationPartitions.createSql(Dialect.POSTGRESQL, OCTOBER));
+    }
+
+    @Test
+    void missingMonths_ContinuesAfterNewestPartition() {
+        assertEquals(List.of(YearMonth.of(2026, 11), YearMonth.of(2026, 12), YearMonth.of(2027, 1)),
+                NotificationPartitions.missingMonths(List.of(YearMonth.of(2026, 9), OCTOBER),
+                        OCTOBER, YearMonth.of(2027, 1)));
+        assertEquals(List.of(OCTOBER, YearMonth.of(2026, 11)),
+                NotificationPartitions.missingMonths(List.of(), OCTOBER, YearMonth.of(2026, 11)));
+        assertTrue(NotificationPartitions.missingMonths(List.of(YearMonth.of(2027, 1)),
+                OCTOBER, YearMonth.of(2026, 12)).isEmpty());
+    }
+
+    @Test
+    void expiredMonths_OnlyIncludesMonthsEndingBeforeCutoff() {
+        List<YearMonth> existing = List.of(OCTOBER, YearMonth.of(2026, 8), YearMonth.of(2026, 9));
+
+        assertEquals(List.of(YearMonth.of(2026, 8), YearMonth.of(2026, 9)),
+                NotificationPartitions.expiredMonths(existing, LocalDateTime.of(2026, 10, 1, 0, 0)));
+        assertEquals(List.of(YearMonth.of(2026, 8)),
+                NotificationPartitions.expiredMonths(existing, LocalDateTime.of(2026, 9, 30, 23, 59)));
+    }
+}
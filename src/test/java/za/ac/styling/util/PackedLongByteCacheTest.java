@@ -0,0 +1,44 @@
+package za.ac.styling.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedLongByteCacheTest {
+
+    @Test
+    void putIfUnchanged_StoresWhenNothingWasRemoved() {
+        PackedLongByteCache cache = new PackedLongByteCache(16, 1);
+        long key = PackedLongByteCache.key(1, 2);
+
+        long stamp = cache.stamp(key);
+
+        assertTrue(cache.putIfUnchanged(key, (byte) 3, stamp));
+        assertEquals(3, cache.get(key));
+    }
+
+    @Test
+    void putIfUnchanged_DropsValueLoadedBeforeRemoval() {
+        PackedLongByteCache cache = new PackedLongByteCache(16, 1);
+        long key = PackedLongByteCache.key(1, 2);
+
+        long stamp = cache.stamp(key);
+        cache.remove(key);
+
+        assertFalse(cache.putIfUnchanged(key, (byte) 3, stamp));
+        assertEquals(PackedLongByteCache.ABSENT, cache.get(key));
+    }
+
+    @Test
+    void putIfUnchanged_DropsValueLoadedBeforeBulkRemoval() {
+        PackedLongByteCache cache = new PackedLongByteCache(16, 1);
+        long key = PackedLongByteCache.key(1, 2);
+
+        long stamp = cache.stamp(key);
+        cache.removeIf(k -> PackedLongByteCache.highOf(k) == 1);
+
+        assertFalse(cache.putIfUnchanged(key, (byte) 3, stamp));
+        assertEquals(PackedLongByteCache.ABSENT, cache.get(key));
+        assertTrue(cache.putIfUnchanged(key, (byte) 3, cache.stamp(key)));
+    }
+}
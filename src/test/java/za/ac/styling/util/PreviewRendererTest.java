@@ -0,0 +1,73 @@
+package za.ac.styling.util;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreviewRendererTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void supports_ImagesAndPdfOnly() {
+        assertTrue(PreviewRenderer.supports(MediaType.IMAGE_PNG));
+        assertTrue(PreviewRenderer.supports(MediaType.IMAGE_JPEG));
+        assertTrue(PreviewRenderer.supports(MediaType.APPLICATION_PDF));
+        assertFalse(PreviewRenderer.supports(MediaType.parseMediaType("image/x-photoshop")));
+        assertFalse(PreviewRenderer.supports(MediaType.APPLICATION_OCTET_STREAM));
+    }
+
+    @Test
+    void scale_KeepsAspectRatioAndNeverEnlarges() {
+        BufferedImage wide = new BufferedImage(3000, 1000, BufferedImage.TYPE_INT_RGB);
+        BufferedImage scaled = PreviewRenderer.scale(wide, 256);
+        assertEquals(256, scaled.getWidth());
+        assertEquals(85, scaled.getHeight());
+
+        BufferedImage small = new BufferedImage(100, 50, BufferedImage.TYPE_INT_RGB);
+        scaled = PreviewRenderer.scale(small, 256);
+        assertEquals(100, scaled.getWidth());
+        assertEquals(50, scaled.getHeight());
+    }
+
+    @Test
+    void readFirstPage_TransparentImage_SubsamplesAndEncodesAsPng() throws Exception {
+        Path file = dir.resolve("logo.png");
+        ImageIO.write(new BufferedImage(4000, 2000, BufferedImage.TYPE_INT_ARGB), "png", file.toFile());
+
+        BufferedImage page = PreviewRenderer.readFirstPage(file, MediaType.IMAGE_PNG, 256);
+        assertTrue(page.getWidth() < 4000 && page.getWidth() >= 512);
+        assertEquals("png", PreviewRenderer.formatFor(page));
+
+        byte[] encoded = PreviewRenderer.encode(PreviewRenderer.scale(page, 256), "png");
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(encoded));
+        assertEquals(256, decoded.getWidth());
+        assertEquals(128, decoded.getHeight());
+    }
+
+    @Test
+    void readFirstPage_Pdf_RendersFirstPageAtPreviewSize() throws Exception {
+        Path file = dir.resolve("guide.pdf");
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage(PDRectangle.A4));
+            document.addPage(new PDPage(PDRectangle.A3));
+            document.save(file.toFile());
+        }
+
+        BufferedImage page = PreviewRenderer.readFirstPage(file, MediaType.APPLICATION_PDF, 1024);
+        assertEquals(1024, page.getHeight(), 1);
+        assertEquals("jpeg", PreviewRenderer.formatFor(page));
+        assertNotNull(ImageIO.read(new ByteArrayInputStream(PreviewRenderer.encode(page, "jpeg"))));
+    }
+}
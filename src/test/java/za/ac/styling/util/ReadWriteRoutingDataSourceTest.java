@@ -0,0 +1,163 @@
+package za.ac.styling.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private String run;
+    private DataSource primary;
+    private DataSource replicaA;
+    private DataSource replicaB;
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        run = UUID.randomUUID().toString();
+        primary = database("primary");
+        replicaA = database("replica-a");
+        replicaB = database("replica-b");
+        tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.clear();
+        for (DataSource dataSource : List.of(primary, replicaA, replicaB)) {
+            new JdbcTemplate(dataSource).execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void readOnlyTransactions_GoToReplica_WritesGoToPrimary() {
+        ReadWriteRoutingDataSource routing = routing(List.of(replicaA), ReadWriteRoutingDataSource.Strategy.ROUND_ROBIN);
+
+        assertEquals("replica-a", read(routing));
+        assertEquals("primary", write(routing));
+        assertEquals("primary", new JdbcTemplate(routing).queryForObject("SELECT name FROM marker", String.class));
+        assertEquals(1, routing.getReplicaReads());
+    }
+
+    @Test
+    void roundRobin_AlternatesBetweenReplicas() {
+        ReadWriteRoutingDataSource routing =
+                routing(List.of(replicaA, replicaB), ReadWriteRoutingDataSource.Strategy.ROUND_ROBIN);
+
+        assertEquals("replica-a", read(routing));
+        assertEquals("replica-b", read(routing));
+        assertEquals("replica-a", read(routing));
+    }
+
+    @Test
+    void leastLoaded_SkipsReplicaWithOpenConnection() {
+        ReadWriteRoutingDataSource routing =
+                routing(List.of(replicaA, replicaB), ReadWriteRoutingDataSource.Strategy.LEAST_LOADED);
+        TransactionTemplate readOnly = transactions(routing, true);
+
+        String[] inner = new String[2];
+        String outer = readOnly.execute(status -> {
+            String name = marker(routing);
+            // Held connection keeps this replica busy while another thread reads
+            Thread reader = new Thread(() -> {
+                inner[0] = read(routing);
+                inner[1] = read(routing);
+            });
+            reader.start();
+            join(reader);
+            return name;
+        });
+
+        assertEquals("replica-a", outer);
+        assertEquals("replica-b", inner[0]);
+        assertEquals("replica-b", inner[1]);
+    }
+
+    @Test
+    void failedReplica_FallsBackToNextThenPrimary() {
+        DriverManagerDataSource broken = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/missing-" + run);
+        ReadWriteRoutingDataSource routing =
+                routing(List.of(broken, replicaA), ReadWriteRoutingDataSource.Strategy.ROUND_ROBIN);
+
+        assertEquals("replica-a", read(routing));
+        assertEquals(1, routing.getAvailableReplicas());
+
+        ReadWriteRoutingDataSource onlyBroken =
+                routing(List.of(broken), ReadWriteRoutingDataSource.Strategy.ROUND_ROBIN);
+        assertEquals("primary", read(onlyBroken));
+        assertEquals(1, onlyBroken.getFallbackReads());
+    }
+
+    @Test
+    void readYourWrites_KeepsWriterOnPrimary() {
+        ReadWriteRoutingDataSource routing = routing(List.of(replicaA), ReadWriteRoutingDataSource.Strategy.ROUND_ROBIN);
+
+        tracker.bind("user:1");
+        write(routing);
+        assertEquals("primary", read(routing));
+        tracker.clear();
+
+        // Next request from the same user is still inside the window
+        tracker.bind("user:1");
+        assertEquals("primary", read(routing));
+        tracker.clear();
+
+        tracker.bind("user:2");
+        assertEquals("replica-a", read(routing));
+        assertEquals(2, routing.getPinnedReads());
+    }
+
+    private ReadWriteRoutingDataSource routing(List<DataSource> replicas, ReadWriteRoutingDataSource.Strategy strategy) {
+        return new ReadWriteRoutingDataSource(primary, replicas, strategy, Duration.ofMinutes(1), tracker);
+    }
+
+    private String read(DataSource routing) {
+        return transactions(routing, true).execute(status -> marker(routing));
+    }
+
+    private String write(DataSource routing) {
+        return transactions(routing, false).execute(status -> {
+            new JdbcTemplate(routing).update("UPDATE marker SET writes = writes + 1");
+            return marker(routing);
+        });
+    }
+
+    private static String marker(DataSource routing) {
+        return new JdbcTemplate(routing).queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static TransactionTemplate transactions(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private DataSource database(String name) {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + run + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(20), writes INT)");
+        jdbc.update("INSERT INTO marker VALUES (?, 0)", name);
+        return dataSource;
+    }
+}